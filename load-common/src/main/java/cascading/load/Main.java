@@ -11,7 +11,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import cascading.cascade.Cascade;
@@ -19,31 +21,25 @@ import cascading.cascade.CascadeConnector;
 import cascading.cascade.CascadeProps;
 import cascading.flow.Flow;
 import cascading.flow.FlowConnectorProps;
-import cascading.load.consume.ConsumeData;
-import cascading.load.countsort.CountSort;
-import cascading.load.countsort.FullTupleGroup;
-import cascading.load.countsort.StaggeredSort;
-import cascading.load.generate.GenerateData;
-import cascading.load.join.MultiJoin;
-import cascading.load.join.OnlyInnerJoin;
-import cascading.load.join.OnlyLeftJoin;
-import cascading.load.join.OnlyOuterJoin;
-import cascading.load.join.OnlyRightJoin;
-import cascading.load.join.SelfMultiJoin;
-import cascading.load.join.ThreeWayInnerJoin;
-import cascading.load.pathological.BreakingLoad;
-import cascading.load.pathological.PathologicalOnlyInnerJoin;
-import cascading.load.pipeline.ChainedAggregate;
-import cascading.load.pipeline.ChainedFunction;
-import cascading.load.pipeline.Copy;
-import cascading.load.pipeline.Pipeline;
-import cascading.load.pipeline.Split;
+import cascading.flow.FlowListener;
+import cascading.load.common.Load;
+import cascading.load.common.LoadCatalog;
+import cascading.load.metrics.JmxMetricsExporter;
+import cascading.load.metrics.Metric;
+import cascading.load.metrics.Metrics;
+import cascading.load.metrics.MetricsExporter;
 import cascading.load.platform.CascadingLoadPlatform;
 import cascading.load.platform.PlatformLoader;
+import cascading.load.util.CsvStatsPrinter;
+import cascading.load.util.IterationStats;
+import cascading.load.util.JsonStatsPrinter;
+import cascading.load.util.ProgressReporter;
+import cascading.load.util.StatsComparison;
 import cascading.load.util.StatsPrinter;
 import cascading.operation.DebugLevel;
 import cascading.property.AppProps;
 import cascading.stats.CascadeStats;
+import cascading.stats.FlowStats;
 import cascading.tap.SinkMode;
 import cascading.tap.Tap;
 import cascading.tuple.Tuple;
@@ -60,11 +56,15 @@ public class Main
 
   private Options options;
   private CascadingLoadPlatform platform;
+  private LoadCatalog catalog = new LoadCatalog();
+  private Map<String, String> variants = new LinkedHashMap<String, String>();
+  private Map<String, Load> loads = new LinkedHashMap<String, Load>();
   private String statsRoot;
 
   public static void main( String[] args ) throws Exception
     {
-    new Main( args ).execute();
+    if( !new Main( args ).execute() )
+      System.exit( 1 );
     }
 
   public Main( String[] args ) throws IOException
@@ -74,106 +74,196 @@ public class Main
     initOptions( args, options );
 
     platform = new PlatformLoader().loadPlatform( options.getPlatformName() );
+    platform.initialize( options );
     }
 
   public boolean execute() throws Exception
     {
-    List<Flow> flows = new ArrayList<Flow>();
+    try
+      {
+      boolean passed = runLoads();
 
-    // This is unweildy
-    // todo: use reflection (?) w/ table of load classes instead
+      holdMetrics();
+
+      return passed;
+      }
+    finally
+      {
+      platform.shutdown();
+      }
+    }
+
+  /** Keeps the JVM, and the MBeans of the jmx exporter, alive for --metrics-hold seconds. */
+  private void holdMetrics() throws InterruptedException
+    {
+    if( options.getMetricsHold() == 0 || !options.getMetricsExporters().contains( JmxMetricsExporter.NAME ) )
+      return;
+
+    LOG.info( "holding metrics for jmx clients for " + options.getMetricsHold() + " seconds" );
+
+    Thread.sleep( options.getMetricsHold() * 1000L );
+    }
 
-    if( options.isDataGenerate() )
-      flows.add( new GenerateData( options, getDefaultProperties() ).createFlow() );
+  private boolean runLoads() throws Exception
+    {
+    int numWarmups = options.getWarmupIterations();
+    int numRuns = numWarmups + options.getIterations();
 
-    if( options.isDataConsume() )
-      flows.add( new ConsumeData( options, getDefaultProperties() ).createFlow() );
+    IterationStats iterationStats = new IterationStats();
+    CascadeStats stats = null;
 
-    if( options.isCountSort() )
-      flows.add( new CountSort( options, getDefaultProperties() ).createFlow() );
+    // every run rebuilds its flows, so no planner or tap state is shared between iterations
+    for( int run = 0; run < numRuns; run++ )
+      {
+      String runName = getRunName( run );
 
-    if( options.isMultiJoin() ) // requires Copy load
-      flows.add( new MultiJoin( options, getDefaultProperties() ).createFlow() );
+      if( numRuns != 1 )
+        LOG.info( "starting " + runName.substring( 1 ) );
 
-    if( options.isSelfMultiJoin() )
-      flows.add( new SelfMultiJoin( options, getDefaultProperties() ).createFlow() );
+      // built once, so the flows and the cascade of a run share the same properties
+      Properties properties = getDefaultProperties();
+      List<Flow> flows = createFlows( runName, properties );
 
-    if( options.isCopy() )
-      flows.add( new Copy( options, getDefaultProperties() ).createFlow() );
+      // a load and its variant compete for the cluster when run concurrently, so they run one flow at a time
+      // unless -MXCF is given, in which case the variant report notes the flows that overlapped
+      if( !variants.isEmpty() && options.getMaxConcurrentFlows() == -1 )
+        CascadeProps.setMaxConcurrentFlows( properties, 1 );
 
-    if( options.isSplit() )
-      flows.add( new Split( options, getDefaultProperties() ).createFlow() );
+      if( run == 0 && options.isWriteDotFile() )
+        {
+        for( Flow flow : flows )
+          {
+          String file_name = flow.getName() + ".dot";
+          LOG.info( "DOT file: " + file_name );
+          flow.writeDOT( file_name );
+          }
+        }
 
-    if( options.isPipeline() )
-      flows.add( new Pipeline( options, getDefaultProperties() ).createFlow() );
+      Cascade cascade = new CascadeConnector( properties ).connect( "load", flows );
 
-    if( options.isStaggeredSort() )
-      flows.add( new StaggeredSort( options, getDefaultProperties() ).createFlow() );
+      stats = cascade.getCascadeStats();
 
-    if( options.isFullTupleGroup() )
-      flows.add( new FullTupleGroup( options, getDefaultProperties() ).createFlow() );
+      ProgressReporter progressReporter = newProgressReporter( stats, runName );
 
-    if( options.isChainedAggregate() )
-      flows.add( new ChainedAggregate( options, getDefaultProperties() ).createFlow() );
+      try
+        {
+        if( progressReporter != null )
+          progressReporter.start();
 
-    if( options.isChainedFunction() )
-      flows.add( new ChainedFunction( options, getDefaultProperties() ).createFlow() );
+        cascade.complete();
+        }
+      catch( Exception exception )
+        {
+        LOG.error( "failed running cascade ", exception );
 
-    if( options.isLeftJoin() )
-      flows.add( new OnlyLeftJoin( options, getDefaultProperties() ).createFlow() );
+        return false;
+        }
+      finally
+        {
+        if( progressReporter != null )
+          progressReporter.stop();
 
-    if( options.isRightJoin() )
-      flows.add( new OnlyRightJoin( options, getDefaultProperties() ).createFlow() );
+        printSummary( stats, runName ); // print summary regardless
+        }
 
-    if( options.isInnerJoin() )
-      flows.add( new OnlyInnerJoin( options, getDefaultProperties() ).createFlow() );
+      if( run >= numWarmups )
+        iterationStats.add( stats );
+      }
 
-    if( options.isOuterJoin() )
-      flows.add( new OnlyOuterJoin( options, getDefaultProperties() ).createFlow() );
+    if( numRuns != 1 )
+      printIterationSummary( iterationStats );
 
-    if( options.isThreeWayJoin() )
-      flows.add( new ThreeWayInnerJoin( options, getDefaultProperties() ).createFlow() );
+    if( options.isCleanWorkFiles() )
+      cleanWorkFiles();
 
-    if( options.isPathologicalInnerJoin() )
-      flows.add( new PathologicalOnlyInnerJoin( options, getDefaultProperties() ).createFlow() );
+    if( options.hasCompareTo() )
+      return compareToBaseline( stats, iterationStats );
 
-    if( options.isBreakingLoads() )
-      for( BreakingLoad breakingLoad : BreakingLoad.breakingLoads( options, getDefaultProperties() ) )
-        flows.add( breakingLoad.createFlow() );
+    return true;
+    }
 
-    if( options.isWriteDotFile() )
+  /** Returns the suffix of the stats path for the given run, empty if there is only one. */
+  private String getRunName( int run )
+    {
+    if( options.getWarmupIterations() + options.getIterations() == 1 )
+      return "";
+
+    if( run < options.getWarmupIterations() )
+      return "-warmup-" + ( run + 1 );
+
+    return "-iteration-" + ( run - options.getWarmupIterations() + 1 );
+    }
+
+  private void printIterationSummary( IterationStats iterationStats ) throws IOException
+    {
+    OutputStream outputStream = options.hasStatsRoot() ? new ByteArrayOutputStream() : System.out;
+    PrintWriter writer = new PrintWriter( outputStream );
+
+    new StatsPrinter( platform ).printIterationStats( writer, iterationStats, options.isSinglelineStats() );
+
+    if( options.hasStatsRoot() )
+      writeStatsLines( getFullStatsRoot() + "-iterations", outputStream.toString() );
+    }
+
+  private List<Flow> createFlows( String runName, Properties properties ) throws Exception
+    {
+    List<Flow> flows = new ArrayList<Flow>();
+    Map<String, String> flowNames = new LinkedHashMap<String, String>();
+
+    loads.clear();
+
+    for( String name : catalog.select( options ) )
       {
-      for( Flow flow : flows )
+      Properties loadProperties = properties;
+      FlowListener profiler = null;
+
+      if( options.isProfile() )
         {
-        String file_name = flow.getName() + ".dot";
-        LOG.info( "DOT file: " + file_name );
-        flow.writeDOT( file_name );
+        loadProperties = new Properties();
+        loadProperties.putAll( properties );
+        profiler = platform.newProfiler( loadProperties, name, getFullStatsRoot() + runName + "-profile" );
         }
-      }
 
-    Cascade cascade = new CascadeConnector( getDefaultProperties() ).connect( "load", flows );
+      Load load = catalog.newLoad( name, options, loadProperties );
+      Flow flow = load.createFlow();
 
-    CascadeStats stats = cascade.getCascadeStats();
+      if( profiler != null )
+        flow.addListener( profiler );
 
-    try
-      {
-      cascade.complete();
+      flows.add( flow );
+      flowNames.put( name, flow.getName() );
+      loads.put( flow.getName(), load );
       }
-    catch( Exception exception )
-      {
-      LOG.error( "failed running cascade ", exception );
 
-      return false;
-      }
-    finally
+    variants.clear();
+
+    for( String name : flowNames.keySet() )
       {
-      printSummary( stats ); // print summary regardless
+      String variantOf = catalog.getDefinition( name ).variantOf();
+
+      if( flowNames.containsKey( variantOf ) )
+        variants.put( flowNames.get( name ), flowNames.get( variantOf ) );
       }
 
-    if( options.isCleanWorkFiles() )
-      cleanWorkFiles();
+    return flows;
+    }
 
-    return true;
+  private boolean compareToBaseline( CascadeStats stats, IterationStats iterationStats ) throws IOException
+    {
+    StatsComparison comparison = new StatsComparison( platform, options.getRegressionThreshold() );
+
+    OutputStream outputStream = options.hasStatsRoot() ? new ByteArrayOutputStream() : System.out;
+    PrintWriter writer = new PrintWriter( outputStream );
+
+    boolean passed = comparison.compare( writer, stats, iterationStats, options.getCompareTo() );
+
+    if( options.hasStatsRoot() )
+      writeStatsLines( getFullStatsRoot() + "-comparison", outputStream.toString() );
+
+    if( !passed )
+      LOG.error( "regression against baseline: " + options.getCompareTo() );
+
+    return passed;
     }
 
   private void cleanWorkFiles()
@@ -199,34 +289,120 @@ public class Main
       }
     }
 
-  private void printSummary( CascadeStats stats ) throws IOException
+  private void printSummary( CascadeStats stats, String runName ) throws IOException
     {
     stats.captureDetail();
 
     OutputStream outputStream = options.hasStatsRoot() ? new ByteArrayOutputStream() : System.out;
     PrintWriter writer = new PrintWriter( outputStream );
 
-    writer.println( options );
+    if( Options.STATS_JSON.equals( options.getStatsFormat() ) )
+      {
+      new JsonStatsPrinter( platform ).printStats( writer, stats, options.toString() );
+      }
+    else if( Options.STATS_CSV.equals( options.getStatsFormat() ) )
+      {
+      new CsvStatsPrinter( platform ).printStats( writer, stats );
+      }
+    else
+      {
+      writer.println( options );
+
+      new StatsPrinter( platform ).printStats( writer, stats, options.isSinglelineStats() );
+
+      if( !options.isSinglelineStats() )
+        {
+        writer.println();
+        new StatsPrinter( platform ).printStartupStats( writer, stats );
+        }
+
+      if( !options.isSinglelineStats() && options.isInstrument() )
+        {
+        writer.println();
+        new StatsPrinter( platform ).printOperationStats( writer, stats );
+        }
 
-    new StatsPrinter( platform ).printStats( writer, stats, options.isSinglelineStats() );
+      if( !options.isSinglelineStats() && !variants.isEmpty() )
+        {
+        writer.println();
+        new StatsPrinter( platform ).printVariantStats( writer, stats, variants );
+        }
+
+      if( !options.isSinglelineStats() )
+        printLoadSummaries( writer, stats );
+      }
 
     if( options.hasStatsRoot() )
-      {
-      String[] lines = outputStream.toString().split( "\n" );
+      writeStatsLines( getFullStatsRoot() + runName, outputStream.toString() );
 
-      String statsRoot = getFullStatsRoot();
+    exportMetrics( stats );
+    }
 
-      Tap statsTap = platform.newTap( platform.newTextLine(), statsRoot, SinkMode.REPLACE );
+  private void exportMetrics( CascadeStats stats )
+    {
+    if( options.getMetricsExporters().isEmpty() )
+      return;
 
-      TupleEntryCollector tapWriter = platform.newTupleEntryCollector( statsTap );
+    List<Metric> metrics = Metrics.collect( platform, stats );
+    Map<String, MetricsExporter> exporters = Metrics.getExporters();
 
-      for( String line : lines )
-        tapWriter.add( new Tuple( line ) );
+    for( String name : options.getMetricsExporters() )
+      {
+      try
+        {
+        exporters.get( name ).export( metrics, options );
+        }
+      catch( Exception exception )
+        {
+        LOG.error( "failed exporting metrics with: " + name, exception );
+        }
+      }
+    }
+
+  private void printLoadSummaries( PrintWriter writer, CascadeStats stats )
+    {
+    for( FlowStats flowStats : stats.getChildren() )
+      {
+      Load load = loads.get( flowStats.getName() );
 
-      tapWriter.close();
+      if( load == null || !flowStats.isSuccessful() )
+        continue;
+
+      try
+        {
+        load.printSummary( writer, flowStats );
+        }
+      catch( Exception exception )
+        {
+        LOG.error( "failed printing summary of: " + flowStats.getName(), exception );
+        }
       }
     }
 
+  private ProgressReporter newProgressReporter( CascadeStats stats, String runName )
+    {
+    if( options.getProgressInterval() == 0 )
+      return null;
+
+    String seriesPath = options.hasStatsRoot() ? getFullStatsRoot() + runName + "-progress" : null;
+
+    return new ProgressReporter( platform, stats, options.getProgressInterval() * 1000L, seriesPath );
+    }
+
+  private void writeStatsLines( String path, String output ) throws IOException
+    {
+    String[] lines = output.split( "\n" );
+
+    Tap statsTap = platform.newTap( platform.newTextLine(), path, SinkMode.REPLACE );
+
+    TupleEntryCollector tapWriter = platform.newTupleEntryCollector( statsTap );
+
+    for( String line : lines )
+      tapWriter.add( new Tuple( line ) );
+
+    tapWriter.close();
+    }
+
   public String getFullStatsRoot()
     {
     if( statsRoot != null )
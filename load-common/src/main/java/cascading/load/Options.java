@@ -12,7 +12,11 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import cascading.load.common.LoadCatalog;
+import cascading.load.metrics.Metrics;
+import cascading.load.metrics.PrometheusMetricsExporter;
 import cascading.load.platform.CascadingLoadPlatform;
 import cascading.load.platform.PlatformLoader;
 import cascading.util.Version;
@@ -34,6 +38,34 @@ public class Options
   public static final float DEF_DATA_STDDEV = 0.2f;
   public static final float MAX_DATA_STDDEV = 0.9999f;
 
+  public static final String DIST_UNIFORM = "uniform";
+  public static final String DIST_NORMAL = "normal";
+  public static final String DIST_ZIPF = "zipf";
+  public static final String DIST_POWERLAW = "powerlaw";
+  public static final String DIST_HOTKEY = "hotkey";
+  public static final String FORMAT_TEXT = "text";
+  public static final String FORMAT_BINARY = "binary";
+  public static final List<String> DATA_FORMATS = asList( FORMAT_TEXT, FORMAT_BINARY );
+
+  public static final String STATS_TEXT = "text";
+  public static final String STATS_JSON = "json";
+  public static final String STATS_CSV = "csv";
+  public static final List<String> STATS_FORMATS = asList( STATS_TEXT, STATS_JSON, STATS_CSV );
+
+  public static final String SORT_LONG = "long";
+  public static final String SORT_STRING = "string";
+  public static final String SORT_COMPOSITE = "composite";
+  public static final List<String> SORT_TYPES = asList( SORT_LONG, SORT_STRING, SORT_COMPOSITE );
+
+  public static final String COMPARATOR_NATURAL = "natural";
+  public static final String COMPARATOR_CUSTOM = "custom";
+  public static final String COMPARATOR_REVERSE = "reverse";
+  public static final List<String> SORT_COMPARATORS = asList( COMPARATOR_NATURAL, COMPARATOR_CUSTOM, COMPARATOR_REVERSE );
+
+  public static final int DEFAULT_MINI_CLUSTER_NODES = 4;
+
+  public static final List<String> DATA_DISTRIBUTIONS = asList( DIST_UNIFORM, DIST_NORMAL, DIST_ZIPF, DIST_POWERLAW, DIST_HOTKEY );
+
   //////////////////////////////////////////////////////////////////////
   // inner class to parse options
 
@@ -190,6 +222,11 @@ public class Options
   String appName = null;
   String tags = null;
   boolean singlelineStats = false;
+  String statsFormat = STATS_TEXT;
+  String compareTo;
+  int iterations = 1;
+  int warmupIterations = 0;
+  float regressionThreshold = 10;
   boolean debugLogging = false;
   int blockSizeMB = 64;
   int numDefaultMappers = -1;
@@ -206,11 +243,22 @@ public class Options
 
   int maxConcurrentFlows = -1;
   int maxConcurrentSteps = -1;
+  int miniClusterNodes = DEFAULT_MINI_CLUSTER_NODES;
+  int progressInterval = 0;
+  boolean instrument;
+  boolean profile;
+  List<String> metricsExporters = new ArrayList<String>();
+  String metricsFile;
+  int metricsHold = 0;
+  boolean tezContainerReuse;
+  boolean tezAutoPartitions;
+  int tezPartitionSizeMB = 256;
 
   String inputRoot;
   String outputRoot;
   String workingRoot = "working_" + System.currentTimeMillis() + "_" + (int) ( Math.random() * 1000 );
   String statsRoot;
+  String dataFormat = FORMAT_TEXT;
 
   boolean cleanWorkFiles = false;
 
@@ -218,6 +266,7 @@ public class Options
   boolean certifyTests = false;
   boolean comparisonLoads = false;
   boolean breakingLoads = false;
+  List<String> loadNames = new ArrayList<String>();
 
   boolean dataGenerate;
   int dataNumFiles = 100;
@@ -229,11 +278,28 @@ public class Options
   int fillFilesPerAvailMapper = -1;
   float dataMeanWords = -1;
   float dataStddevWords = -1;
+  boolean dataSeeded = false;
+  long dataSeed;
+  String dataDistribution;
+  float dataSkewExponent = 1;
+  int dataHotKeys = 1;
+  float dataHotFraction = 0.5f;
+  int dataVocabularySize = -1;
+  int dataKeyMinLength = 6;
+  int dataKeyMaxLength = 12;
   boolean dataConsume = false;
 
   boolean countSort;
+  boolean countBySort;
   boolean staggeredSort;
   boolean fullTupleGroup;
+  boolean parameterizedSort;
+  int sortFields = 4;
+  String sortType = SORT_LONG;
+  String sortComparator = COMPARATOR_NATURAL;
+  String sortCardinality = "100";
+  boolean packedKeySort;
+  boolean rawKeySort;
 
   boolean multiJoin;
   boolean selfMultiJoin;
@@ -242,6 +308,10 @@ public class Options
   boolean leftJoin;
   boolean rightJoin;
   boolean threeWayJoin;
+  boolean hashInnerJoin;
+  boolean hashLeftJoin;
+  boolean hashMultiJoin;
+  float hashJoinSmallFraction = 0.95f;
 
   boolean pathologicalInnerJoin;
 
@@ -249,14 +319,27 @@ public class Options
   boolean split;
   boolean pipeline;
   boolean chainedAggregate;
+  boolean chainedAggregateBy;
+  int aggregateByCapacity = 0;
+  boolean sketchTopK;
+  boolean sketchDistinct;
+  boolean exactDistinct;
+  int sketchTopKSize = 100;
+  int sketchCounters = 1000;
+  int sketchPrecision = 14;
+  boolean sketchVerify;
   boolean chainedFunction;
   int hashModulo = -1;
+  boolean primitiveAggregation;
+  boolean spill;
+  int spillGroupSize = 250000;
   boolean writeDotFile = false;
   boolean writeTraceFiles = false;
   private String platformName;
 
   OptionGlyph helpOption;
   OptionGlyph markOption;
+  OptionGlyph listLoadsOption;
 
   public Options()
     {
@@ -264,6 +347,8 @@ public class Options
 
     this.markOption = new OptionGlyph( asList( "--markdown" ), "generateMarkdown", null, false, false, "generate help text as GitHub Flavored Markdown" );
 
+    this.listLoadsOption = new OptionGlyph( asList( "-LL", "--list-loads" ), "printLoadsWrapper", null, false, false, "list available loads by name and category" );
+
     new OptionGlyph( asList( "-pf", "--platform" ), "setPlatformName", String.class, false, false, "set platform" );
 
     new OptionGlyph( asList( "-ALL" ), "setRunAllLoads", null, false, false, "run all available loads (not intended to produce errors)" );
@@ -271,6 +356,11 @@ public class Options
     new OptionGlyph( asList( "-ct", "--comparison-testing" ), "setComparisonLoads", null, false, false, "run loads that are intended for comparison across platforms" );
 
     new OptionGlyph( asList( "-SLS" ), "setSinglelineStats", null, false, false, "single-line stats" );
+    new OptionGlyph( asList( "-SF", "--stats-format" ), "setStatsFormat", String.class, false, false, "stats format: text, json, or csv, default text" );
+    new OptionGlyph( asList( "-IT", "--iterations" ), "setIterations", int.class, false, false, "times to run the selected loads, default 1" );
+    new OptionGlyph( asList( "-WU", "--warmup" ), "setWarmupIterations", int.class, false, false, "times to run the selected loads before the measured iterations, default 0" );
+    new OptionGlyph( asList( "-CMP", "--compare-to" ), "setCompareTo", String.class, false, false, "csv stats file of a previous run to compare against, fails the run on a regression, of the median flow durations with -IT" );
+    new OptionGlyph( asList( "-RT", "--regression-threshold" ), "setRegressionThreshold", float.class, false, false, "percent a metric may regress before the comparison fails, default 10" );
     new OptionGlyph( asList( "-X" ), "setDebugLogging", null, false, false, "debug logging" );
     new OptionGlyph( asList( "-BS" ), "setBlockSizeMB", int.class, false, false, "default block size" );
     new OptionGlyph( asList( "-NM" ), "setNumDefaultMappers", int.class, false, false, "default num mappers" );
@@ -287,10 +377,21 @@ public class Options
     new OptionGlyph( asList( "-O" ), "setOutputRoot", String.class, true, false, "output path for load results" );
     new OptionGlyph( asList( "-W" ), "setWorkingRoot", String.class, false, false, "input/output path for working files" );
     new OptionGlyph( asList( "-S" ), "setStatsRoot", String.class, false, false, "output path for job stats" );
+    new OptionGlyph( asList( "-fmt", "--format" ), "setDataFormat", String.class, false, false, "format of generated data and load results: text or binary, default text" );
     new OptionGlyph( asList( "-CWF" ), "setCleanWorkFiles", null, false, false, "clean all files from prior run" );
     new OptionGlyph( asList( "-CVMO" ), "setChildVMOptions", String.class, false, false, "child JVM options" );
-    new OptionGlyph( asList( "-MXCF" ), "setMaxConcurrentFlows", int.class, false, false, "maximum concurrent flows" );
+    new OptionGlyph( asList( "-MXCF" ), "setMaxConcurrentFlows", int.class, false, false, "maximum concurrent flows, 1 on local or when a load and its variant both run" );
     new OptionGlyph( asList( "-MXCS" ), "setMaxConcurrentSteps", int.class, false, false, "maximum concurrent steps" );
+    new OptionGlyph( asList( "-pi", "--progress-interval" ), "setProgressInterval", int.class, false, false, "log the progress and throughput of the running flows every given seconds, and write them to the stats root, default 0 for never" );
+    new OptionGlyph( asList( "-in", "--instrument" ), "setInstrument", null, false, false, "time the operations of the pipeline loads, and print the nanos and calls of each operation with the stats" );
+    new OptionGlyph( asList( "-prof", "--profile" ), "setProfile", null, false, false, "record each load with Java Flight Recorder, to the stats root locally, or to the task log directories on a cluster" );
+    new OptionGlyph( asList( "-mx", "--metrics" ), "setMetricsExporters", String.class, false, true, "export the flow and step metrics of each run with the named exporter, prometheus or jmx (can be used multiple times), jmx MBeans only live as long as the JVM, see -mxh" );
+    new OptionGlyph( asList( "-mxf", "--metrics-file" ), "setMetricsFile", String.class, false, false, "local file the prometheus exporter writes in the text exposition format" );
+    new OptionGlyph( asList( "-mxh", "--metrics-hold" ), "setMetricsHold", int.class, false, false, "seconds to keep the JVM running after all loads ran, so JMX clients can read the jmx exporter MBeans, default 0" );
+    new OptionGlyph( asList( "-tzr", "--tez-container-reuse" ), "setTezContainerReuse", null, false, false, "reuse Tez containers across tasks, including non local ones, otherwise the Tez defaults apply" );
+    new OptionGlyph( asList( "-tzp", "--tez-auto-partitions" ), "setTezAutoPartitions", null, false, false, "set the Tez gather partitions from the input size, when -NR and -PR are not given" );
+    new OptionGlyph( asList( "-tzps", "--tez-partition-size" ), "setTezPartitionSizeMB", int.class, false, false, "input MB per gather partition with -tzp, default 256" );
+    new OptionGlyph( asList( "-MCN", "--mini-cluster-nodes" ), "setMiniClusterNodes", int.class, false, false, "number of data nodes and node managers of the hadoop2-mr1-mini platform, default 4" );
 
     new OptionGlyph( asList( "-g", "--generate" ), "setDataGenerate", null, false, false, "generate test data" );
     new OptionGlyph( asList( "-gf", "--generate-num-files" ), "setDataNumFiles", int.class, false, false, "num files to create" );
@@ -302,12 +403,30 @@ public class Options
     new OptionGlyph( asList( "-gfm", "--generate-files-per-mapper" ), "setFillFilesPerAvailMapper", int.class, false, false, "fill num files per available mapper" );
     new OptionGlyph( asList( "-gwm", "--generate-words-mean" ), "setDataMeanWords", float.class, false, false, "mean modifier [-1,1] of a normal distribution from dictionary" );
     new OptionGlyph( asList( "-gws", "--generate-words-stddev" ), "setDataStddevWords", float.class, false, false, "standard-deviation modifier (0,1) of a normal distribution from dictionary" );
+    new OptionGlyph( asList( "-gseed", "--data-seed" ), "setDataSeed", long.class, false, false, "seed for generated data, each task derives its own stream from it" );
+    new OptionGlyph( asList( "-gdist", "--generate-distribution" ), "setDataDistribution", String.class, false, false, "distribution of words from dictionary: uniform, normal, zipf, powerlaw, or hotkey" );
+    new OptionGlyph( asList( "-gexp", "--generate-skew-exponent" ), "setDataSkewExponent", float.class, false, false, "exponent of the zipf or powerlaw distribution, default 1" );
+    new OptionGlyph( asList( "-ghk", "--generate-hot-keys" ), "setDataHotKeys", int.class, false, false, "number of hot words in the hotkey distribution, default 1" );
+    new OptionGlyph( asList( "-ghf", "--generate-hot-fraction" ), "setDataHotFraction", float.class, false, false, "fraction [0,1] of words drawn from the hot words in the hotkey distribution, default 0.5" );
+    new OptionGlyph( asList( "-gvs", "--generate-vocabulary-size" ), "setDataVocabularySize", int.class, false, false, "number of distinct synthetic words to generate from, instead of the dictionary" );
+    new OptionGlyph( asList( "-gkmin", "--generate-key-min-length" ), "setDataKeyMinLength", int.class, false, false, "min length of a synthetic word, default 6" );
+    new OptionGlyph( asList( "-gkmax", "--generate-key-max-length" ), "setDataKeyMaxLength", int.class, false, false, "max length of a synthetic word, default 12" );
+
+    new OptionGlyph( asList( "-L", "--load" ), "setLoadNames", String.class, false, true, "run the named load, or all loads matching a glob like '*-join' (can be used multiple times)" );
 
     new OptionGlyph( asList( "-cd", "--consume" ), "setDataConsume", null, false, false, "consume test data" );
     new OptionGlyph( asList( "-s", "--certify-tests" ), "setCertifyTests", null, false, false, "run certification tests" );
     new OptionGlyph( asList( "-c", "--count-sort" ), "setCountSort", null, false, false, "run count sort load" );
+    new OptionGlyph( asList( "-cb", "--count-by-sort" ), "setCountBySort", null, false, false, "run count sort load, counting with CountBy" );
     new OptionGlyph( asList( "-ss", "--staggered-sort" ), "setStaggeredSort", null, false, false, "run staggered compare sort load" );
     new OptionGlyph( asList( "-fg", "--full-group" ), "setFullTupleGroup", null, false, false, "run full tuple grouping load" );
+    new OptionGlyph( asList( "-ps", "--parameterized-sort" ), "setParameterizedSort", null, false, false, "run parameterized sort load, grouping on the first sort field and sorting on the others" );
+    new OptionGlyph( asList( "-psf", "--sort-fields" ), "setSortFields", int.class, false, false, "number of sort fields in the parameterized sort load, default 4" );
+    new OptionGlyph( asList( "-pst", "--sort-type" ), "setSortType", String.class, false, false, "type of the sort fields: " + SORT_TYPES + ", default " + SORT_LONG );
+    new OptionGlyph( asList( "-psc", "--sort-comparator" ), "setSortComparator", String.class, false, false, "comparator of the sort fields: " + SORT_COMPARATORS + ", default " + COMPARATOR_NATURAL );
+    new OptionGlyph( asList( "-pks", "--packed-key-sort" ), "setPackedKeySort", null, false, false, "run packed key sort load, grouping on a custom key type compared after deserialization" );
+    new OptionGlyph( asList( "-rks", "--raw-key-sort" ), "setRawKeySort", null, false, false, "run packed key sort load, comparing the serialized keys as raw bytes" );
+    new OptionGlyph( asList( "-psk", "--sort-cardinality" ), "setSortCardinality", String.class, false, false, "distinct values per sort field, comma separated, the last value is used for the remaining fields, default 100" );
     new OptionGlyph( asList( "-m", "--multi-join" ), "setMultiJoin", null, false, false, "run multi join load" );
     new OptionGlyph( asList( "-sm", "--self-multi-join" ), "setSelfMultiJoin", null, false, false, "run self join multi join load" );
     new OptionGlyph( asList( "-ij", "--inner-join" ), "setInnerJoin", null, false, false, "run inner join load" );
@@ -316,11 +435,27 @@ public class Options
     new OptionGlyph( asList( "-lj", "--left-join" ), "setLeftJoin", null, false, false, "run left join load" );
     new OptionGlyph( asList( "-rj", "--right-join" ), "setRightJoin", null, false, false, "run right join load" );
     new OptionGlyph( asList( "-3j", "--3-way-join" ), "setThreeWayJoin", null, false, false, "run right join load" );
+    new OptionGlyph( asList( "-hij", "--hash-inner-join" ), "setHashInnerJoin", null, false, false, "run inner hash join load" );
+    new OptionGlyph( asList( "-hlj", "--hash-left-join" ), "setHashLeftJoin", null, false, false, "run left hash join load" );
+    new OptionGlyph( asList( "-hmj", "--hash-multi-join" ), "setHashMultiJoin", null, false, false, "run three way inner and left hash join load" );
+    new OptionGlyph( asList( "-hjs", "--hash-join-small-size" ), "setHashJoinSmallFraction", float.class, false, false, "fraction (0,1] of unique words kept on the accumulated side of hash joins, default 0.95" );
     new OptionGlyph( asList( "-cp", "--copy" ), "setCopy", null, false, false, "run copy load" );
     new OptionGlyph( asList( "-sp", "--split" ), "setSplit", null, false, false, "run split file load" );
     new OptionGlyph( asList( "-p", "--pipeline" ), "setPipeline", null, false, false, "run pipeline (chained function and aggregates) load" );
     new OptionGlyph( asList( "-pm", "--pipeline-hash-modulo" ), "setHashModulo", int.class, false, false, "hash modulo for managing key distribution" );
+    new OptionGlyph( asList( "-pa", "--primitive-aggregation" ), "setPrimitiveAggregation", null, false, false, "count words, hash, and sum with primitive operations in the pipeline loads, instead of expressions and boxed sums" );
     new OptionGlyph( asList( "-ca", "--chained-aggregate" ), "setChainedAggregate", null, false, false, "run chained aggregate load" );
+    new OptionGlyph( asList( "-cab", "--chained-aggregate-by" ), "setChainedAggregateBy", null, false, false, "run chained aggregate load, summing with AggregateBy" );
+    new OptionGlyph( asList( "-abc", "--aggregate-by-capacity" ), "setAggregateByCapacity", int.class, false, false, "number of keys aggregated in memory per task before the shuffle by the AggregateBy loads, default 0 for the Cascading default" );
+    new OptionGlyph( asList( "-stk", "--sketch-top-k" ), "setSketchTopK", null, false, false, "run top k words load, with Space-Saving summaries" );
+    new OptionGlyph( asList( "-sd", "--sketch-distinct" ), "setSketchDistinct", null, false, false, "run distinct words load, with HyperLogLog estimates" );
+    new OptionGlyph( asList( "-ed", "--exact-distinct" ), "setExactDistinct", null, false, false, "run distinct words load, with Unique" );
+    new OptionGlyph( asList( "-stkk", "--sketch-top-k-size" ), "setSketchTopKSize", int.class, false, false, "number of top words to find, default 100" );
+    new OptionGlyph( asList( "-skc", "--sketch-counters" ), "setSketchCounters", int.class, false, false, "number of Space-Saving counters, at least the top k size, default 1000" );
+    new OptionGlyph( asList( "-skp", "--sketch-precision" ), "setSketchPrecision", int.class, false, false, "HyperLogLog precision [4,18], 2^precision registers, default 14" );
+    new OptionGlyph( asList( "-sv", "--sketch-verify" ), "setSketchVerify", null, false, false, "also run the exact loads, and print the accuracy of the sketch loads against them" );
+    new OptionGlyph( asList( "-sl", "--spill" ), "setSpill", null, false, false, "run spill load, a self join into groups of the spill group size read by a Buffer" );
+    new OptionGlyph( asList( "-spg", "--spill-group-size" ), "setSpillGroupSize", int.class, false, false, "number of tuples per group and side in the spill load, spills when above -TS, default 250,000" );
     new OptionGlyph( asList( "-cf", "--chained-function" ), "setChainedFunction", null, false, false, "run chained function load" );
     new OptionGlyph( asList( "-wd", "--write-dot" ), "setWriteDotFile", null, false, false, "write DOT file" );
     new OptionGlyph( asList( "-wt", "--write-trace" ), "setWriteTraceFiles", null, false, false, "write planner trace files" );
@@ -347,18 +482,116 @@ public class Options
       printUsage( true );
       System.exit( 0 );
       }
+    else if( this.listLoadsOption.attempt( opts ) )
+      {
+      new LoadCatalog().printCatalog( System.out );
+      System.exit( 0 );
+      }
     else
       {
       for( Object obj : optionList )
         ( (OptionGlyph) obj ).attempt( opts );
 
-      if( !( this.runAllLoads || this.dataGenerate || this.dataConsume || this.countSort || this.certifyTests ||
-        this.staggeredSort || this.fullTupleGroup || this.multiJoin || this.innerJoin || this.outerJoin ||
-        this.leftJoin || this.rightJoin || this.pipeline || this.chainedAggregate || this.chainedFunction ||
-        this.pathologicalInnerJoin || this.breakingLoads || this.comparisonLoads ) )
-        {
+      selectLoadGroups();
+
+      if( new LoadCatalog().select( this ).isEmpty() )
         throw new Exception( "At least one flow must be selected, to run Load" );
+
+      if( !STATS_FORMATS.contains( this.statsFormat ) )
+        throw new Exception( "unknown stats format: " + this.statsFormat + ", must be one of " + STATS_FORMATS );
+
+      if( this.iterations < 1 )
+        throw new Exception( "iterations must be at least 1" );
+
+      if( this.warmupIterations < 0 )
+        throw new Exception( "warmup iterations must not be negative" );
+
+      if( this.sortFields < 1 )
+        throw new Exception( "sort fields must be at least 1" );
+
+      if( !SORT_TYPES.contains( this.sortType ) )
+        throw new Exception( "unknown sort type: " + this.sortType + ", must be one of " + SORT_TYPES );
+
+      if( !SORT_COMPARATORS.contains( this.sortComparator ) )
+        throw new Exception( "unknown sort comparator: " + this.sortComparator + ", must be one of " + SORT_COMPARATORS );
+
+      try
+        {
+        for( int cardinality : getSortCardinalities() )
+          {
+          if( cardinality < 1 )
+            throw new Exception( "sort cardinality must be at least 1, got: " + this.sortCardinality );
+          }
+        }
+      catch( NumberFormatException exception )
+        {
+        throw new Exception( "sort cardinality must be a comma separated list of integers, got: " + this.sortCardinality );
         }
+
+      if( this.progressInterval < 0 )
+        throw new Exception( "progress interval must not be negative" );
+
+      if( this.profile && this.statsRoot == null )
+        throw new Exception( "profile requires a stats root, set with -S" );
+
+      Set<String> exporterNames = Metrics.getExporters().keySet();
+
+      for( String exporterName : this.metricsExporters )
+        {
+        if( !exporterNames.contains( exporterName ) )
+          throw new Exception( "unknown metrics exporter: " + exporterName + ", must be one of: " + exporterNames );
+        }
+
+      if( this.metricsHold < 0 )
+        throw new Exception( "metrics hold must not be negative" );
+
+      if( this.metricsExporters.contains( PrometheusMetricsExporter.NAME ) && this.metricsFile == null )
+        throw new Exception( "the prometheus metrics exporter requires a metrics file" );
+
+      if( this.tezPartitionSizeMB < 1 )
+        throw new Exception( "tez partition size must be at least 1 MB" );
+
+      if( this.miniClusterNodes < 1 )
+        throw new Exception( "mini cluster nodes must be at least 1" );
+
+      if( this.spillGroupSize < 1 )
+        throw new Exception( "spill group size must be at least 1" );
+
+      if( this.sketchTopKSize < 1 || this.sketchCounters < this.sketchTopKSize )
+        throw new Exception( "sketch top k size must be at least 1 and not more than sketch counters" );
+
+      if( this.sketchPrecision < 4 || this.sketchPrecision > 18 )
+        throw new Exception( "sketch precision must be in [4,18]" );
+
+      if( this.aggregateByCapacity < 0 )
+        throw new Exception( "aggregate by capacity must not be negative" );
+
+      if( this.hashJoinSmallFraction <= 0 || this.hashJoinSmallFraction > 1 )
+        throw new Exception( "hash join small size must be in (0,1]" );
+
+      if( this.regressionThreshold < 0 )
+        throw new Exception( "regression threshold must not be negative" );
+
+      if( !DATA_FORMATS.contains( this.dataFormat ) )
+        throw new Exception( "unknown format: " + this.dataFormat + ", must be one of " + DATA_FORMATS );
+
+      if( this.dataDistribution != null && !DATA_DISTRIBUTIONS.contains( this.dataDistribution ) )
+        throw new Exception( "unknown distribution: " + this.dataDistribution + ", must be one of " + DATA_DISTRIBUTIONS );
+
+      if( this.dataSkewExponent <= 0 )
+        throw new Exception( "skew exponent must be positive" );
+
+      if( this.dataHotKeys < 1 )
+        throw new Exception( "hot keys must be at least 1" );
+
+      if( this.dataHotFraction < 0 || this.dataHotFraction > 1 )
+        throw new Exception( "hot fraction must be in [0,1]" );
+
+      if( this.dataVocabularySize != -1 && this.dataVocabularySize < 1 )
+        throw new Exception( "vocabulary size must be at least 1" );
+
+      if( this.dataKeyMinLength < 1 || this.dataKeyMaxLength < this.dataKeyMinLength )
+        throw new Exception( "key min length must be at least 1 and not more than key max length" );
       }
     }
 
@@ -375,6 +608,11 @@ public class Options
     // placeholder: generate help text as GitHub Flavored Markdown
     }
 
+  public void printLoadsWrapper( boolean ignore )
+    {
+    // placeholder: list available loads
+    }
+
   private static void printCascadingVersion()
     {
     Version.printBanner();
@@ -472,6 +710,61 @@ public class Options
     this.singlelineStats = singlelineStats;
     }
 
+  public String getStatsFormat()
+    {
+    return statsFormat;
+    }
+
+  public void setStatsFormat( String statsFormat )
+    {
+    this.statsFormat = statsFormat.toLowerCase();
+    }
+
+  public int getIterations()
+    {
+    return iterations;
+    }
+
+  public void setIterations( int iterations )
+    {
+    this.iterations = iterations;
+    }
+
+  public int getWarmupIterations()
+    {
+    return warmupIterations;
+    }
+
+  public void setWarmupIterations( int warmupIterations )
+    {
+    this.warmupIterations = warmupIterations;
+    }
+
+  public boolean hasCompareTo()
+    {
+    return compareTo != null;
+    }
+
+  public String getCompareTo()
+    {
+    return compareTo;
+    }
+
+  public void setCompareTo( String compareTo )
+    {
+    this.compareTo = compareTo;
+    }
+
+  public float getRegressionThreshold()
+    {
+    return regressionThreshold;
+    }
+
+  public void setRegressionThreshold( float regressionThreshold )
+    {
+    this.regressionThreshold = regressionThreshold;
+    }
+
   public boolean isDebugLogging()
     {
     return debugLogging;
@@ -624,6 +917,22 @@ public class Options
     this.workingRoot = workingRoot;
     }
 
+  public String getDataFormat()
+    {
+    return dataFormat;
+    }
+
+  public void setDataFormat( String dataFormat )
+    {
+    this.dataFormat = dataFormat.toLowerCase();
+    }
+
+  /** Returns true if loads read and write typed binary tuples instead of text lines. */
+  public boolean isBinaryFormat()
+    {
+    return FORMAT_BINARY.equals( dataFormat );
+    }
+
   public boolean hasStatsRoot()
     {
     return statsRoot != null;
@@ -686,6 +995,106 @@ public class Options
     this.maxConcurrentSteps = maxConcurrentSteps;
     }
 
+  public int getProgressInterval()
+    {
+    return progressInterval;
+    }
+
+  public void setProgressInterval( int progressInterval )
+    {
+    this.progressInterval = progressInterval;
+    }
+
+  public boolean isInstrument()
+    {
+    return instrument;
+    }
+
+  public void setInstrument( boolean instrument )
+    {
+    this.instrument = instrument;
+    }
+
+  public boolean isProfile()
+    {
+    return profile;
+    }
+
+  public void setProfile( boolean profile )
+    {
+    this.profile = profile;
+    }
+
+  public List<String> getMetricsExporters()
+    {
+    return metricsExporters;
+    }
+
+  public void setMetricsExporters( String metricsExporter )
+    {
+    this.metricsExporters.add( metricsExporter );
+    }
+
+  public String getMetricsFile()
+    {
+    return metricsFile;
+    }
+
+  public void setMetricsFile( String metricsFile )
+    {
+    this.metricsFile = metricsFile;
+    }
+
+  public int getMetricsHold()
+    {
+    return metricsHold;
+    }
+
+  public void setMetricsHold( int metricsHold )
+    {
+    this.metricsHold = metricsHold;
+    }
+
+  public boolean isTezContainerReuse()
+    {
+    return tezContainerReuse;
+    }
+
+  public void setTezContainerReuse( boolean tezContainerReuse )
+    {
+    this.tezContainerReuse = tezContainerReuse;
+    }
+
+  public boolean isTezAutoPartitions()
+    {
+    return tezAutoPartitions;
+    }
+
+  public void setTezAutoPartitions( boolean tezAutoPartitions )
+    {
+    this.tezAutoPartitions = tezAutoPartitions;
+    }
+
+  public int getTezPartitionSizeMB()
+    {
+    return tezPartitionSizeMB;
+    }
+
+  public void setTezPartitionSizeMB( int tezPartitionSizeMB )
+    {
+    this.tezPartitionSizeMB = tezPartitionSizeMB;
+    }
+
+  public int getMiniClusterNodes()
+    {
+    return miniClusterNodes;
+    }
+
+  public void setMiniClusterNodes( int miniClusterNodes )
+    {
+    this.miniClusterNodes = miniClusterNodes;
+    }
+
   private String makePathDir( String path )
     {
     if( path == null || path.isEmpty() )
@@ -847,6 +1256,105 @@ public class Options
     return dataMeanWords != -1 || dataStddevWords != -1;
     }
 
+  public boolean hasDataSeed()
+    {
+    return dataSeeded;
+    }
+
+  public long getDataSeed()
+    {
+    return dataSeed;
+    }
+
+  public void setDataSeed( long dataSeed )
+    {
+    this.dataSeeded = true;
+    this.dataSeed = dataSeed;
+    }
+
+  /**
+   * Returns the distribution words are picked from, defaulting to normal if a mean or stddev modifier
+   * was given, otherwise uniform.
+   */
+  public String getDataDistribution()
+    {
+    if( dataDistribution != null )
+      return dataDistribution;
+
+    return useNormalDistribution() ? DIST_NORMAL : DIST_UNIFORM;
+    }
+
+  public void setDataDistribution( String dataDistribution )
+    {
+    this.dataDistribution = dataDistribution == null ? null : dataDistribution.toLowerCase();
+    }
+
+  public float getDataSkewExponent()
+    {
+    return dataSkewExponent;
+    }
+
+  public void setDataSkewExponent( float dataSkewExponent )
+    {
+    this.dataSkewExponent = dataSkewExponent;
+    }
+
+  public int getDataHotKeys()
+    {
+    return dataHotKeys;
+    }
+
+  public void setDataHotKeys( int dataHotKeys )
+    {
+    this.dataHotKeys = dataHotKeys;
+    }
+
+  public float getDataHotFraction()
+    {
+    return dataHotFraction;
+    }
+
+  public void setDataHotFraction( float dataHotFraction )
+    {
+    this.dataHotFraction = dataHotFraction;
+    }
+
+  /** Returns true if words are generated from a synthetic vocabulary instead of the dictionary. */
+  public boolean useSyntheticVocabulary()
+    {
+    return dataVocabularySize != -1;
+    }
+
+  public int getDataVocabularySize()
+    {
+    return dataVocabularySize;
+    }
+
+  public void setDataVocabularySize( int dataVocabularySize )
+    {
+    this.dataVocabularySize = dataVocabularySize;
+    }
+
+  public int getDataKeyMinLength()
+    {
+    return dataKeyMinLength;
+    }
+
+  public void setDataKeyMinLength( int dataKeyMinLength )
+    {
+    this.dataKeyMinLength = dataKeyMinLength;
+    }
+
+  public int getDataKeyMaxLength()
+    {
+    return dataKeyMaxLength;
+    }
+
+  public void setDataKeyMaxLength( int dataKeyMaxLength )
+    {
+    this.dataKeyMaxLength = dataKeyMaxLength;
+    }
+
   private String getDataNormalDesc()
     {
     return "normal(" + getDataMeanWords() + "," + getDataStddevWords() + ")";
@@ -873,6 +1381,16 @@ public class Options
     this.countSort = countSort;
     }
 
+  public boolean isCountBySort()
+    {
+    return countBySort;
+    }
+
+  public void setCountBySort( boolean countBySort )
+    {
+    this.countBySort = countBySort;
+    }
+
   public boolean isStaggeredSort()
     {
     return staggeredSort;
@@ -893,6 +1411,88 @@ public class Options
     this.fullTupleGroup = fullTupleGroup;
     }
 
+  public boolean isParameterizedSort()
+    {
+    return parameterizedSort;
+    }
+
+  public void setParameterizedSort( boolean parameterizedSort )
+    {
+    this.parameterizedSort = parameterizedSort;
+    }
+
+  public boolean isPackedKeySort()
+    {
+    return packedKeySort;
+    }
+
+  public void setPackedKeySort( boolean packedKeySort )
+    {
+    this.packedKeySort = packedKeySort;
+    }
+
+  public boolean isRawKeySort()
+    {
+    return rawKeySort;
+    }
+
+  public void setRawKeySort( boolean rawKeySort )
+    {
+    this.rawKeySort = rawKeySort;
+    }
+
+  public int getSortFields()
+    {
+    return sortFields;
+    }
+
+  public void setSortFields( int sortFields )
+    {
+    this.sortFields = sortFields;
+    }
+
+  public String getSortType()
+    {
+    return sortType;
+    }
+
+  public void setSortType( String sortType )
+    {
+    this.sortType = sortType;
+    }
+
+  public String getSortComparator()
+    {
+    return sortComparator;
+    }
+
+  public void setSortComparator( String sortComparator )
+    {
+    this.sortComparator = sortComparator;
+    }
+
+  public String getSortCardinality()
+    {
+    return sortCardinality;
+    }
+
+  public void setSortCardinality( String sortCardinality )
+    {
+    this.sortCardinality = sortCardinality;
+    }
+
+  /** Returns the cardinality of every sort field, repeating the last given cardinality for the remaining fields. */
+  public int[] getSortCardinalities()
+    {
+    String[] values = sortCardinality.split( "," );
+    int[] cardinalities = new int[ sortFields ];
+
+    for( int i = 0; i < sortFields; i++ )
+      cardinalities[ i ] = Integer.parseInt( values[ Math.min( i, values.length - 1 ) ].trim() );
+
+    return cardinalities;
+    }
+
   ////////////////////////////////////////
 
   public boolean isMultiJoin()
@@ -903,8 +1503,6 @@ public class Options
   public void setMultiJoin( boolean multiJoin )
     {
     this.multiJoin = multiJoin;
-
-    setCopy( multiJoin ); // required by multijoin
     }
 
   public boolean isSelfMultiJoin()
@@ -967,6 +1565,48 @@ public class Options
     this.threeWayJoin = threeWayJoin;
     }
 
+  ////////////////////////////////////////
+
+  public boolean isHashInnerJoin()
+    {
+    return hashInnerJoin;
+    }
+
+  public void setHashInnerJoin( boolean hashInnerJoin )
+    {
+    this.hashInnerJoin = hashInnerJoin;
+    }
+
+  public boolean isHashLeftJoin()
+    {
+    return hashLeftJoin;
+    }
+
+  public void setHashLeftJoin( boolean hashLeftJoin )
+    {
+    this.hashLeftJoin = hashLeftJoin;
+    }
+
+  public boolean isHashMultiJoin()
+    {
+    return hashMultiJoin;
+    }
+
+  public void setHashMultiJoin( boolean hashMultiJoin )
+    {
+    this.hashMultiJoin = hashMultiJoin;
+    }
+
+  public float getHashJoinSmallFraction()
+    {
+    return hashJoinSmallFraction;
+    }
+
+  public void setHashJoinSmallFraction( float hashJoinSmallFraction )
+    {
+    this.hashJoinSmallFraction = hashJoinSmallFraction;
+    }
+
   public void setPathologicalInnerJoin( boolean pathologicalInnerJoin )
     {
     this.pathologicalInnerJoin = pathologicalInnerJoin;
@@ -987,6 +1627,16 @@ public class Options
     return breakingLoads;
     }
 
+  public List<String> getLoadNames()
+    {
+    return loadNames;
+    }
+
+  public void setLoadNames( String loadName )
+    {
+    this.loadNames.add( loadName );
+    }
+
   ////////////////////////////////////////
 
   public boolean isCopy()
@@ -1029,6 +1679,16 @@ public class Options
     this.hashModulo = hashModulo;
     }
 
+  public boolean isPrimitiveAggregation()
+    {
+    return primitiveAggregation;
+    }
+
+  public void setPrimitiveAggregation( boolean primitiveAggregation )
+    {
+    this.primitiveAggregation = primitiveAggregation;
+    }
+
   public boolean isChainedAggregate()
     {
     return chainedAggregate;
@@ -1039,6 +1699,116 @@ public class Options
     this.chainedAggregate = chainedAggregate;
     }
 
+  public boolean isChainedAggregateBy()
+    {
+    return chainedAggregateBy;
+    }
+
+  public void setChainedAggregateBy( boolean chainedAggregateBy )
+    {
+    this.chainedAggregateBy = chainedAggregateBy;
+    }
+
+  public boolean isSketchTopK()
+    {
+    return sketchTopK;
+    }
+
+  public void setSketchTopK( boolean sketchTopK )
+    {
+    this.sketchTopK = sketchTopK;
+    }
+
+  public boolean isSketchDistinct()
+    {
+    return sketchDistinct;
+    }
+
+  public void setSketchDistinct( boolean sketchDistinct )
+    {
+    this.sketchDistinct = sketchDistinct;
+    }
+
+  public boolean isExactDistinct()
+    {
+    return exactDistinct;
+    }
+
+  public void setExactDistinct( boolean exactDistinct )
+    {
+    this.exactDistinct = exactDistinct;
+    }
+
+  public int getSketchTopKSize()
+    {
+    return sketchTopKSize;
+    }
+
+  public void setSketchTopKSize( int sketchTopKSize )
+    {
+    this.sketchTopKSize = sketchTopKSize;
+    }
+
+  public int getSketchCounters()
+    {
+    return sketchCounters;
+    }
+
+  public void setSketchCounters( int sketchCounters )
+    {
+    this.sketchCounters = sketchCounters;
+    }
+
+  public int getSketchPrecision()
+    {
+    return sketchPrecision;
+    }
+
+  public void setSketchPrecision( int sketchPrecision )
+    {
+    this.sketchPrecision = sketchPrecision;
+    }
+
+  public boolean isSketchVerify()
+    {
+    return sketchVerify;
+    }
+
+  public void setSketchVerify( boolean sketchVerify )
+    {
+    this.sketchVerify = sketchVerify;
+    }
+
+  public boolean isSpill()
+    {
+    return spill;
+    }
+
+  public void setSpill( boolean spill )
+    {
+    this.spill = spill;
+    }
+
+  public int getSpillGroupSize()
+    {
+    return spillGroupSize;
+    }
+
+  public void setSpillGroupSize( int spillGroupSize )
+    {
+    this.spillGroupSize = spillGroupSize;
+    }
+
+  public int getAggregateByCapacity()
+    {
+    return aggregateByCapacity;
+    }
+
+  public void setAggregateByCapacity( int aggregateByCapacity )
+    {
+    this.aggregateByCapacity = aggregateByCapacity;
+    }
+
   public boolean isChainedFunction()
     {
     return chainedFunction;
@@ -1081,29 +1851,12 @@ public class Options
 
   ////////////////////////////////////////
 
-  public void prepare()
+  /**
+   * Selects the loads of the certification, comparison, and sketch verification groups. The loads run by -ALL are
+   * selected by the {@link LoadCatalog}, from {@link cascading.load.common.LoadDefinition#runAll()}.
+   */
+  private void selectLoadGroups()
     {
-    if( isRunAllLoads() )
-      {
-      setDataGenerate( true );
-      setCopy( true );
-      setSplit( true );
-      setCountSort( true );
-      setFullTupleGroup( true );
-      setStaggeredSort( true );
-      setOuterJoin( true );
-      setInnerJoin( true );
-      setLeftJoin( true );
-      setRightJoin( true );
-      setThreeWayJoin( true );
-      setMultiJoin( true );
-      setSelfMultiJoin( true );
-      setChainedFunction( true );
-      setChainedAggregate( true );
-      setPipeline( true );
-      setDataConsume( true );
-      }
-
     if( isCertifyTests() )
       {
       setDataGenerate( true );
@@ -1126,8 +1879,21 @@ public class Options
       setDataConsume( true );
       }
 
+    if( isSketchVerify() && isSketchTopK() )
+      setCountSort( true );
+
+    if( isSketchVerify() && isSketchDistinct() )
+      setExactDistinct( true );
+    }
+
+  public void prepare()
+    {
+    selectLoadGroups();
+
     CascadingLoadPlatform platform = new PlatformLoader().loadPlatform( platformName );
 
+    platform.initialize( this );
+
     if( numDefaultMappers == -1 && percentMaxMappers != 0 )
       numDefaultMappers = (int) ( platform.getMaxConcurrentMappers() * percentMaxMappers );
 
@@ -1166,6 +1932,11 @@ public class Options
     sb.append( "appName='" ).append( appName ).append( '\'' );
     sb.append( ", tags='" ).append( tags ).append( '\'' );
     sb.append( ", singlelineStats=" ).append( singlelineStats );
+    sb.append( ", statsFormat=" ).append( statsFormat );
+    sb.append( ", iterations=" ).append( iterations );
+    sb.append( ", warmupIterations=" ).append( warmupIterations );
+    sb.append( ", compareTo='" ).append( compareTo ).append( '\'' );
+    sb.append( ", regressionThreshold=" ).append( regressionThreshold );
     sb.append( ", debugLogging=" ).append( debugLogging );
     sb.append( ", blockSizeMB=" ).append( blockSizeMB );
     sb.append( ", numDefaultMappers=" ).append( numDefaultMappers );
@@ -1181,15 +1952,27 @@ public class Options
     sb.append( ", childVMOptions='" ).append( childVMOptions ).append( '\'' );
     sb.append( ", maxConcurrentFlows=" ).append( maxConcurrentFlows );
     sb.append( ", maxConcurrentSteps=" ).append( maxConcurrentSteps );
+    sb.append( ", miniClusterNodes=" ).append( miniClusterNodes );
+    sb.append( ", progressInterval=" ).append( progressInterval );
+    sb.append( ", instrument=" ).append( instrument );
+    sb.append( ", profile=" ).append( profile );
+    sb.append( ", metricsExporters=" ).append( metricsExporters );
+    sb.append( ", metricsFile='" ).append( metricsFile ).append( '\'' );
+    sb.append( ", metricsHold=" ).append( metricsHold );
+    sb.append( ", tezContainerReuse=" ).append( tezContainerReuse );
+    sb.append( ", tezAutoPartitions=" ).append( tezAutoPartitions );
+    sb.append( ", tezPartitionSizeMB=" ).append( tezPartitionSizeMB );
     sb.append( ", inputRoot='" ).append( inputRoot ).append( '\'' );
     sb.append( ", outputRoot='" ).append( outputRoot ).append( '\'' );
     sb.append( ", workingRoot='" ).append( workingRoot ).append( '\'' );
     sb.append( ", statsRoot='" ).append( statsRoot ).append( '\'' );
+    sb.append( ", dataFormat=" ).append( dataFormat );
     sb.append( ", cleanWorkFiles=" ).append( cleanWorkFiles );
     sb.append( ", runAllLoads=" ).append( runAllLoads );
     sb.append( ", certifyTests=" ).append( certifyTests );
     sb.append( ", comparisonLoads=" ).append( comparisonLoads );
     sb.append( ", breakingLoads=" ).append( breakingLoads );
+    sb.append( ", loadNames=" ).append( loadNames );
     sb.append( ", dataGenerate=" ).append( dataGenerate );
     sb.append( ", dataNumFiles=" ).append( dataNumFiles );
     sb.append( ", dataFileSizeMB=" ).append( dataFileSizeMB );
@@ -1200,10 +1983,26 @@ public class Options
     sb.append( ", fillFilesPerAvailMapper=" ).append( fillFilesPerAvailMapper );
     sb.append( ", dataMeanWords=" ).append( dataMeanWords );
     sb.append( ", dataStddevWords=" ).append( dataStddevWords );
+    sb.append( ", dataSeed=" ).append( dataSeeded ? Long.toString( dataSeed ) : "none" );
+    sb.append( ", dataDistribution=" ).append( getDataDistribution() );
+    sb.append( ", dataSkewExponent=" ).append( dataSkewExponent );
+    sb.append( ", dataHotKeys=" ).append( dataHotKeys );
+    sb.append( ", dataHotFraction=" ).append( dataHotFraction );
+    sb.append( ", dataVocabularySize=" ).append( dataVocabularySize );
+    sb.append( ", dataKeyMinLength=" ).append( dataKeyMinLength );
+    sb.append( ", dataKeyMaxLength=" ).append( dataKeyMaxLength );
     sb.append( ", dataConsume=" ).append( dataConsume );
     sb.append( ", countSort=" ).append( countSort );
+    sb.append( ", countBySort=" ).append( countBySort );
     sb.append( ", staggeredSort=" ).append( staggeredSort );
     sb.append( ", fullTupleGroup=" ).append( fullTupleGroup );
+    sb.append( ", parameterizedSort=" ).append( parameterizedSort );
+    sb.append( ", sortFields=" ).append( sortFields );
+    sb.append( ", sortType='" ).append( sortType ).append( '\'' );
+    sb.append( ", sortComparator='" ).append( sortComparator ).append( '\'' );
+    sb.append( ", sortCardinality='" ).append( sortCardinality ).append( '\'' );
+    sb.append( ", packedKeySort=" ).append( packedKeySort );
+    sb.append( ", rawKeySort=" ).append( rawKeySort );
     sb.append( ", multiJoin=" ).append( multiJoin );
     sb.append( ", selfMultiJoin=" ).append( selfMultiJoin );
     sb.append( ", innerJoin=" ).append( innerJoin );
@@ -1211,13 +2010,29 @@ public class Options
     sb.append( ", leftJoin=" ).append( leftJoin );
     sb.append( ", rightJoin=" ).append( rightJoin );
     sb.append( ", threeWayJoin=" ).append( threeWayJoin );
+    sb.append( ", hashInnerJoin=" ).append( hashInnerJoin );
+    sb.append( ", hashLeftJoin=" ).append( hashLeftJoin );
+    sb.append( ", hashMultiJoin=" ).append( hashMultiJoin );
+    sb.append( ", hashJoinSmallFraction=" ).append( hashJoinSmallFraction );
     sb.append( ", pathologicalInnerJoin=" ).append( pathologicalInnerJoin );
     sb.append( ", copy=" ).append( copy );
     sb.append( ", split=" ).append( split );
     sb.append( ", pipeline=" ).append( pipeline );
     sb.append( ", chainedAggregate=" ).append( chainedAggregate );
+    sb.append( ", chainedAggregateBy=" ).append( chainedAggregateBy );
+    sb.append( ", aggregateByCapacity=" ).append( aggregateByCapacity );
+    sb.append( ", sketchTopK=" ).append( sketchTopK );
+    sb.append( ", sketchDistinct=" ).append( sketchDistinct );
+    sb.append( ", exactDistinct=" ).append( exactDistinct );
+    sb.append( ", sketchTopKSize=" ).append( sketchTopKSize );
+    sb.append( ", sketchCounters=" ).append( sketchCounters );
+    sb.append( ", sketchPrecision=" ).append( sketchPrecision );
+    sb.append( ", sketchVerify=" ).append( sketchVerify );
     sb.append( ", chainedFunction=" ).append( chainedFunction );
     sb.append( ", hashModulo=" ).append( hashModulo );
+    sb.append( ", primitiveAggregation=" ).append( primitiveAggregation );
+    sb.append( ", spill=" ).append( spill );
+    sb.append( ", spillGroupSize=" ).append( spillGroupSize );
     sb.append( ", writeDotFile=" ).append( writeDotFile );
     sb.append( ", writeTraceFiles=" ).append( writeTraceFiles );
     sb.append( ", platformName='" ).append( platformName ).append( '\'' );
@@ -6,13 +6,27 @@
 
 package cascading.load.common;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 import cascading.flow.Flow;
 import cascading.flow.planner.FlowPlanner;
 import cascading.load.Options;
+import cascading.load.instrument.Instrumentation;
 import cascading.load.platform.CascadingLoadPlatform;
 import cascading.load.platform.PlatformLoader;
+import cascading.operation.Aggregator;
+import cascading.operation.Filter;
+import cascading.operation.Function;
+import cascading.scheme.Scheme;
+import cascading.stats.FlowStats;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntryIterator;
 import cascading.util.Util;
 
 /**
@@ -24,6 +38,8 @@ public abstract class Load
   protected Properties properties;
   protected CascadingLoadPlatform platform;
 
+  private int numTimed = 0;
+
   public Load( Options options, Properties properties )
     {
     this.options = options;
@@ -35,14 +51,91 @@ public abstract class Load
       {
       String path = "trace/" + getClass().getSimpleName();
 
-      properties.setProperty( FlowPlanner.TRACE_PLAN_TRANSFORM_PATH, Util.join( "/", path, "planner" ) );
-      properties.setProperty( FlowPlanner.TRACE_PLAN_PATH, path );
-      properties.setProperty( FlowPlanner.TRACE_STATS_PATH, path );
+      this.properties.setProperty( FlowPlanner.TRACE_PLAN_TRANSFORM_PATH, Util.join( "/", path, "planner" ) );
+      this.properties.setProperty( FlowPlanner.TRACE_PLAN_PATH, path );
+      this.properties.setProperty( FlowPlanner.TRACE_STATS_PATH, path );
       }
     }
 
   public abstract Flow createFlow() throws Exception;
 
+  /**
+   * Returns the given Function timed with --instrument, named by its position in the assembly and its class, see
+   * {@link Instrumentation}.
+   */
+  protected <Context> Function<Context> timed( Function<Context> function )
+    {
+    return Instrumentation.timed( options, nextTimedName( function ), function );
+    }
+
+  protected <Context> Filter<Context> timed( Filter<Context> filter )
+    {
+    return Instrumentation.timed( options, nextTimedName( filter ), filter );
+    }
+
+  protected <Context> Aggregator<Context> timed( Aggregator<Context> aggregator )
+    {
+    return Instrumentation.timed( options, nextTimedName( aggregator ), aggregator );
+    }
+
+  private String nextTimedName( Object operation )
+    {
+    return String.format( "%03d-%s", ++numTimed, operation.getClass().getSimpleName() );
+    }
+
+  /** Returns the scheme to read the generated corpus, or any output of a load, into the "line" field. */
+  protected Scheme newSourceScheme()
+    {
+    if( options.isBinaryFormat() )
+      return platform.newBinaryScheme( new Fields( "line" ) );
+
+    return platform.newTextLine( new Fields( "line" ) );
+    }
+
+  /** Returns the scheme to write all the fields of the result of a load with. */
+  protected Scheme newSinkScheme()
+    {
+    if( options.isBinaryFormat() )
+      return platform.newBinaryScheme( Fields.ALL );
+
+    return platform.newTextLine();
+    }
+
+  /** Returns every tuple written to the given output path by a load, text lines are split on tabs into strings. */
+  protected List<Tuple> readOutput( String path ) throws IOException
+    {
+    List<Tuple> tuples = new ArrayList<Tuple>();
+    Scheme scheme = options.isBinaryFormat() ? platform.newBinaryScheme( Fields.UNKNOWN ) : platform.newTextLine( new Fields( "line" ) );
+    TupleEntryIterator iterator = platform.newTupleEntryIterator( platform.newTap( scheme, path ) );
+
+    try
+      {
+      while( iterator.hasNext() )
+        {
+        Tuple tuple = iterator.next().getTupleCopy();
+
+        if( options.isBinaryFormat() )
+          tuples.add( tuple );
+        else
+          tuples.add( new Tuple( (Object[]) tuple.getString( 0 ).split( "\t" ) ) );
+        }
+      }
+    finally
+      {
+      iterator.close();
+      }
+
+    return tuples;
+    }
+
+  /**
+   * Called with the stats of the Flow of this load after it completed successfully, to print any results particular
+   * to this load with the text stats.
+   */
+  public void printSummary( PrintWriter writer, FlowStats flowStats ) throws IOException
+    {
+    }
+
   public abstract String[] getInputPaths();
 
   public abstract String[] getOutputPaths();
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import cascading.load.Options;
+
+/**
+ * Class LoadCatalog finds every available {@link Load} by reading the class names listed in all
+ * {@code META-INF/services/cascading.load.common.Load} resources on the CLASSPATH, in the manner of
+ * {@link java.util.ServiceLoader}. Loads are described by their {@link LoadDefinition} annotation, and are
+ * constructed reflectively through their (Options, Properties) constructor.
+ * <p/>
+ * So loads may be added by any jar on the CLASSPATH that lists them in the same resource, without changes to Main.
+ * The catalog keeps the order the loads are listed in.
+ */
+public class LoadCatalog
+  {
+  public static final String LOAD_SERVICES_FILE_NAME = "META-INF/services/" + Load.class.getName();
+
+  private final Map<String, Class<? extends Load>> loads = new LinkedHashMap<String, Class<? extends Load>>();
+
+  public LoadCatalog()
+    {
+    this( LoadCatalog.class.getClassLoader() );
+    }
+
+  public LoadCatalog( ClassLoader classLoader )
+    {
+    Enumeration<URL> urls;
+
+    try
+      {
+      urls = classLoader.getResources( LOAD_SERVICES_FILE_NAME );
+      }
+    catch( IOException exception )
+      {
+      throw new IllegalStateException( "unable to load resources: " + LOAD_SERVICES_FILE_NAME, exception );
+      }
+
+    while( urls.hasMoreElements() )
+      {
+      for( String className : readClassNames( urls.nextElement() ) )
+        addLoad( classLoader, className );
+      }
+    }
+
+  private static List<String> readClassNames( URL url )
+    {
+    List<String> classNames = new ArrayList<String>();
+
+    try
+      {
+      BufferedReader reader = new BufferedReader( new InputStreamReader( url.openStream(), "UTF-8" ) );
+
+      try
+        {
+        String line;
+
+        while( ( line = reader.readLine() ) != null )
+          {
+          int comment = line.indexOf( '#' );
+
+          if( comment != -1 )
+            line = line.substring( 0, comment );
+
+          line = line.trim();
+
+          if( !line.isEmpty() )
+            classNames.add( line );
+          }
+        }
+      finally
+        {
+        reader.close();
+        }
+      }
+    catch( IOException exception )
+      {
+      throw new IllegalStateException( "unable to read: " + url, exception );
+      }
+
+    return classNames;
+    }
+
+  private void addLoad( ClassLoader classLoader, String className )
+    {
+    Class<? extends Load> type;
+
+    try
+      {
+      type = Class.forName( className, false, classLoader ).asSubclass( Load.class );
+      }
+    catch( ClassNotFoundException exception )
+      {
+      throw new IllegalStateException( "unable to load class: " + className, exception );
+      }
+    catch( ClassCastException exception )
+      {
+      throw new IllegalStateException( "not a Load: " + className, exception );
+      }
+
+    LoadDefinition definition = type.getAnnotation( LoadDefinition.class );
+
+    if( definition == null )
+      throw new IllegalStateException( "load is missing a @LoadDefinition: " + className );
+
+    Class<? extends Load> existing = loads.get( definition.name() );
+
+    if( existing != null && existing != type )
+      throw new IllegalStateException( "duplicate load name: " + definition.name() + ", in: " + existing.getName() + " and " + className );
+
+    loads.put( definition.name(), type );
+    }
+
+  public Collection<String> getNames()
+    {
+    return loads.keySet();
+    }
+
+  public LoadDefinition getDefinition( String name )
+    {
+    Class<? extends Load> type = loads.get( name );
+
+    return type == null ? null : type.getAnnotation( LoadDefinition.class );
+    }
+
+  /**
+   * Returns the names of the loads selected by the given options, in catalog order. A load is selected if -ALL is
+   * given and the load runs with all loads, if its selector returns true, or its name matches one of the names or globs
+   * given with --load. Any loads required by a selected load are selected with it.
+   *
+   * @throws IllegalArgumentException if a name or glob does not match any load
+   */
+  public List<String> select( Options options )
+    {
+    Set<String> selected = new LinkedHashSet<String>();
+
+    for( String name : loads.keySet() )
+      {
+      if( isSelected( options, getDefinition( name ) ) )
+        selected.add( name );
+      }
+
+    for( String glob : options.getLoadNames() )
+      {
+      Pattern pattern = toPattern( glob );
+      boolean matched = false;
+
+      for( String name : loads.keySet() )
+        {
+        if( pattern.matcher( name ).matches() )
+          {
+          selected.add( name );
+          matched = true;
+          }
+        }
+
+      if( !matched )
+        throw new IllegalArgumentException( "no load matches: " + glob + ", available loads are: " + loads.keySet() );
+      }
+
+    List<String> pending = new ArrayList<String>( selected );
+
+    while( !pending.isEmpty() )
+      {
+      for( String required : getDefinition( pending.remove( 0 ) ).requires() )
+        {
+        if( !loads.containsKey( required ) )
+          throw new IllegalStateException( "required load not found: " + required );
+
+        if( selected.add( required ) )
+          pending.add( required );
+        }
+      }
+
+    List<String> ordered = new ArrayList<String>();
+
+    for( String name : loads.keySet() )
+      {
+      if( selected.contains( name ) )
+        ordered.add( name );
+      }
+
+    return ordered;
+    }
+
+  private static boolean isSelected( Options options, LoadDefinition definition )
+    {
+    if( options.isRunAllLoads() && definition.runAll() )
+      return true;
+
+    if( definition.selector().isEmpty() )
+      return false;
+
+    try
+      {
+      return (Boolean) Options.class.getMethod( definition.selector() ).invoke( options );
+      }
+    catch( NoSuchMethodException exception )
+      {
+      throw new IllegalStateException( "no such selector on Options: " + definition.selector(), exception );
+      }
+    catch( IllegalAccessException exception )
+      {
+      throw new IllegalStateException( "unable to call selector: " + definition.selector(), exception );
+      }
+    catch( InvocationTargetException exception )
+      {
+      throw new IllegalStateException( "unable to call selector: " + definition.selector(), exception.getCause() );
+      }
+    }
+
+  /** Returns a pattern for the given glob, where * matches any characters and ? any one character. */
+  static Pattern toPattern( String glob )
+    {
+    StringBuilder regex = new StringBuilder();
+
+    for( String part : glob.split( "((?<=[*?])|(?=[*?]))" ) )
+      {
+      if( part.equals( "*" ) )
+        regex.append( ".*" );
+      else if( part.equals( "?" ) )
+        regex.append( "." );
+      else if( !part.isEmpty() )
+        regex.append( Pattern.quote( part ) );
+      }
+
+    return Pattern.compile( regex.toString() );
+    }
+
+  /** Returns a new instance of the named load. */
+  public Load newLoad( String name, Options options, Properties properties )
+    {
+    Class<? extends Load> type = loads.get( name );
+
+    if( type == null )
+      throw new IllegalArgumentException( "no such load: " + name );
+
+    try
+      {
+      return type.getConstructor( Options.class, Properties.class ).newInstance( options, properties );
+      }
+    catch( NoSuchMethodException exception )
+      {
+      throw new IllegalStateException( "load must have a (Options, Properties) constructor: " + type.getName(), exception );
+      }
+    catch( InstantiationException exception )
+      {
+      throw new IllegalStateException( "unable to create load: " + type.getName(), exception );
+      }
+    catch( IllegalAccessException exception )
+      {
+      throw new IllegalStateException( "unable to create load: " + type.getName(), exception );
+      }
+    catch( InvocationTargetException exception )
+      {
+      throw new IllegalStateException( "unable to create load: " + type.getName(), exception.getCause() );
+      }
+    }
+
+  public void printCatalog( PrintStream stream )
+    {
+    stream.printf( "%-28s %-14s %-28s %s%n", "name", "category", "requires", "class" );
+
+    for( Map.Entry<String, Class<? extends Load>> entry : loads.entrySet() )
+      {
+      LoadDefinition definition = entry.getValue().getAnnotation( LoadDefinition.class );
+      StringBuilder requires = new StringBuilder();
+
+      for( String required : definition.requires() )
+        requires.append( requires.length() == 0 ? "" : "," ).append( required );
+
+      stream.printf( "%-28s %-14s %-28s %s%n", entry.getKey(), definition.category(), requires, entry.getValue().getName() );
+      }
+    }
+  }
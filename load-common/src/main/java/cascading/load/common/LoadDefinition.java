@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.common;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation LoadDefinition describes a {@link Load} to the {@link LoadCatalog}. Every Load listed in a
+ * {@code META-INF/services/cascading.load.common.Load} resource must carry one.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface LoadDefinition
+  {
+  /** Unique name of the load, used to select it with --load. */
+  String name();
+
+  /** Category of the load, for listing. */
+  String category();
+
+  /** Names of the loads that must run with this load, they are selected with it. */
+  String[] requires() default {};
+
+  /** Name of a no-arg boolean method on {@link cascading.load.Options} that selects this load, if any. */
+  String selector() default "";
+
+  /** Whether -ALL selects this load, false for loads that are intended to fail. */
+  boolean runAll() default true;
+
+  /** Name of the load this load is a variant of, the two are reported side by side when both run. */
+  String variantOf() default "";
+  }
@@ -17,8 +17,10 @@ import cascading.tap.Tap;
 import cascading.tuple.Fields;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 
 /** Class ConsumeData loads a test corpus of random words. */
+@LoadDefinition(name = "consume", category = "data", selector = "isDataConsume")
 public class ConsumeData extends Load
   {
   public ConsumeData( Options options, Properties properties )
@@ -29,8 +31,8 @@ public class ConsumeData extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap sink = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     Pipe pipe = new Pipe( "load-consumer" );
 
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2007-2011 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.countsort;
+
+import java.util.Collections;
+import java.util.Properties;
+
+import cascading.flow.Flow;
+import cascading.operation.regex.RegexSplitGenerator;
+import cascading.pipe.Each;
+import cascading.pipe.GroupBy;
+import cascading.pipe.Pipe;
+import cascading.pipe.assembly.CountBy;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.load.Options;
+import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
+
+
+/**
+ * Class CountBySort is the {@link CountSort} load with the word count done by {@link CountBy}, which partially counts
+ * the words in memory before the shuffle, so only one tuple per word and task is shuffled instead of one per word.
+ * <p/>
+ * The number of words counted in memory per task is set by --aggregate-by-capacity.
+ */
+@LoadDefinition(name = "count-by-sort", category = "sort", selector = "isCountBySort", variantOf = "count-sort")
+public class CountBySort extends Load
+  {
+  public CountBySort( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  public Flow createFlow() throws Exception
+    {
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "count-by-sort" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexSplitGenerator( new Fields( "word" ), "\\s" ) );
+
+    pipe = new CountBy( pipe, new Fields( "word" ), new Fields( "count" ), options.getAggregateByCapacity() );
+
+    Fields groupFields = new Fields( "count" );
+
+    groupFields.setComparator( "count", Collections.reverseOrder() );
+
+    pipe = new GroupBy( pipe, groupFields, new Fields( "word" ) );
+
+    return platform.newFlowConnector( properties ).connect( "count-by-sort", source, sink, pipe );
+    }
+
+  @Override
+  public String[] getInputPaths()
+    {
+    return new String[]{options.getInputRoot()};
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{options.getOutputRoot() + "countbysort"};
+    }
+  }
@@ -21,9 +21,11 @@ import cascading.tap.Tap;
 import cascading.tuple.Fields;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 
 
 /** Class CountSort does a simple word count and then sorts the counts in decreasing order. */
+@LoadDefinition(name = "count-sort", category = "sort", selector = "isCountSort")
 public class CountSort extends Load
   {
   public CountSort( Options options, Properties properties )
@@ -34,8 +36,8 @@ public class CountSort extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap sink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     Pipe pipe = new Pipe( "count-sort" );
 
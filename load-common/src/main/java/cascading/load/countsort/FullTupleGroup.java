@@ -19,11 +19,13 @@ import cascading.tap.Tap;
 import cascading.tuple.Fields;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 
 
 /**
  * Class FullTupleGroup does a grouping on the entire tuple.
  */
+@LoadDefinition(name = "full-group", category = "sort", selector = "isFullTupleGroup")
 public class FullTupleGroup extends Load
   {
   public FullTupleGroup( Options options, Properties properties )
@@ -34,8 +36,8 @@ public class FullTupleGroup extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap sink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     Pipe pipe = new Pipe( "full-tuple-group" );
 
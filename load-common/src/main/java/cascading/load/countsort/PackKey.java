@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.countsort;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.OperationCall;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+
+/**
+ * Class PackKey declares the {@link PackedKey} of its argument. The result tuple is reused for every call.
+ */
+public class PackKey extends BaseOperation<Tuple> implements Function<Tuple>
+  {
+  public PackKey( Fields fieldDeclaration )
+    {
+    super( 1, fieldDeclaration );
+    }
+
+  @Override
+  public void prepare( FlowProcess flowProcess, OperationCall<Tuple> operationCall )
+    {
+    operationCall.setContext( Tuple.size( 1 ) );
+    }
+
+  @Override
+  public void operate( FlowProcess flowProcess, FunctionCall<Tuple> functionCall )
+    {
+    Tuple result = functionCall.getContext();
+
+    result.set( 0, PackedKey.valueOf( functionCall.getArguments().getString( 0 ) ) );
+
+    functionCall.getOutputCollector().add( result );
+    }
+  }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.countsort;
+
+import java.io.Serializable;
+
+/**
+ * Class PackedKey is a grouping key packed into a single long, a 64 bit hash of a word.
+ * <p/>
+ * Being a custom type, it is written by a serialization the platform registers, see
+ * {@link cascading.load.platform.CascadingLoadPlatform#addKeySerialization(java.util.Properties)}, and is compared
+ * either after deserialization, in its natural order, or as raw bytes, see
+ * {@link cascading.load.platform.CascadingLoadPlatform#newRawKeyComparator()}.
+ */
+public class PackedKey implements Comparable<PackedKey>, Serializable
+  {
+  private final long value;
+
+  /** Returns the key of the given word, its 64 bit FNV-1a hash. */
+  public static PackedKey valueOf( String word )
+    {
+    long hash = 0xcbf29ce484222325L;
+
+    for( int i = 0; i < word.length(); i++ )
+      {
+      hash ^= word.charAt( i );
+      hash *= 0x100000001b3L;
+      }
+
+    return new PackedKey( hash );
+    }
+
+  public PackedKey( long value )
+    {
+    this.value = value;
+    }
+
+  public long getValue()
+    {
+    return value;
+    }
+
+  @Override
+  public int compareTo( PackedKey packedKey )
+    {
+    return value < packedKey.value ? -1 : ( value == packedKey.value ? 0 : 1 );
+    }
+
+  @Override
+  public boolean equals( Object object )
+    {
+    if( this == object )
+      return true;
+    if( !( object instanceof PackedKey ) )
+      return false;
+
+    return value == ( (PackedKey) object ).value;
+    }
+
+  @Override
+  public int hashCode()
+    {
+    return (int) ( value ^ ( value >>> 32 ) );
+    }
+
+  @Override
+  public String toString()
+    {
+    return Long.toHexString( value );
+    }
+  }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.countsort;
+
+import java.util.Properties;
+
+import cascading.flow.Flow;
+import cascading.load.Options;
+import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
+import cascading.operation.aggregator.Count;
+import cascading.operation.regex.RegexSplitGenerator;
+import cascading.pipe.Each;
+import cascading.pipe.Every;
+import cascading.pipe.GroupBy;
+import cascading.pipe.Pipe;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+
+/**
+ * Class PackedKeySort counts the words grouped on their {@link PackedKey}, a custom key type the shuffle compares
+ * after deserializing it.
+ * <p/>
+ * {@link RawKeySort} runs the same grouping, comparing the serialized keys as raw bytes.
+ */
+@LoadDefinition(name = "packed-key-sort", category = "sort", selector = "isPackedKeySort")
+public class PackedKeySort extends Load
+  {
+  public PackedKeySort( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  public Flow createFlow() throws Exception
+    {
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( getName() );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexSplitGenerator( new Fields( "word" ), "\\s" ) );
+
+    pipe = new Each( pipe, new Fields( "word" ), new PackKey( new Fields( "key" ) ), Fields.RESULTS );
+
+    pipe = new GroupBy( pipe, newGroupFields() );
+
+    pipe = new Every( pipe, new Count( new Fields( "count" ) ) );
+
+    // the load properties hold the platform properties as defaults, which putAll would not copy
+    Properties properties = new Properties( this.properties );
+
+    platform.addKeySerialization( properties );
+
+    return platform.newFlowConnector( properties ).connect( getName(), source, sink, pipe );
+    }
+
+  protected String getName()
+    {
+    return "packed-key-sort";
+    }
+
+  protected Fields newGroupFields()
+    {
+    return new Fields( "key" );
+    }
+
+  @Override
+  public String[] getInputPaths()
+    {
+    return new String[]{options.getInputRoot()};
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{options.getOutputRoot() + "packedkeysort"};
+    }
+  }
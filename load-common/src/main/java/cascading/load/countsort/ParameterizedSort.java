@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.countsort;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Properties;
+
+import cascading.flow.Flow;
+import cascading.load.Options;
+import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
+import cascading.operation.regex.RegexSplitGenerator;
+import cascading.pipe.Each;
+import cascading.pipe.GroupBy;
+import cascading.pipe.Pipe;
+import cascading.stats.FlowStats;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+
+/**
+ * Class ParameterizedSort groups every word on the first of --sort-fields sort fields, and sorts each group on the
+ * others. The sort fields are derived from the word by {@link SortFields}, with the type and the cardinality per field
+ * given by the options, and are compared in their natural order, with a {@link SortComparator}, or in reverse order.
+ * <p/>
+ * Unlike {@link StaggeredSort} and {@link FullTupleGroup}, the secondary sort fields differ from tuple to tuple, so
+ * every field takes part in the comparisons.
+ */
+@LoadDefinition(name = "parameterized-sort", category = "sort", selector = "isParameterizedSort")
+public class ParameterizedSort extends Load
+  {
+  public ParameterizedSort( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  public Flow createFlow() throws Exception
+    {
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+
+    int numFields = options.getSortFields();
+    String[] names = new String[ numFields ];
+
+    for( int i = 0; i < numFields; i++ )
+      names[ i ] = "s" + i;
+
+    Pipe pipe = new Pipe( "parameterized-sort" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexSplitGenerator( new Fields( "word" ), "\\s" ) );
+
+    pipe = new Each( pipe, new Fields( "word" ), new SortFields( new Fields( names ), options.getSortType(), options.getSortCardinalities() ), Fields.ALL );
+
+    Fields groupFields = new Fields( names[ 0 ] );
+    Fields sortFields = numFields == 1 ? null : new Fields( Arrays.copyOfRange( names, 1, numFields ) );
+
+    if( Options.COMPARATOR_CUSTOM.equals( options.getSortComparator() ) )
+      {
+      groupFields.setComparator( names[ 0 ], new SortComparator() );
+
+      for( int i = 1; i < numFields; i++ )
+        sortFields.setComparator( names[ i ], new SortComparator() );
+      }
+
+    boolean reverseOrder = Options.COMPARATOR_REVERSE.equals( options.getSortComparator() );
+
+    if( sortFields == null )
+      pipe = new GroupBy( pipe, groupFields, reverseOrder );
+    else
+      pipe = new GroupBy( pipe, groupFields, sortFields, reverseOrder );
+
+    return platform.newFlowConnector( properties ).connect( "parameterized-sort", source, sink, pipe );
+    }
+
+  /**
+   * Prints the sort options and the number of tuples sorted, with an estimate of the n log2 n comparisons it took. The
+   * duration of the Flow is dominated by reading, splitting, and writing, so the cost of one comparison is measured by
+   * SortComparatorBenchmark in load-jmh instead.
+   */
+  @Override
+  public void printSummary( PrintWriter writer, FlowStats flowStats ) throws IOException
+    {
+    long tuples = flowStats.getCounterValue( SortFields.Sort.Tuples );
+    double comparisons = tuples < 2 ? 1 : tuples * ( Math.log( tuples ) / Math.log( 2 ) );
+
+    writer.printf( "Sort: %s%n", flowStats.getName() );
+    writer.printf( "  fields: %d %s, comparator: %s, cardinality: %s%n", options.getSortFields(), options.getSortType(),
+      options.getSortComparator(), Arrays.toString( options.getSortCardinalities() ) );
+    writer.printf( "  tuples: %d, estimated comparisons: %.0f%n", tuples, comparisons );
+    writer.flush();
+    }
+
+  @Override
+  public String[] getInputPaths()
+    {
+    return new String[]{options.getInputRoot()};
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{options.getOutputRoot() + "parameterizedsort"};
+    }
+  }
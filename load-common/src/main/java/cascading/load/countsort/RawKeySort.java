@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.countsort;
+
+import java.util.Comparator;
+import java.util.Properties;
+
+import cascading.load.Options;
+import cascading.load.common.LoadDefinition;
+import cascading.tuple.Fields;
+
+/**
+ * Class RawKeySort is the {@link PackedKeySort} load with the keys compared as raw bytes, by the comparator of the
+ * platform, without deserializing them. Platforms without a raw comparator, like local, compare the keys in their
+ * natural order, as {@link PackedKeySort} does.
+ */
+@LoadDefinition(name = "raw-key-sort", category = "sort", selector = "isRawKeySort", variantOf = "packed-key-sort")
+public class RawKeySort extends PackedKeySort
+  {
+  public RawKeySort( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  protected String getName()
+    {
+    return "raw-key-sort";
+    }
+
+  @Override
+  protected Fields newGroupFields()
+    {
+    Fields groupFields = super.newGroupFields();
+    Comparator comparator = platform.newRawKeyComparator();
+
+    if( comparator != null )
+      groupFields.setComparator( "key", comparator );
+
+    return groupFields;
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{options.getOutputRoot() + "rawkeysort"};
+    }
+  }
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.countsort;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Class SortComparator orders values in their natural order, but as a custom {@link Comparator} set on the sort
+ * fields, so the cost of a custom comparator can be compared with the natural ordering of the same values.
+ */
+public class SortComparator implements Comparator<Comparable>, Serializable
+  {
+  @Override
+  @SuppressWarnings("unchecked")
+  public int compare( Comparable lhs, Comparable rhs )
+    {
+    if( lhs == rhs )
+      return 0;
+
+    if( lhs == null )
+      return -1;
+
+    if( rhs == null )
+      return 1;
+
+    return lhs.compareTo( rhs );
+    }
+  }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.countsort;
+
+import cascading.flow.FlowProcess;
+import cascading.load.Options;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.OperationCall;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+
+/**
+ * Class SortFields derives one sort field per declared field from the hash of its argument, so equal arguments
+ * always have equal sort fields. Field i takes one of cardinality[ i ] values, as a long, as a string sharing a long
+ * prefix, or as a composite tuple of both, see {@link Options#SORT_TYPES}.
+ * <p/>
+ * Every declared tuple is counted in {@link Sort#Tuples}.
+ */
+public class SortFields extends BaseOperation<Tuple> implements Function<Tuple>
+  {
+  public enum Sort
+    {
+    Tuples
+    }
+
+  private final String sortType;
+  private final int[] cardinalities;
+
+  public SortFields( Fields fieldDeclaration, String sortType, int[] cardinalities )
+    {
+    super( 1, fieldDeclaration );
+    this.sortType = sortType;
+    this.cardinalities = cardinalities;
+
+    if( fieldDeclaration.size() != cardinalities.length )
+      throw new IllegalArgumentException( "requires one cardinality per declared field" );
+    }
+
+  @Override
+  public void prepare( FlowProcess flowProcess, OperationCall<Tuple> operationCall )
+    {
+    operationCall.setContext( Tuple.size( cardinalities.length ) );
+    }
+
+  @Override
+  public void operate( FlowProcess flowProcess, FunctionCall<Tuple> functionCall )
+    {
+    Tuple result = functionCall.getContext();
+    int hash = functionCall.getArguments().getString( 0 ).hashCode();
+
+    for( int i = 0; i < cardinalities.length; i++ )
+      result.set( i, value( ( mix( hash + i ) & Integer.MAX_VALUE ) % cardinalities[ i ] ) );
+
+    functionCall.getOutputCollector().add( result );
+
+    flowProcess.increment( Sort.Tuples, 1 );
+    }
+
+  private Object value( long value )
+    {
+    if( Options.SORT_STRING.equals( sortType ) )
+      return "sort_field_value_" + value;
+
+    if( Options.SORT_COMPOSITE.equals( sortType ) )
+      return new Tuple( value, "sort_field_value_" + value );
+
+    return value;
+    }
+
+  /** Scrambles the bits of the given hash, so the fields of one argument are independent. */
+  private static int mix( int hash )
+    {
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    hash ^= hash >>> 16;
+
+    return hash;
+    }
+  }
@@ -19,11 +19,13 @@ import cascading.tap.Tap;
 import cascading.tuple.Fields;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 
 
 /**
  * Class StaggeredSort does a sort on multiple fields, staggered across the tuple.
  */
+@LoadDefinition(name = "staggered-sort", category = "sort", selector = "isStaggeredSort")
 public class StaggeredSort extends Load
   {
   public StaggeredSort( Options options, Properties properties )
@@ -34,8 +36,8 @@ public class StaggeredSort extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap sink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     Pipe pipe = new Pipe( "staggered-sort" );
 
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+import java.util.Random;
+
+/**
+ * Class AliasTable samples from an arbitrary discrete distribution in O(1) time using Vose's alias method.
+ * <p/>
+ * Building the table is O(n), after which every sample costs one uniform int and one uniform double.
+ */
+class AliasTable
+  {
+  private final double[] probability;
+  private final int[] alias;
+
+  AliasTable( double[] weights )
+    {
+    int size = weights.length;
+
+    if( size == 0 )
+      throw new IllegalArgumentException( "weights may not be empty" );
+
+    double total = 0;
+
+    for( double weight : weights )
+      total += weight;
+
+    probability = new double[ size ];
+    alias = new int[ size ];
+
+    // scale so the average weight is 1, then pair every small column with a large one
+    double[] scaled = new double[ size ];
+    int[] small = new int[ size ];
+    int[] large = new int[ size ];
+    int numSmall = 0;
+    int numLarge = 0;
+
+    for( int i = 0; i < size; i++ )
+      {
+      scaled[ i ] = weights[ i ] * size / total;
+
+      if( scaled[ i ] < 1.0 )
+        small[ numSmall++ ] = i;
+      else
+        large[ numLarge++ ] = i;
+      }
+
+    while( numSmall != 0 && numLarge != 0 )
+      {
+      int less = small[ --numSmall ];
+      int more = large[ --numLarge ];
+
+      probability[ less ] = scaled[ less ];
+      alias[ less ] = more;
+
+      scaled[ more ] = scaled[ more ] + scaled[ less ] - 1.0;
+
+      if( scaled[ more ] < 1.0 )
+        small[ numSmall++ ] = more;
+      else
+        large[ numLarge++ ] = more;
+      }
+
+    // whatever remains is 1 within rounding error
+    while( numLarge != 0 )
+      probability[ large[ --numLarge ] ] = 1.0;
+
+    while( numSmall != 0 )
+      probability[ small[ --numSmall ] ] = 1.0;
+    }
+
+  int size()
+    {
+    return probability.length;
+    }
+
+  int next( Random random )
+    {
+    int column = random.nextInt( probability.length );
+
+    return random.nextDouble() < probability[ column ] ? column : alias[ column ];
+    }
+  }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+import cascading.tuple.Tuple;
+
+/** Class DictionaryVocabulary is a {@link Vocabulary} backed by the words of a dictionary tuple. */
+class DictionaryVocabulary implements Vocabulary
+  {
+  private final String[] words;
+  private final int[] wordBytes;
+
+  DictionaryVocabulary( Tuple dictionary )
+    {
+    // resolve every word and its encoded size once, so building a line never re-encodes it
+    words = new String[ dictionary.size() ];
+    wordBytes = new int[ dictionary.size() ];
+
+    for( int i = 0; i < words.length; i++ )
+      {
+      words[ i ] = dictionary.getString( i );
+      wordBytes[ i ] = TupleGenerator.utf8Length( words[ i ] );
+      }
+    }
+
+  @Override
+  public int size()
+    {
+    return words.length;
+    }
+
+  @Override
+  public int appendWord( int index, StringBuilder builder )
+    {
+    builder.append( words[ index ] );
+
+    return wordBytes[ index ];
+    }
+  }
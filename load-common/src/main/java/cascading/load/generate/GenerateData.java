@@ -21,9 +21,11 @@ import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 import cascading.load.util.Util;
 
 /** Class GenerateData creates a test corpus of random words. */
+@LoadDefinition(name = "generate", category = "data", selector = "isDataGenerate")
 public class GenerateData extends Load
   {
   private String dictionaryPath;
@@ -39,7 +41,7 @@ public class GenerateData extends Load
     dictionaryPath = writeDictionaryTuples();
 
     Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), dictionaryPath );
-    Tap sink = platform.newTap( platform.newTextLine( new Fields( "line" ) ), options.getInputRoot(), SinkMode.REPLACE );
+    Tap sink = platform.newTap( newSinkScheme(), options.getInputRoot(), SinkMode.REPLACE );
 
     Pipe pipe = new Pipe( "load-generator" );
 
@@ -68,6 +70,16 @@ public class GenerateData extends Load
 
   private String writeDictionaryTuples() throws IOException
     {
+    String workingPath = options.getWorkingRoot() + "dictionary/";
+
+    // the synthetic vocabulary is derived from the options by the generator, so each file only needs a placeholder
+    if( options.useSyntheticVocabulary() )
+      {
+      platform.writeDictionaryData( new Tuple( "synthetic" ), workingPath, options.getDataNumFiles() );
+
+      return workingPath;
+      }
+
     List<String> dictionary = new ArrayList<String>();
     Util.populateCollection( GenerateData.class, "dictionary.txt", dictionary );
 
@@ -75,8 +87,6 @@ public class GenerateData extends Load
 
     output.addAll( (Object[]) dictionary.toArray( new String[ dictionary.size() ] ) );
 
-    String workingPath = options.getWorkingRoot() + "dictionary/";
-
     platform.writeDictionaryData( output, workingPath, options.getDataNumFiles() );
 
     return workingPath;
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+import java.util.Random;
+
+/**
+ * Class HotKeyIntDistribution sends a fixed fraction of all picks to a small set of hot values, 0 through
+ * hotKeys-1, and spreads the remainder uniformly over all other values.
+ */
+class HotKeyIntDistribution extends IntDistribution
+  {
+  private final int hotKeys;
+  private final double hotFraction;
+
+  HotKeyIntDistribution( int max, Random random, int hotKeys, double hotFraction )
+    {
+    super( max, random );
+
+    if( hotKeys < 1 )
+      throw new IllegalArgumentException( "hot keys must be at least 1, got: " + hotKeys );
+
+    if( hotFraction < 0 || hotFraction > 1 )
+      throw new IllegalArgumentException( "hot fraction must be in [0,1], got: " + hotFraction );
+
+    this.hotKeys = Math.min( hotKeys, max );
+    this.hotFraction = hotFraction;
+    }
+
+  @Override
+  int next()
+    {
+    if( this.hotKeys == max || random.nextDouble() < hotFraction )
+      return random.nextInt( hotKeys );
+
+    return hotKeys + random.nextInt( max - hotKeys );
+    }
+  }
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+import java.util.Random;
+
+/**
+ * Class IntDistribution is the base class for the distributions used to pick dictionary words.
+ * <p/>
+ * Implementations do any expensive setup in their constructor, so that {@link #next()} is O(1).
+ */
+abstract class IntDistribution
+  {
+  protected final Random random;
+  protected final int max;
+
+  IntDistribution( int max, Random random )
+    {
+    if( max < 1 )
+      throw new IllegalArgumentException( "max must be at least 1, got: " + max );
+
+    this.max = max;
+    this.random = random;
+    }
+
+  /** Next integer in 0..max-1 from the distribution. */
+  abstract int next();
+  }
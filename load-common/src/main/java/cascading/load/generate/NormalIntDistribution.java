@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+import java.util.Random;
+
+import cascading.load.Options;
+
+/**
+ * Class NormalIntDistribution picks values from a normal distribution centered in the range.
+ * <p/>
+ * The mean modifier is in [-1,1] and shifts the center across the range, the stddev modifier is in (0,1) and is
+ * relative to half the range. A modifier of -1 selects the default.
+ */
+class NormalIntDistribution extends IntDistribution
+  {
+  protected final float mean;
+  protected final float stddev;
+  protected final int last;
+
+  NormalIntDistribution( int max, Random random, float meanModifier, float stddevModifier )
+    {
+    super( max, random );
+
+    int halfMax = this.max / 2;
+
+    this.mean = ( meanModifier == -1 ? halfMax : meanModifier * halfMax + halfMax ) - 1;
+    this.stddev = stddevModifier == -1 ? Options.DEF_DATA_STDDEV * halfMax : stddevModifier * halfMax;
+    this.last = this.max - 1;
+    }
+
+  @Override
+  int next()
+    {
+    // Using a "clamp", "rejection", or "modulo" method results in a similar distribution,
+    // at least for a large (100k) sample size.
+    int res = (int) Math.round( mean + stddev * random.nextGaussian() );
+
+    if( res < 0 )
+      res = 0;
+    else if( res > last )
+      res = last;
+
+    return res;
+    }
+  }
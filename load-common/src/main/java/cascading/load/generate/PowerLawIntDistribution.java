@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+import java.util.Random;
+
+/**
+ * Class PowerLawIntDistribution picks values from a bounded continuous power law, where the density of rank x is
+ * proportional to x^-exponent, and value 0 is the most frequent.
+ * <p/>
+ * Sampling inverts the closed form CDF, so it needs no table and is O(1) for any range, including the synthetic
+ * vocabularies with many millions of keys.
+ */
+class PowerLawIntDistribution extends IntDistribution
+  {
+  private final double exponent;
+
+  PowerLawIntDistribution( int max, Random random, double exponent )
+    {
+    super( max, random );
+
+    if( exponent <= 0 )
+      throw new IllegalArgumentException( "exponent must be positive, got: " + exponent );
+
+    this.exponent = exponent;
+    }
+
+  @Override
+  int next()
+    {
+    double rank = inverseCDF( exponent, 1.0, max + 1.0, random.nextDouble() );
+
+    return Math.min( (int) rank - 1, max - 1 );
+    }
+
+  /** Returns the value x in [lower, upper) where the CDF of the density x^-exponent over [lower, upper) equals u. */
+  static double inverseCDF( double exponent, double lower, double upper, double u )
+    {
+    if( exponent == 1.0 )
+      return lower * Math.exp( u * Math.log( upper / lower ) );
+
+    double power = 1.0 - exponent;
+    double lowerTerm = Math.pow( lower, power );
+
+    return Math.pow( lowerTerm + u * ( Math.pow( upper, power ) - lowerTerm ), 1.0 / power );
+    }
+
+  /** Returns the integral of x^-exponent over [lower, upper]. */
+  static double integral( double exponent, double lower, double upper )
+    {
+    if( exponent == 1.0 )
+      return Math.log( upper / lower );
+
+    double power = 1.0 - exponent;
+
+    return ( Math.pow( upper, power ) - Math.pow( lower, power ) ) / power;
+    }
+  }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+/**
+ * Class SyntheticVocabulary is a {@link Vocabulary} of any size whose words are derived from their index on the fly,
+ * so nothing is materialized regardless of the cardinality.
+ * <p/>
+ * Every word starts with its index written in base 26 with a fixed width, which keeps words unique, and is padded
+ * with pseudo random letters derived from the index up to a length between the min and max key length, which is
+ * also derived from the index. So a word is always the same, across tasks and runs. Words are lower case ASCII.
+ */
+class SyntheticVocabulary implements Vocabulary
+  {
+  private final int size;
+  private final int prefixLength;
+  private final int minLength;
+  private final int lengthRange;
+
+  SyntheticVocabulary( int size, int minLength, int maxLength )
+    {
+    if( size < 1 )
+      throw new IllegalArgumentException( "vocabulary size must be at least 1, got: " + size );
+
+    if( maxLength < minLength )
+      throw new IllegalArgumentException( "max key length must not be less than min key length" );
+
+    this.size = size;
+    this.prefixLength = prefixLength( size );
+    this.minLength = Math.max( minLength, prefixLength );
+    this.lengthRange = Math.max( maxLength, this.minLength ) - this.minLength + 1;
+    }
+
+  /** Returns the number of base 26 digits needed to write every index below the given size. */
+  static int prefixLength( int size )
+    {
+    int length = 1;
+
+    for( long bound = 26; bound < size; bound *= 26 )
+      length++;
+
+    return length;
+    }
+
+  @Override
+  public int size()
+    {
+    return size;
+    }
+
+  @Override
+  public int appendWord( int index, StringBuilder builder )
+    {
+    long hash = XoroshiroRandom.mix64( index );
+    int length = minLength + (int) ( ( hash >>> 1 ) % lengthRange );
+
+    int start = builder.length();
+
+    builder.setLength( start + prefixLength );
+
+    for( int i = start + prefixLength - 1, value = index; i >= start; i--, value /= 26 )
+      builder.setCharAt( i, (char) ( 'a' + value % 26 ) );
+
+    for( int i = prefixLength; i < length; i++ )
+      {
+      hash = XoroshiroRandom.mix64( hash );
+      builder.append( (char) ( 'a' + ( hash >>> 1 ) % 26 ) );
+      }
+
+    return length;
+    }
+  }
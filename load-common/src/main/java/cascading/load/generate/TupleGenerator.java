@@ -12,14 +12,16 @@ import cascading.flow.FlowProcess;
 import cascading.operation.BaseOperation;
 import cascading.operation.Function;
 import cascading.operation.FunctionCall;
+import cascading.operation.OperationCall;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntryCollector;
 import cascading.load.Options;
 
 /**
  *
  */
-class TupleGenerator extends BaseOperation implements Function
+class TupleGenerator extends BaseOperation<Random> implements Function<Random>
   {
   float dataFileSizeMB = 100;
   int dataMaxWords = 10;
@@ -27,74 +29,29 @@ class TupleGenerator extends BaseOperation implements Function
   String dataWordDelimiter = " "; // space
   float dataMeanWords = -1;
   float dataStddevWords = -1;
-
-  //TODO should be toplevel classes; use distribution lib?
-
-  private abstract class IntDist
-    {
-    protected Random random;
-    protected int max;
-
-    IntDist( int max )
-      {
-      this.max = max;
-      this.random = new Random( System.currentTimeMillis() );
-      }
-
-    /*
-     * Next integer in 0..max from distribution.
-     */
-    abstract int next();
-    }
-
-  private class UniIntDist extends IntDist
-    {
-    UniIntDist( int max )
-      {
-      super( max );
-      }
-
-    int next()
-      {
-      return random.nextInt( max );
-      }
-    }
-
-  private class NormIntDist extends IntDist
-    {
-    protected float mean;
-    protected float stddev;
-    protected int last;
-
-    NormIntDist( int max )
-      {
-      super( max );
-      int halfMax = this.max / 2;
-      mean = ( dataMeanWords == -1 ? halfMax : dataMeanWords * halfMax + halfMax ) - 1;
-      stddev = dataStddevWords == -1 ? Options.DEF_DATA_STDDEV * halfMax : dataStddevWords * halfMax;
-      this.last = this.max - 1;
-      }
-
-    int next()
-      {
-      // Using a "clamp", "rejection", or "modulo" method results in a similar distribution,
-      // at least for a large (100k) sample size.
-      int res = (int) Math.round( mean + stddev * random.nextGaussian() );
-      if( res < 0 )
-        res = 0;
-      else if( res > last )
-        res = last;
-      return res;
-      }
-    }
-
-  // Inner class cannot have static method, otherwise would be member of IntDist.
-  private IntDist getIntDist( int max )
+  boolean dataSeeded = false;
+  long dataSeed;
+
+  String dataDistribution = Options.DIST_UNIFORM;
+  float dataSkewExponent = 1;
+  int dataHotKeys = 1;
+  float dataHotFraction = 0.5f;
+  int dataVocabularySize = -1;
+  int dataKeyMinLength;
+  int dataKeyMaxLength;
+
+  private IntDistribution getIntDist( int max, Random random )
     {
-    if( dataMeanWords != -1 || dataStddevWords != -1 )
-      return this.new NormIntDist( max );
+    if( Options.DIST_NORMAL.equals( dataDistribution ) )
+      return new NormalIntDistribution( max, random, dataMeanWords, dataStddevWords );
+    else if( Options.DIST_ZIPF.equals( dataDistribution ) )
+      return new ZipfIntDistribution( max, random, dataSkewExponent );
+    else if( Options.DIST_POWERLAW.equals( dataDistribution ) )
+      return new PowerLawIntDistribution( max, random, dataSkewExponent );
+    else if( Options.DIST_HOTKEY.equals( dataDistribution ) )
+      return new HotKeyIntDistribution( max, random, dataHotKeys, dataHotFraction );
     else
-      return this.new UniIntDist( max );
+      return new UniformIntDistribution( max, random );
     }
 
   public TupleGenerator( Options options, Fields fieldDeclaration )
@@ -107,41 +64,102 @@ class TupleGenerator extends BaseOperation implements Function
     dataWordDelimiter = options.getDataWordDelimiter();
     dataMeanWords = options.getDataMeanWords();
     dataStddevWords = options.getDataStddevWords();
+    dataSeeded = options.hasDataSeed();
+    dataSeed = options.getDataSeed();
+    dataDistribution = options.getDataDistribution();
+    dataSkewExponent = options.getDataSkewExponent();
+    dataHotKeys = options.getDataHotKeys();
+    dataHotFraction = options.getDataHotFraction();
+    dataVocabularySize = options.getDataVocabularySize();
+    dataKeyMinLength = options.getDataKeyMinLength();
+    dataKeyMaxLength = options.getDataKeyMaxLength();
 
     if( dataMaxWords < dataMinWords )
       throw new IllegalArgumentException( "max words must not be less than min words" );
     }
 
   @Override
-  public void operate( FlowProcess flowProcess, FunctionCall functionCall )
+  public void prepare( FlowProcess flowProcess, OperationCall<Random> operationCall )
     {
-    Tuple dictionary = functionCall.getArguments().getTuple();
-    Random random = new Random( System.currentTimeMillis() );
+    // each task gets its own stream, so tasks starting in the same millisecond never emit identical files
+    long seed = dataSeeded ? dataSeed : System.currentTimeMillis();
+
+    operationCall.setContext( new XoroshiroRandom( XoroshiroRandom.split( seed, flowProcess.getCurrentSliceNum() ) ) );
+    }
+
+  @Override
+  public void operate( FlowProcess flowProcess, FunctionCall<Random> functionCall )
+    {
+    Random random = functionCall.getContext();
+    Vocabulary vocabulary = getVocabulary( functionCall.getArguments().getTuple() );
+    IntDistribution wordIndicies = getIntDist( vocabulary.size(), random );
+
+    int delimiterBytes = utf8Length( dataWordDelimiter );
+    double maxBytes = dataFileSizeMB * 1024 * 1024;
     long currentBytes = 0;
-    IntDist wordIndicies = getIntDist( dictionary.size() );
 
-    Tuple words = new Tuple();
+    StringBuilder line = new StringBuilder( 1024 );
     Tuple output = new Tuple( "" );
+    TupleEntryCollector outputCollector = functionCall.getOutputCollector();
 
     while( true )
       {
       int numWords = getRandomWords( random );
 
-      words.clear();
+      line.setLength( 0 );
 
       for( int i = 0; i < numWords; i++ )
-        words.add( dictionary.getObject( wordIndicies.next() ) );
+        {
+        if( i != 0 )
+          {
+          line.append( dataWordDelimiter );
+          currentBytes += delimiterBytes;
+          }
 
-      String line = words.toString( dataWordDelimiter );
-      currentBytes += line.getBytes().length;
+        currentBytes += vocabulary.appendWord( wordIndicies.next(), line );
+        }
 
-      if( currentBytes > dataFileSizeMB * 1024 * 1024 ) // don't go over to prevent small blocks
+      if( currentBytes > maxBytes ) // don't go over to prevent small blocks
         break;
 
-      output.set( 0, line );
+      output.set( 0, line.toString() );
+
+      outputCollector.add( output );
+      }
+    }
+
+  private Vocabulary getVocabulary( Tuple dictionary )
+    {
+    // in synthetic mode the argument is only a placeholder, one per file to generate
+    if( dataVocabularySize != -1 )
+      return new SyntheticVocabulary( dataVocabularySize, dataKeyMinLength, dataKeyMaxLength );
+
+    return new DictionaryVocabulary( dictionary );
+    }
+
+  /** Returns the number of bytes the given value occupies when UTF-8 encoded, without encoding it. */
+  static int utf8Length( CharSequence value )
+    {
+    int length = 0;
 
-      functionCall.getOutputCollector().add( output );
+    for( int i = 0; i < value.length(); i++ )
+      {
+      char c = value.charAt( i );
+
+      if( c < 0x80 )
+        length += 1;
+      else if( c < 0x800 )
+        length += 2;
+      else if( Character.isHighSurrogate( c ) && i + 1 < value.length() && Character.isLowSurrogate( value.charAt( i + 1 ) ) )
+        {
+        length += 4;
+        i++;
+        }
+      else
+        length += 3;
       }
+
+    return length;
     }
 
   private int getRandomWords( Random random )
@@ -169,6 +187,24 @@ class TupleGenerator extends BaseOperation implements Function
       return false;
     if( dataWordDelimiter != null ? !dataWordDelimiter.equals( that.dataWordDelimiter ) : that.dataWordDelimiter != null )
       return false;
+    if( dataSeeded != that.dataSeeded )
+      return false;
+    if( dataSeed != that.dataSeed )
+      return false;
+    if( !dataDistribution.equals( that.dataDistribution ) )
+      return false;
+    if( Float.compare( that.dataSkewExponent, dataSkewExponent ) != 0 )
+      return false;
+    if( dataHotKeys != that.dataHotKeys )
+      return false;
+    if( Float.compare( that.dataHotFraction, dataHotFraction ) != 0 )
+      return false;
+    if( dataVocabularySize != that.dataVocabularySize )
+      return false;
+    if( dataKeyMinLength != that.dataKeyMinLength )
+      return false;
+    if( dataKeyMaxLength != that.dataKeyMaxLength )
+      return false;
 
     return true;
     }
@@ -181,6 +217,15 @@ class TupleGenerator extends BaseOperation implements Function
     result = 31 * result + dataMaxWords;
     result = 31 * result + dataMinWords;
     result = 31 * result + ( dataWordDelimiter != null ? dataWordDelimiter.hashCode() : 0 );
+    result = 31 * result + ( dataSeeded ? 1 : 0 );
+    result = 31 * result + (int) ( dataSeed ^ ( dataSeed >>> 32 ) );
+    result = 31 * result + dataDistribution.hashCode();
+    result = 31 * result + Float.floatToIntBits( dataSkewExponent );
+    result = 31 * result + dataHotKeys;
+    result = 31 * result + Float.floatToIntBits( dataHotFraction );
+    result = 31 * result + dataVocabularySize;
+    result = 31 * result + dataKeyMinLength;
+    result = 31 * result + dataKeyMaxLength;
     return result;
     }
   }
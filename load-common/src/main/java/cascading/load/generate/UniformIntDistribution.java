@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+import java.util.Random;
+
+/** Class UniformIntDistribution picks every value with the same probability. */
+class UniformIntDistribution extends IntDistribution
+  {
+  UniformIntDistribution( int max, Random random )
+    {
+    super( max, random );
+    }
+
+  @Override
+  int next()
+    {
+    return random.nextInt( max );
+    }
+  }
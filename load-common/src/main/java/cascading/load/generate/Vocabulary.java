@@ -0,0 +1,18 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+/**
+ * Interface Vocabulary is the set of words the generator picks from, each addressed by an index in 0..size-1.
+ */
+interface Vocabulary
+  {
+  int size();
+
+  /** Appends the word at the given index to the builder, returning the number of UTF-8 bytes appended. */
+  int appendWord( int index, StringBuilder builder );
+  }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+import java.util.Random;
+
+/**
+ * Class ZipfIntDistribution picks values so that value k, the (k+1)th ranked key, is chosen with probability
+ * proportional to 1/(k+1)^exponent.
+ * <p/>
+ * The head of the distribution, up to {@link #MAX_TABLE_SIZE} ranks, is sampled exactly from an {@link AliasTable}.
+ * Any ranks past that carry very little of the mass and are sampled from the continuous approximation of the tail,
+ * which keeps memory bounded for synthetic vocabularies of up to hundreds of millions of keys. Sampling is O(1).
+ */
+class ZipfIntDistribution extends IntDistribution
+  {
+  static final int MAX_TABLE_SIZE = 1 << 20;
+
+  private final double exponent;
+  private final AliasTable head;
+  private final double headProbability;
+
+  ZipfIntDistribution( int max, Random random, double exponent )
+    {
+    super( max, random );
+
+    if( exponent <= 0 )
+      throw new IllegalArgumentException( "exponent must be positive, got: " + exponent );
+
+    this.exponent = exponent;
+
+    double[] weights = new double[ Math.min( max, MAX_TABLE_SIZE ) ];
+    double headMass = 0;
+
+    for( int i = 0; i < weights.length; i++ )
+      {
+      weights[ i ] = Math.pow( i + 1, -exponent );
+      headMass += weights[ i ];
+      }
+
+    double tailMass = 0;
+
+    if( max > weights.length )
+      tailMass = PowerLawIntDistribution.integral( exponent, weights.length + 0.5, max + 0.5 );
+
+    this.head = new AliasTable( weights );
+    this.headProbability = headMass / ( headMass + tailMass );
+    }
+
+  @Override
+  int next()
+    {
+    if( headProbability == 1.0 || random.nextDouble() < headProbability )
+      return head.next( random );
+
+    double rank = PowerLawIntDistribution.inverseCDF( exponent, head.size() + 0.5, max + 0.5, random.nextDouble() );
+
+    return Math.min( (int) Math.round( rank ) - 1, max - 1 );
+    }
+  }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.instrument;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import cascading.load.Options;
+import cascading.operation.Aggregator;
+import cascading.operation.Filter;
+import cascading.operation.Function;
+import cascading.stats.CascadingStats;
+
+/**
+ * Class Instrumentation wraps Functions, Filters, and Aggregators in timing decorators when --instrument is given, so the
+ * nanos and calls of each operation are reported as counters of the {@link #COUNTER_GROUP} group.
+ * <p/>
+ * Wrapped operations are opaque to the planner, so an instrumented {@link cascading.operation.Identity} is not removed
+ * as a no-op, and durations include the two reads of the clock around every call.
+ */
+public class Instrumentation
+  {
+  public static final String COUNTER_GROUP = "cascading.load.Operations";
+  public static final String NANOS_SUFFIX = ".nanos";
+  public static final String CALLS_SUFFIX = ".calls";
+
+  /** Cluster counter limit needed with instrumentation, the pipeline loads time a few hundred operations each. */
+  public static final int MAX_COUNTERS = 2000;
+
+  private Instrumentation()
+    {
+    }
+
+  public static <Context> Function<Context> timed( Options options, String name, Function<Context> function )
+    {
+    if( !options.isInstrument() )
+      return function;
+
+    return new TimedFunction<Context>( name, function );
+    }
+
+  public static <Context> Filter<Context> timed( Options options, String name, Filter<Context> filter )
+    {
+    if( !options.isInstrument() )
+      return filter;
+
+    return new TimedFilter<Context>( name, filter );
+    }
+
+  public static <Context> Aggregator<Context> timed( Options options, String name, Aggregator<Context> aggregator )
+    {
+    if( !options.isInstrument() )
+      return aggregator;
+
+    return new TimedAggregator<Context>( name, aggregator );
+    }
+
+  /** Returns the nanos and calls of every timed operation of the given stats, by operation name. */
+  public static Map<String, long[]> getOperationTimes( CascadingStats cascadingStats )
+    {
+    Map<String, long[]> times = new TreeMap<String, long[]>();
+
+    if( !cascadingStats.getCounterGroups().contains( COUNTER_GROUP ) )
+      return times;
+
+    for( String counter : cascadingStats.getCountersFor( COUNTER_GROUP ) )
+      {
+      if( !counter.endsWith( NANOS_SUFFIX ) )
+        continue;
+
+      String name = counter.substring( 0, counter.length() - NANOS_SUFFIX.length() );
+      long nanos = cascadingStats.getCounterValue( COUNTER_GROUP, counter );
+      long calls = cascadingStats.getCounterValue( COUNTER_GROUP, name + CALLS_SUFFIX );
+
+      times.put( name, new long[]{nanos, calls} );
+      }
+
+    return times;
+    }
+  }
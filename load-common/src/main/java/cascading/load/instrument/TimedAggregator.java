@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.instrument;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.Aggregator;
+import cascading.operation.AggregatorCall;
+
+/**
+ * Class TimedAggregator times every call to {@link Aggregator#aggregate} of the given Aggregator, and adds the time
+ * spent in start and complete, which run once per group, without counting them as calls.
+ */
+public class TimedAggregator<Context> extends TimedOperation<Context, Aggregator<Context>> implements Aggregator<Context>
+  {
+  public TimedAggregator( String name, Aggregator<Context> aggregator )
+    {
+    super( name, aggregator );
+    }
+
+  @Override
+  public void start( FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall )
+    {
+    long start = System.nanoTime();
+
+    operation.start( flowProcess, aggregatorCall );
+
+    add( start );
+    }
+
+  @Override
+  public void aggregate( FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall )
+    {
+    long start = System.nanoTime();
+
+    operation.aggregate( flowProcess, aggregatorCall );
+
+    record( start );
+    }
+
+  @Override
+  public void complete( FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall )
+    {
+    long start = System.nanoTime();
+
+    operation.complete( flowProcess, aggregatorCall );
+
+    add( start );
+    }
+  }
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.instrument;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.Filter;
+import cascading.operation.FilterCall;
+
+/** Class TimedFilter times every call to {@link Filter#isRemove} of the given Filter. */
+public class TimedFilter<Context> extends TimedOperation<Context, Filter<Context>> implements Filter<Context>
+  {
+  public TimedFilter( String name, Filter<Context> filter )
+    {
+    super( name, filter );
+    }
+
+  @Override
+  public boolean isRemove( FlowProcess flowProcess, FilterCall<Context> filterCall )
+    {
+    long start = System.nanoTime();
+
+    boolean remove = operation.isRemove( flowProcess, filterCall );
+
+    record( start );
+
+    return remove;
+    }
+  }
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.instrument;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+
+/** Class TimedFunction times every call to {@link Function#operate} of the given Function. */
+public class TimedFunction<Context> extends TimedOperation<Context, Function<Context>> implements Function<Context>
+  {
+  public TimedFunction( String name, Function<Context> function )
+    {
+    super( name, function );
+    }
+
+  @Override
+  public void operate( FlowProcess flowProcess, FunctionCall<Context> functionCall )
+    {
+    long start = System.nanoTime();
+
+    operation.operate( flowProcess, functionCall );
+
+    record( start );
+    }
+  }
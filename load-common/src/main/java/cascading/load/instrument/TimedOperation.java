@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.instrument;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Operation;
+import cascading.operation.OperationCall;
+
+/**
+ * Class TimedOperation is the base of the decorators timing the calls of an Operation, see {@link Instrumentation}.
+ * <p/>
+ * The nanos and calls are summed in fields and added to the counters of the {@link Instrumentation#COUNTER_GROUP} group
+ * on cleanup, so timing a call costs two reads of {@link System#nanoTime()} and no counter lookups.
+ */
+public abstract class TimedOperation<Context, O extends Operation<Context>> extends BaseOperation<Context>
+  {
+  protected final String name;
+  protected final O operation;
+
+  private transient long nanos;
+  private transient long calls;
+
+  protected TimedOperation( String name, O operation )
+    {
+    super( operation.getNumArgs(), operation.getFieldDeclaration() );
+    this.name = name;
+    this.operation = operation;
+    }
+
+  public String getName()
+    {
+    return name;
+    }
+
+  public O getOperation()
+    {
+    return operation;
+    }
+
+  /** Adds the nanos since the given start without counting a call. */
+  protected void add( long startNanos )
+    {
+    nanos += System.nanoTime() - startNanos;
+    }
+
+  /** Adds the nanos since the given start and counts a call. */
+  protected void record( long startNanos )
+    {
+    add( startNanos );
+    calls++;
+    }
+
+  @Override
+  public void prepare( FlowProcess flowProcess, OperationCall<Context> operationCall )
+    {
+    long start = System.nanoTime();
+
+    operation.prepare( flowProcess, operationCall );
+
+    add( start );
+    }
+
+  @Override
+  public void flush( FlowProcess flowProcess, OperationCall<Context> operationCall )
+    {
+    long start = System.nanoTime();
+
+    operation.flush( flowProcess, operationCall );
+
+    add( start );
+    }
+
+  @Override
+  public void cleanup( FlowProcess flowProcess, OperationCall<Context> operationCall )
+    {
+    long start = System.nanoTime();
+
+    operation.cleanup( flowProcess, operationCall );
+
+    add( start );
+
+    flowProcess.increment( Instrumentation.COUNTER_GROUP, name + Instrumentation.NANOS_SUFFIX, nanos );
+    flowProcess.increment( Instrumentation.COUNTER_GROUP, name + Instrumentation.CALLS_SUFFIX, calls );
+
+    nanos = 0;
+    calls = 0;
+    }
+
+  @Override
+  public boolean isSafe()
+    {
+    return operation.isSafe();
+    }
+
+  @Override
+  public String toString()
+    {
+    return getClass().getSimpleName() + "[" + name + "]{" + operation + "}";
+    }
+  }
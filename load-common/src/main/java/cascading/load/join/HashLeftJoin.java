@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.join;
+
+import java.util.Map;
+import java.util.Properties;
+
+import cascading.cascade.Cascades;
+import cascading.flow.Flow;
+import cascading.operation.filter.Sample;
+import cascading.operation.regex.RegexSplitGenerator;
+import cascading.operation.regex.RegexSplitter;
+import cascading.pipe.Each;
+import cascading.pipe.HashJoin;
+import cascading.pipe.Pipe;
+import cascading.pipe.assembly.Unique;
+import cascading.pipe.joiner.LeftJoin;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.load.Options;
+import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
+
+/**
+ * Class HashLeftJoin uses the test corpus and performs both a split of all the words into tuples and uniques all the
+ * words, and then finally joins the two streams as a left {@link HashJoin}, where the uniques are the small,
+ * accumulated side.
+ * <p/>
+ * Every split line is kept, so the number of tuples written does not change with --hash-join-small-size, only the
+ * size of the accumulated side does.
+ */
+@LoadDefinition(name = "hash-left-join", category = "join", selector = "isHashLeftJoin")
+public class HashLeftJoin extends Load
+  {
+  public HashLeftJoin( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  public Flow createFlow() throws Exception
+    {
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap leftSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+
+    Pipe uniques = new Pipe( "unique" );
+
+    uniques = new Each( uniques, new Fields( "line" ), new RegexSplitGenerator( new Fields( "word" ), "\\s" ) );
+
+    uniques = new Unique( uniques, new Fields( "word" ) );
+
+    uniques = new Each( uniques, new Sample( 0, options.getHashJoinSmallFraction() ) ); // size of the accumulated side
+
+    Pipe fielded = new Pipe( "fielded" );
+
+    fielded = new Each( fielded, new Fields( "line" ), new RegexSplitter( Fields.size( options.getDataMaxWords() ), "\\s" ) );
+
+    fielded = new Each( fielded, new Sample( 0, 0.95 ) ); // need to drop some values
+
+    Pipe left = new HashJoin( "left", fielded, new Fields( 0 ), uniques, new Fields( "word" ), new LeftJoin() );
+
+    Pipe[] heads = Pipe.pipes( uniques, fielded );
+    Map<String, Tap> sources = Cascades.tapsMap( heads, Tap.taps( source, source ) );
+
+    return platform.newFlowConnector( properties ).connect( "hash-left-join", sources, leftSink, left );
+    }
+
+  @Override
+  public String[] getInputPaths()
+    {
+    return new String[]{options.getInputRoot()};
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{options.getOutputRoot() + "hashleft"};
+    }
+  }
\ No newline at end of file
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.join;
+
+import java.util.Map;
+import java.util.Properties;
+
+import cascading.cascade.Cascades;
+import cascading.flow.Flow;
+import cascading.load.Options;
+import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
+import cascading.operation.filter.Sample;
+import cascading.operation.regex.RegexSplitGenerator;
+import cascading.operation.regex.RegexSplitter;
+import cascading.pipe.Each;
+import cascading.pipe.HashJoin;
+import cascading.pipe.Pipe;
+import cascading.pipe.assembly.Unique;
+import cascading.pipe.joiner.InnerJoin;
+import cascading.pipe.joiner.LeftJoin;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+
+/**
+ * Class HashMultiJoin uses the test corpus and performs both a split of all the words into tuples and uniques all the
+ * words, and then joins the split lines on their first word against two branches of the uniques in a three way
+ * {@link HashJoin}, once as an inner join and once as a left join.
+ * <p/>
+ * Each join accumulates both branches of the uniques, so the accumulated side is held in memory four times per task,
+ * which makes this load the first to fail when --hash-join-small-size is too large.
+ */
+@LoadDefinition(name = "hash-multi-join", category = "join", selector = "isHashMultiJoin")
+public class HashMultiJoin extends Load
+  {
+  public HashMultiJoin( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  public Flow createFlow() throws Exception
+    {
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+
+    Tap innerSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap leftSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 1 ], SinkMode.REPLACE );
+
+    int dataMaxWords = options.getDataMaxWords();
+
+    Pipe uniques = new Pipe( "unique" );
+
+    uniques = new Each( uniques, new Fields( "line" ), new RegexSplitGenerator( new Fields( "word" ), "\\s" ) );
+
+    uniques = new Unique( uniques, new Fields( "word" ) );
+
+    uniques = new Each( uniques, new Sample( 0, options.getHashJoinSmallFraction() ) ); // size of the accumulated side
+
+    Pipe firsts = new Pipe( "first", uniques );
+    Pipe seconds = new Pipe( "second", uniques );
+
+    Pipe fielded = new Pipe( "fielded" );
+
+    fielded = new Each( fielded, new Fields( "line" ), new RegexSplitter( Fields.size( dataMaxWords ), "\\s" ) );
+
+    fielded = new Each( fielded, new Sample( 0, 0.95 ) ); // need to drop some values
+
+    Pipe[] pipes = {fielded, firsts, seconds};
+    Fields[] fields = {new Fields( 0 ), new Fields( "word" ), new Fields( "word" )};
+
+    Pipe inner = new HashJoin( "inner", pipes, fields, Fields.size( dataMaxWords + 2 ), new InnerJoin() );
+
+    Pipe left = new HashJoin( "left", pipes, fields, Fields.size( dataMaxWords + 2 ), new LeftJoin() );
+
+    Pipe[] heads = Pipe.pipes( uniques, fielded );
+    Map<String, Tap> sources = Cascades.tapsMap( heads, Tap.taps( source, source ) );
+
+    Pipe[] tails = Pipe.pipes( inner, left );
+    Map<String, Tap> sinks = Cascades.tapsMap( tails, Tap.taps( innerSink, leftSink ) );
+
+    return platform.newFlowConnector( properties ).connect( "hash-multi-join", sources, sinks, tails );
+    }
+
+  @Override
+  public String[] getInputPaths()
+    {
+    return new String[]{options.getInputRoot()};
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{
+      options.getOutputRoot() + "hashmultiinner",
+      options.getOutputRoot() + "hashmultileft"
+    };
+    }
+  }
@@ -24,11 +24,13 @@ import cascading.tap.Tap;
 import cascading.tuple.Fields;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 
 /**
  * Class OnlyLeftJoin uses the test corpus and performs both a split of of all the words into tuples and uniques all the
  * words, and then finally joins the two streams as a left join.
  */
+@LoadDefinition(name = "left-join", category = "join", selector = "isLeftJoin")
 public class OnlyLeftJoin extends Load
   {
   public OnlyLeftJoin( Options options, Properties properties )
@@ -39,8 +41,8 @@ public class OnlyLeftJoin extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap leftSink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap leftSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     Pipe uniques = new Pipe( "unique" );
 
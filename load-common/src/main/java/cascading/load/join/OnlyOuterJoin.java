@@ -24,11 +24,13 @@ import cascading.tap.Tap;
 import cascading.tuple.Fields;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 
 /**
  * Class OnlyOuterJoin uses the test corpus and performs both a split of of all the words into tuples and uniques all the
  * words, and then finally joins the two streams as an outer join.
  */
+@LoadDefinition(name = "outer-join", category = "join", selector = "isOuterJoin")
 public class OnlyOuterJoin extends Load
   {
   public OnlyOuterJoin( Options options, Properties properties )
@@ -39,8 +41,8 @@ public class OnlyOuterJoin extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap outerSink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap outerSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     Pipe uniques = new Pipe( "unique" );
 
@@ -13,6 +13,7 @@ import cascading.cascade.Cascades;
 import cascading.flow.Flow;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 import cascading.operation.aggregator.First;
 import cascading.operation.filter.Sample;
 import cascading.operation.regex.RegexSplitGenerator;
@@ -34,6 +35,7 @@ import cascading.tuple.Fields;
  * Class SelfMultiJoin uses the test corpus and performs both a split of of all the words into tuples and uniques all the
  * words, and then finally joins the two streams as inner, outer, left, and right joins.
  */
+@LoadDefinition(name = "self-multi-join", category = "join", selector = "isSelfMultiJoin")
 public class SelfMultiJoin extends Load
   {
   public SelfMultiJoin( Options options, Properties properties )
@@ -44,11 +46,11 @@ public class SelfMultiJoin extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap innerSink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
-    Tap outerSink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 1 ], SinkMode.REPLACE );
-    Tap leftSink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 2 ], SinkMode.REPLACE );
-    Tap rightSink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 3 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap innerSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap outerSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 1 ], SinkMode.REPLACE );
+    Tap leftSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 2 ], SinkMode.REPLACE );
+    Tap rightSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 3 ], SinkMode.REPLACE );
 
     Pipe uniques = new Pipe( "unique" );
 
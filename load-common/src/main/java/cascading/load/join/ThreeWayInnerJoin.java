@@ -13,6 +13,7 @@ import cascading.cascade.Cascades;
 import cascading.flow.Flow;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 import cascading.operation.filter.Sample;
 import cascading.operation.regex.RegexSplitGenerator;
 import cascading.operation.regex.RegexSplitter;
@@ -29,6 +30,7 @@ import cascading.tuple.Fields;
  * Class OnlyInnerJoin uses the test corpus and performs both a split of of all the words into tuples and uniques all the
  * words, and then finally joins the two streams as an inner join.
  */
+@LoadDefinition(name = "3-way-join", category = "join", selector = "isThreeWayJoin")
 public class ThreeWayInnerJoin extends Load
   {
   public ThreeWayInnerJoin( Options options, Properties properties )
@@ -39,8 +41,8 @@ public class ThreeWayInnerJoin extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap innerSink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap innerSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     int dataMaxWords = options.getDataMaxWords();
 
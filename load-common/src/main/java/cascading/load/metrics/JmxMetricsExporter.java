@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+import cascading.load.Options;
+import org.apache.log4j.Logger;
+
+/**
+ * Class JmxMetricsExporter registers an MBean for every Flow and Step of a run on the platform MBean server, named
+ * {@code cascading.load:platform=...,type=Flow|Step,load=...[,step=...]}, whose read only attributes are the metrics.
+ * <p/>
+ * MBeans from a previous run of the same load are replaced, so a JMX client or agent attached to the load JVM always
+ * reads the last run. The MBeans live only as long as the JVM, so when run from the command line, --metrics-hold keeps
+ * the JVM running for a while after the last export.
+ */
+public class JmxMetricsExporter implements MetricsExporter
+  {
+  private static final Logger LOG = Logger.getLogger( JmxMetricsExporter.class );
+
+  public static final String NAME = "jmx";
+  public static final String DOMAIN = "cascading.load";
+
+  @Override
+  public String getName()
+    {
+    return NAME;
+    }
+
+  @Override
+  public void export( List<Metric> metrics, Options options )
+    {
+    Map<ObjectName, MetricsBean> beans = new LinkedHashMap<ObjectName, MetricsBean>();
+
+    for( Metric metric : metrics )
+      {
+      ObjectName objectName = getObjectName( metric.getLabels() );
+      MetricsBean bean = beans.get( objectName );
+
+      if( bean == null )
+        {
+        bean = new MetricsBean();
+        beans.put( objectName, bean );
+        }
+
+      bean.add( metric );
+      }
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    for( Map.Entry<ObjectName, MetricsBean> entry : beans.entrySet() )
+      {
+      try
+        {
+        if( server.isRegistered( entry.getKey() ) )
+          server.unregisterMBean( entry.getKey() );
+
+        server.registerMBean( entry.getValue(), entry.getKey() );
+        }
+      catch( JMException exception )
+        {
+        LOG.warn( "unable to register mbean: " + entry.getKey(), exception );
+        }
+      }
+    }
+
+  private static ObjectName getObjectName( Map<String, String> labels )
+    {
+    StringBuilder sb = new StringBuilder( DOMAIN );
+
+    sb.append( ":platform=" ).append( ObjectName.quote( labels.get( "platform" ) ) );
+    sb.append( ",type=" ).append( labels.containsKey( "step" ) ? "Step" : "Flow" );
+    sb.append( ",load=" ).append( ObjectName.quote( labels.get( "load" ) ) );
+
+    if( labels.containsKey( "step" ) )
+      sb.append( ",step=" ).append( ObjectName.quote( labels.get( "step" ) ) );
+
+    try
+      {
+      return new ObjectName( sb.toString() );
+      }
+    catch( JMException exception )
+      {
+      throw new IllegalArgumentException( "invalid object name: " + sb, exception );
+      }
+    }
+
+  private static String getAttributeName( String metricName )
+    {
+    return metricName.startsWith( Metrics.PREFIX ) ? metricName.substring( Metrics.PREFIX.length() ) : metricName;
+    }
+
+  static class MetricsBean implements DynamicMBean
+    {
+    private final Map<String, Metric> metrics = new LinkedHashMap<String, Metric>();
+
+    void add( Metric metric )
+      {
+      metrics.put( getAttributeName( metric.getName() ), metric );
+      }
+
+    @Override
+    public Object getAttribute( String attribute ) throws AttributeNotFoundException
+      {
+      Metric metric = metrics.get( attribute );
+
+      if( metric == null )
+        throw new AttributeNotFoundException( attribute );
+
+      return metric.getValue();
+      }
+
+    @Override
+    public void setAttribute( Attribute attribute ) throws AttributeNotFoundException
+      {
+      throw new AttributeNotFoundException( "attributes are read only: " + attribute.getName() );
+      }
+
+    @Override
+    public AttributeList getAttributes( String[] attributes )
+      {
+      AttributeList list = new AttributeList();
+
+      for( String attribute : attributes )
+        {
+        Metric metric = metrics.get( attribute );
+
+        if( metric != null )
+          list.add( new Attribute( attribute, metric.getValue() ) );
+        }
+
+      return list;
+      }
+
+    @Override
+    public AttributeList setAttributes( AttributeList attributes )
+      {
+      return new AttributeList();
+      }
+
+    @Override
+    public Object invoke( String actionName, Object[] params, String[] signature ) throws ReflectionException
+      {
+      // the MBean has no operations, this is what the MBeanServer expects for an unknown one
+      throw new ReflectionException( new NoSuchMethodException( actionName ), "no operations: " + actionName );
+      }
+
+    @Override
+    public MBeanInfo getMBeanInfo()
+      {
+      MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[ metrics.size() ];
+      int count = 0;
+
+      for( Map.Entry<String, Metric> entry : metrics.entrySet() )
+        attributes[ count++ ] = new MBeanAttributeInfo( entry.getKey(), "long", entry.getValue().getHelp(), true, false, false );
+
+      return new MBeanInfo( getClass().getName(), "cascading load metrics", attributes, null, null, null );
+      }
+    }
+  }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Class Metric is a single named value, with the labels telling which platform, load, and step it belongs to.
+ */
+public class Metric
+  {
+  private final String name;
+  private final String help;
+  private final Map<String, String> labels;
+  private final long value;
+
+  public Metric( String name, String help, Map<String, String> labels, long value )
+    {
+    this.name = name;
+    this.help = help;
+    this.labels = Collections.unmodifiableMap( labels );
+    this.value = value;
+    }
+
+  public String getName()
+    {
+    return name;
+    }
+
+  public String getHelp()
+    {
+    return help;
+    }
+
+  public Map<String, String> getLabels()
+    {
+    return labels;
+    }
+
+  public long getValue()
+    {
+    return value;
+    }
+
+  @Override
+  public String toString()
+    {
+    return name + labels + "=" + value;
+    }
+  }
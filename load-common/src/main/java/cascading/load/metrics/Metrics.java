@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import cascading.flow.SliceCounters;
+import cascading.load.platform.CascadingLoadPlatform;
+import cascading.load.util.StatsPrinter;
+import cascading.stats.CascadeStats;
+import cascading.stats.CascadingStats;
+import cascading.stats.FlowStats;
+import cascading.stats.FlowStepStats;
+
+/**
+ * Class Metrics finds the available {@link MetricsExporter}s, and collects the metrics of every Flow and Step of a
+ * Cascade they publish: durations, CPU and GC time, peak heap, tuple counts, and spill counts.
+ * <p/>
+ * Metrics are labeled with the platform, the load, which is the Flow name, the level, flow or step, and the Step name.
+ */
+public class Metrics
+  {
+  public static final String PREFIX = "cascading_load_";
+
+  /** Returns every exporter on the CLASSPATH, by name. */
+  public static Map<String, MetricsExporter> getExporters()
+    {
+    Map<String, MetricsExporter> exporters = new LinkedHashMap<String, MetricsExporter>();
+
+    for( MetricsExporter exporter : ServiceLoader.load( MetricsExporter.class, Metrics.class.getClassLoader() ) )
+      exporters.put( exporter.getName(), exporter );
+
+    return exporters;
+    }
+
+  public static List<Metric> collect( CascadingLoadPlatform platform, CascadeStats cascadeStats )
+    {
+    List<Metric> metrics = new ArrayList<Metric>();
+
+    for( FlowStats flowStats : cascadeStats.getChildren() )
+      {
+      collect( metrics, platform, flowStats, "flow", flowStats.getName(), null );
+
+      for( FlowStepStats stepStats : flowStats.getChildren() )
+        collect( metrics, platform, stepStats, "step", flowStats.getName(), stepStats.getName() );
+      }
+
+    return metrics;
+    }
+
+  private static void collect( List<Metric> metrics, CascadingLoadPlatform platform, CascadingStats cascadingStats, String level, String load, String step )
+    {
+    Map<String, String> labels = new LinkedHashMap<String, String>();
+
+    labels.put( "platform", platform.getName() );
+    labels.put( "load", load );
+    labels.put( "level", level );
+
+    if( step != null )
+      labels.put( "step", step );
+
+    labels.put( "status", cascadingStats.getStatus().toString() );
+
+    add( metrics, "duration_millis", "wall clock duration", labels, cascadingStats.getDuration() );
+    add( metrics, "startup_latency_millis", "time from submitted to running", labels, StatsPrinter.getStartupLatency( cascadingStats ) );
+    add( metrics, "cpu_millis", "CPU time of all tasks", labels, platform.getCPUMillis( cascadingStats ) );
+    add( metrics, "gc_millis", "time in garbage collection of all tasks", labels, platform.getGCMillis( cascadingStats ) );
+    add( metrics, "peak_heap_bytes", "most heap bytes committed by a single task", labels, platform.getPeakHeapBytes( cascadingStats ) );
+    add( metrics, "tuples_read", "tuples read by all tasks", labels, cascadingStats.getCounterValue( SliceCounters.Tuples_Read ) );
+    add( metrics, "tuples_written", "tuples written by all tasks", labels, cascadingStats.getCounterValue( SliceCounters.Tuples_Written ) );
+    add( metrics, "tuples_spilled", "tuples spilled to disk by all tasks", labels, StatsPrinter.getSpillCounter( cascadingStats, "Num_Tuples_Spilled" ) );
+    add( metrics, "spills_written", "spill files written by all tasks", labels, StatsPrinter.getSpillCounter( cascadingStats, "Num_Spills_Written" ) );
+    add( metrics, "spills_read", "spill files read by all tasks", labels, StatsPrinter.getSpillCounter( cascadingStats, "Num_Spills_Read" ) );
+    }
+
+  private static void add( List<Metric> metrics, String name, String help, Map<String, String> labels, long value )
+    {
+    metrics.add( new Metric( PREFIX + name, help, labels, value ) );
+    }
+  }
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.metrics;
+
+import java.io.IOException;
+import java.util.List;
+
+import cascading.load.Options;
+
+/**
+ * Interface MetricsExporter publishes the metrics of a load run to a monitoring system.
+ * <p/>
+ * Exporters are found with {@link java.util.ServiceLoader}, so any jar on the CLASSPATH may add one by listing it in
+ * {@code META-INF/services/cascading.load.metrics.MetricsExporter}, and are selected by name with --metrics.
+ */
+public interface MetricsExporter
+  {
+  /** Returns the name selecting this exporter with --metrics. */
+  String getName();
+
+  /** Publishes the given metrics, replacing any metrics published before. */
+  void export( List<Metric> metrics, Options options ) throws IOException;
+  }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.metrics;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import cascading.load.Options;
+
+/**
+ * Class PrometheusMetricsExporter writes the metrics in the Prometheus text exposition format to the --metrics-file,
+ * so the node exporter textfile collector, or any scraper reading the file, picks them up.
+ * <p/>
+ * The lines of a metric family are written together under its HELP and TYPE lines, as the format requires. The file
+ * is written beside the target and renamed over it, so a scrape never sees a partial file.
+ */
+public class PrometheusMetricsExporter implements MetricsExporter
+  {
+  public static final String NAME = "prometheus";
+
+  @Override
+  public String getName()
+    {
+    return NAME;
+    }
+
+  @Override
+  public void export( List<Metric> metrics, Options options ) throws IOException
+    {
+    File file = new File( options.getMetricsFile() ).getAbsoluteFile();
+    File temp = new File( file.getParentFile(), "." + file.getName() + ".tmp" );
+
+    file.getParentFile().mkdirs();
+
+    PrintWriter writer = new PrintWriter( new FileWriter( temp ) );
+
+    try
+      {
+      print( writer, metrics );
+      }
+    finally
+      {
+      writer.close();
+      }
+
+    if( !temp.renameTo( file ) )
+      throw new IOException( "unable to rename " + temp + " to " + file );
+    }
+
+  static void print( PrintWriter writer, List<Metric> metrics )
+    {
+    Map<String, List<Metric>> families = new LinkedHashMap<String, List<Metric>>();
+
+    for( Metric metric : metrics )
+      {
+      List<Metric> family = families.get( metric.getName() );
+
+      if( family == null )
+        {
+        family = new ArrayList<Metric>();
+        families.put( metric.getName(), family );
+        }
+
+      family.add( metric );
+      }
+
+    for( List<Metric> family : families.values() )
+      {
+      writer.printf( "# HELP %s %s%n", family.get( 0 ).getName(), family.get( 0 ).getHelp() );
+      writer.printf( "# TYPE %s gauge%n", family.get( 0 ).getName() );
+
+      for( Metric metric : family )
+        print( writer, metric );
+      }
+    }
+
+  private static void print( PrintWriter writer, Metric metric )
+    {
+    writer.print( metric.getName() );
+    writer.print( "{" );
+
+    String separator = "";
+
+    for( Map.Entry<String, String> label : metric.getLabels().entrySet() )
+      {
+      writer.print( separator );
+      writer.print( label.getKey() );
+      writer.print( "=\"" );
+      writer.print( escape( label.getValue() ) );
+      writer.print( "\"" );
+      separator = ",";
+      }
+
+    writer.print( "} " );
+    writer.println( metric.getValue() );
+    }
+
+  private static String escape( String value )
+    {
+    if( value == null )
+      return "";
+
+    return value.replace( "\\", "\\\\" ).replace( "\"", "\\\"" ).replace( "\n", "\\n" );
+    }
+  }
@@ -28,7 +28,6 @@ import cascading.load.common.Load;
 import cascading.pipe.Pipe;
 import cascading.tap.SinkMode;
 import cascading.tap.Tap;
-import cascading.tuple.Fields;
 import org.apache.log4j.Logger;
 
 /**
@@ -71,12 +70,12 @@ public abstract class BreakingLoad extends Load
 
   protected Tap getSource()
     {
-    return platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
+    return platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
     }
 
   protected Tap getSink()
     {
-    return platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    return platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
     }
 
   protected String getLoadName()
@@ -84,15 +83,4 @@ public abstract class BreakingLoad extends Load
     return getClass().getSimpleName().replace( "CrashOn", "" ) + "-RunToDestruction";
     }
 
-  public static BreakingLoad[] breakingLoads( Options options, Properties properties )
-    {
-    return new BreakingLoad[]{
-      new CrashOnAggregation( options, properties ),
-      new CrashOnBuffer( options, properties ),
-      new CrashOnFilter( options, properties ),
-      new CrashOnFunction( options, properties ),
-      new CrashOnMemory( options, properties ),
-      new CrashOnStackOverflow( options, properties )};
-    }
-
   }
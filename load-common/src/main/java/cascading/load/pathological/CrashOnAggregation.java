@@ -25,6 +25,7 @@ import java.util.Properties;
 
 import cascading.flow.FlowProcess;
 import cascading.load.Options;
+import cascading.load.common.LoadDefinition;
 import cascading.operation.Aggregator;
 import cascading.operation.AggregatorCall;
 import cascading.operation.regex.RegexSplitGenerator;
@@ -39,6 +40,7 @@ import cascading.util.Pair;
 /**
  *
  */
+@LoadDefinition(name = "crash-on-aggregation", category = "pathological", selector = "isBreakingLoads", runAll = false)
 public class CrashOnAggregation extends BreakingLoad
   {
 
@@ -25,6 +25,7 @@ import java.util.Properties;
 
 import cascading.flow.FlowProcess;
 import cascading.load.Options;
+import cascading.load.common.LoadDefinition;
 import cascading.operation.Buffer;
 import cascading.operation.BufferCall;
 import cascading.operation.regex.RegexSplitGenerator;
@@ -38,6 +39,7 @@ import cascading.tuple.TupleEntry;
 /**
  *
  */
+@LoadDefinition(name = "crash-on-buffer", category = "pathological", selector = "isBreakingLoads", runAll = false)
 public class CrashOnBuffer extends BreakingLoad
   {
   public CrashOnBuffer( Options options, Properties properties )
@@ -24,6 +24,7 @@ import java.util.Properties;
 
 import cascading.flow.FlowProcess;
 import cascading.load.Options;
+import cascading.load.common.LoadDefinition;
 import cascading.operation.Filter;
 import cascading.operation.FilterCall;
 import cascading.pipe.Each;
@@ -33,6 +34,7 @@ import cascading.tuple.Fields;
 /**
  *
  */
+@LoadDefinition(name = "crash-on-filter", category = "pathological", selector = "isBreakingLoads", runAll = false)
 public class CrashOnFilter extends BreakingLoad
   {
   public CrashOnFilter( Options options, Properties properties )
@@ -24,6 +24,7 @@ import java.util.Properties;
 
 import cascading.flow.FlowProcess;
 import cascading.load.Options;
+import cascading.load.common.LoadDefinition;
 import cascading.operation.Function;
 import cascading.operation.FunctionCall;
 import cascading.pipe.Each;
@@ -33,6 +34,7 @@ import cascading.tuple.Fields;
 /**
  *
  */
+@LoadDefinition(name = "crash-on-function", category = "pathological", selector = "isBreakingLoads", runAll = false)
 public class CrashOnFunction extends BreakingLoad
   {
   public CrashOnFunction( Options options, Properties properties )
@@ -26,6 +26,7 @@ import java.util.Properties;
 
 import cascading.flow.FlowProcess;
 import cascading.load.Options;
+import cascading.load.common.LoadDefinition;
 import cascading.operation.Function;
 import cascading.operation.FunctionCall;
 import cascading.pipe.Each;
@@ -35,6 +36,7 @@ import cascading.tuple.Fields;
 /**
  *
  */
+@LoadDefinition(name = "crash-on-memory", category = "pathological", selector = "isBreakingLoads", runAll = false)
 public class CrashOnMemory extends BreakingLoad
   {
   public CrashOnMemory( Options options, Properties properties )
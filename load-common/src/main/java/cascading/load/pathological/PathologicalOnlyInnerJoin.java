@@ -13,6 +13,7 @@ import cascading.cascade.Cascades;
 import cascading.flow.Flow;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 import cascading.operation.filter.Sample;
 import cascading.operation.regex.RegexSplitGenerator;
 import cascading.operation.regex.RegexSplitter;
@@ -29,6 +30,7 @@ import cascading.tuple.Fields;
  *
  * Set -TS ( cascading.spill.list.threshold ) to some low number ( default is 100000 ) to induce CoGroup spillage.
  */
+@LoadDefinition(name = "pathological-inner-join", category = "pathological", selector = "isPathologicalInnerJoin", runAll = false)
 public class PathologicalOnlyInnerJoin extends Load
   {
   public PathologicalOnlyInnerJoin( Options options, Properties properties )
@@ -39,8 +41,8 @@ public class PathologicalOnlyInnerJoin extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap innerSink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap innerSink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     Pipe words = new Pipe( "words" );
 
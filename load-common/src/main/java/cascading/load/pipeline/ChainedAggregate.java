@@ -9,11 +9,7 @@ package cascading.load.pipeline;
 import java.util.Properties;
 
 import cascading.flow.Flow;
-import cascading.operation.Function;
-import cascading.operation.aggregator.Sum;
-import cascading.operation.expression.ExpressionFunction;
 import cascading.pipe.Each;
-import cascading.pipe.Every;
 import cascading.pipe.GroupBy;
 import cascading.pipe.Pipe;
 import cascading.tap.SinkMode;
@@ -21,11 +17,13 @@ import cascading.tap.Tap;
 import cascading.tuple.Fields;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 
 
 /**
  * Class ChainedAggregate sets up a simple pipeline of operations to test the hand off between operations
  */
+@LoadDefinition(name = "chained-aggregate", category = "pipeline", selector = "isChainedAggregate")
 public class ChainedAggregate extends Load
   {
   public ChainedAggregate( Options options, Properties properties )
@@ -36,25 +34,18 @@ public class ChainedAggregate extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap sink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     Pipe pipe = new Pipe( "chainedaggregate" );
 
-    Function function = new ExpressionFunction( new Fields( "count" ), "line.split( \"\\\\s\").length", String.class );
-    pipe = new Each( pipe, new Fields( "line" ), function, Fields.ALL );
+    pipe = new Each( pipe, new Fields( "line" ), timed( Operations.newWordCount( options ) ), Fields.ALL );
 
-    int modulo = 1000000;
-
-    if( options.getHashModulo() != -1 )
-      modulo = options.getHashModulo();
-
-    pipe = new Each( pipe, new Fields( "line" ), new ExpressionFunction( new Fields( "hash" ), "line.hashCode() % " + modulo, String.class ), Fields.ALL ); // want some collisions
+    pipe = new Each( pipe, new Fields( "line" ), timed( Operations.newHashModulo( options ) ), Fields.ALL ); // want some collisions
 
     pipe = new GroupBy( pipe, new Fields( "hash" ) );
 
-    for( int i = 0; i < 50; i++ )
-      pipe = new Every( pipe, new Fields( "count" ), new Sum( new Fields( "sum" + ( i + 1 ) ) ) );
+    pipe = Operations.sums( pipe, options, 50 );
 
     return platform.newFlowConnector( properties ).connect( "chainedaggregate", source, sink, pipe );
     }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2010 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.pipeline;
+
+import java.util.Properties;
+
+import cascading.flow.Flow;
+import cascading.pipe.Each;
+import cascading.pipe.Pipe;
+import cascading.pipe.assembly.AggregateBy;
+import cascading.pipe.assembly.SumBy;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.load.Options;
+import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
+
+
+/**
+ * Class ChainedAggregateBy is the {@link ChainedAggregate} load with its fifty sums done by a single
+ * {@link AggregateBy} of {@link SumBy} assemblies, which partially sums in memory before the shuffle.
+ * <p/>
+ * The number of keys summed in memory per task is set by --aggregate-by-capacity.
+ */
+@LoadDefinition(name = "chained-aggregate-by", category = "pipeline", selector = "isChainedAggregateBy", variantOf = "chained-aggregate")
+public class ChainedAggregateBy extends Load
+  {
+  public ChainedAggregateBy( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  public Flow createFlow() throws Exception
+    {
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "chainedaggregateby" );
+
+    pipe = new Each( pipe, new Fields( "line" ), timed( Operations.newWordCount( options ) ), Fields.ALL );
+
+    pipe = new Each( pipe, new Fields( "line" ), timed( Operations.newHashModulo( options ) ), Fields.ALL ); // want some collisions
+
+    SumBy[] sums = new SumBy[ 50 ];
+
+    for( int i = 0; i < sums.length; i++ )
+      sums[ i ] = new SumBy( new Fields( "count" ), new Fields( "sum" + ( i + 1 ) ), double.class );
+
+    pipe = new AggregateBy( pipe, new Fields( "hash" ), options.getAggregateByCapacity(), sums );
+
+    return platform.newFlowConnector( properties ).connect( "chainedaggregateby", source, sink, pipe );
+    }
+
+  @Override
+  public String[] getInputPaths()
+    {
+    return new String[]{options.getInputRoot()};
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{options.getOutputRoot() + "chainedaggregateby"};
+    }
+  }
\ No newline at end of file
@@ -9,9 +9,7 @@ package cascading.load.pipeline;
 import java.util.Properties;
 
 import cascading.flow.Flow;
-import cascading.operation.Function;
 import cascading.operation.Identity;
-import cascading.operation.expression.ExpressionFunction;
 import cascading.pipe.Each;
 import cascading.pipe.Pipe;
 import cascading.tap.SinkMode;
@@ -19,11 +17,13 @@ import cascading.tap.Tap;
 import cascading.tuple.Fields;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 
 
 /**
  * Class ChainedFunction sets up a simple pipeline of operations to test the hand off between operations
  */
+@LoadDefinition(name = "chained-function", category = "pipeline", selector = "isChainedFunction")
 public class ChainedFunction extends Load
   {
   public ChainedFunction( Options options, Properties properties )
@@ -36,23 +36,22 @@ public class ChainedFunction extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap sink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     Pipe pipe = new Pipe( "chainedfunction" );
 
-    Function function = new ExpressionFunction( new Fields( "count" ), "line.split( \"\\\\s\").length", String.class );
-    pipe = new Each( pipe, new Fields( "line" ), function, Fields.ALL );
+    pipe = new Each( pipe, new Fields( "line" ), timed( Operations.newWordCount( options ) ), Fields.ALL );
 
     for( int i = 0; i < 50; i++ )
       {
-      pipe = new Each( pipe, new Fields( "line" ), new Identity( new Fields( 0 ) ), Fields.ALL );
-      pipe = new Each( pipe, new Fields( "count" ), new Identity( new Fields( 0 ) ), Fields.ALL );
-      pipe = new Each( pipe, new Fields( "line" ), new Identity(), Fields.REPLACE );
-      pipe = new Each( pipe, new Fields( "count" ), new Identity(), Fields.REPLACE );
-      pipe = new Each( pipe, new Fields( "line", "count" ), new Identity() );
-      pipe = new Each( pipe, new Fields( "line", "count" ), new Identity( new Fields( "line2", "count2" ) ), new Fields( "line", "count2" ) );
-      pipe = new Each( pipe, new Fields( "count2" ), new Identity( new Fields( "count" ) ), new Fields( "line", "count" ) );
+      pipe = new Each( pipe, new Fields( "line" ), timed( new Identity( new Fields( 0 ) ) ), Fields.ALL );
+      pipe = new Each( pipe, new Fields( "count" ), timed( new Identity( new Fields( 0 ) ) ), Fields.ALL );
+      pipe = new Each( pipe, new Fields( "line" ), timed( new Identity() ), Fields.REPLACE );
+      pipe = new Each( pipe, new Fields( "count" ), timed( new Identity() ), Fields.REPLACE );
+      pipe = new Each( pipe, new Fields( "line", "count" ), timed( new Identity() ) );
+      pipe = new Each( pipe, new Fields( "line", "count" ), timed( new Identity( new Fields( "line2", "count2" ) ) ), new Fields( "line", "count2" ) );
+      pipe = new Each( pipe, new Fields( "count2" ), timed( new Identity( new Fields( "count" ) ) ), new Fields( "line", "count" ) );
       }
 
     return platform.newFlowConnector( properties ).connect( "chainedfunction", source, sink, pipe );
@@ -11,12 +11,13 @@ import java.util.Properties;
 import cascading.flow.Flow;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 import cascading.pipe.Pipe;
 import cascading.tap.SinkMode;
 import cascading.tap.Tap;
-import cascading.tuple.Fields;
 
 /** Class Copy sets up a simple copy operation */
+@LoadDefinition(name = "copy", category = "pipeline", selector = "isCopy")
 public class Copy extends Load
   {
   public Copy( Options options, Properties properties )
@@ -27,8 +28,8 @@ public class Copy extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap sink = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
 
     Pipe pipe = new Pipe( "copy" );
 
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.pipeline;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.OperationCall;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+
+/**
+ * Class HashModulo declares the hash code of its argument modulo a constant, the same value as the expression
+ * {@code line.hashCode() % modulo}, without an expression evaluator. The result tuple is reused for every call.
+ */
+public class HashModulo extends BaseOperation<Tuple> implements Function<Tuple>
+  {
+  private final int modulo;
+
+  public HashModulo( Fields fieldDeclaration, int modulo )
+    {
+    super( 1, fieldDeclaration );
+    this.modulo = modulo;
+    }
+
+  @Override
+  public void prepare( FlowProcess flowProcess, OperationCall<Tuple> operationCall )
+    {
+    operationCall.setContext( Tuple.size( 1 ) );
+    }
+
+  @Override
+  public void operate( FlowProcess flowProcess, FunctionCall<Tuple> functionCall )
+    {
+    Tuple result = functionCall.getContext();
+
+    result.set( 0, functionCall.getArguments().getString( 0 ).hashCode() % modulo );
+
+    functionCall.getOutputCollector().add( result );
+    }
+
+  @Override
+  public boolean equals( Object object )
+    {
+    if( this == object )
+      return true;
+    if( !( object instanceof HashModulo ) )
+      return false;
+    if( !super.equals( object ) )
+      return false;
+
+    return modulo == ( (HashModulo) object ).modulo;
+    }
+
+  @Override
+  public int hashCode()
+    {
+    return 31 * super.hashCode() + modulo;
+    }
+  }
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.pipeline;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.Aggregator;
+import cascading.operation.AggregatorCall;
+import cascading.operation.BaseOperation;
+import cascading.operation.OperationCall;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+
+/**
+ * Class LongSums sums its single argument into every one of its declared fields, in one flat {@code long[]} per
+ * grouping, where a chain of {@link cascading.operation.aggregator.Sum} aggregators keeps one boxed value per field,
+ * and coerces the argument once per field.
+ * <p/>
+ * The argument is read once per tuple, and the sums are only boxed when the grouping completes.
+ */
+public class LongSums extends BaseOperation<LongSums.Context> implements Aggregator<LongSums.Context>
+  {
+  /** Class Context holds the sums of the current grouping, and the tuple they are completed into. */
+  static class Context
+    {
+    final long[] sums;
+    final Tuple result;
+
+    Context( int size )
+      {
+      sums = new long[ size ];
+      result = Tuple.size( size );
+      }
+    }
+
+  public LongSums( Fields fieldDeclaration )
+    {
+    super( 1, fieldDeclaration );
+    }
+
+  @Override
+  public void prepare( FlowProcess flowProcess, OperationCall<Context> operationCall )
+    {
+    operationCall.setContext( new Context( getFieldDeclaration().size() ) );
+    }
+
+  @Override
+  public void start( FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall )
+    {
+    long[] sums = aggregatorCall.getContext().sums;
+
+    for( int i = 0; i < sums.length; i++ )
+      sums[ i ] = 0;
+    }
+
+  @Override
+  public void aggregate( FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall )
+    {
+    long value = aggregatorCall.getArguments().getLong( 0 );
+    long[] sums = aggregatorCall.getContext().sums;
+
+    for( int i = 0; i < sums.length; i++ )
+      sums[ i ] += value;
+    }
+
+  @Override
+  public void complete( FlowProcess flowProcess, AggregatorCall<Context> aggregatorCall )
+    {
+    Context context = aggregatorCall.getContext();
+
+    for( int i = 0; i < context.sums.length; i++ )
+      context.result.set( i, context.sums[ i ] );
+
+    aggregatorCall.getOutputCollector().add( context.result );
+    }
+  }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.pipeline;
+
+import cascading.load.Options;
+import cascading.load.instrument.Instrumentation;
+import cascading.operation.Function;
+import cascading.operation.aggregator.Sum;
+import cascading.operation.expression.ExpressionFunction;
+import cascading.pipe.Every;
+import cascading.pipe.Pipe;
+import cascading.tuple.Fields;
+
+/**
+ * Class Operations creates the word count, hash, and sum operations shared by the pipeline loads, either as
+ * expressions and boxed {@link Sum} aggregators, or with --primitive-aggregation as their primitive counterparts
+ * {@link WordCount}, {@link HashModulo}, and {@link LongSums}.
+ */
+class Operations
+  {
+  private Operations()
+    {
+    }
+
+  /** Returns a function declaring the number of words of the "line" argument in the "count" field. */
+  static Function newWordCount( Options options )
+    {
+    if( options.isPrimitiveAggregation() )
+      return new WordCount( new Fields( "count" ) );
+
+    return new ExpressionFunction( new Fields( "count" ), "line.split( \"\\\\s\" ).length", String.class );
+    }
+
+  /** Returns a function declaring the hash of the "line" argument in the "hash" field, modulo --pipeline-hash-modulo. */
+  static Function newHashModulo( Options options )
+    {
+    int modulo = 1000000;
+
+    if( options.getHashModulo() != -1 )
+      modulo = options.getHashModulo();
+
+    if( options.isPrimitiveAggregation() )
+      return new HashModulo( new Fields( "hash" ), modulo );
+
+    return new ExpressionFunction( new Fields( "hash" ), "line.hashCode() % " + modulo, String.class );
+    }
+
+  /**
+   * Returns the given grouping followed by the given number of sums of the "count" field, "sum1" through "sumN", each
+   * timed with --instrument under the name of the field it declares.
+   */
+  static Pipe sums( Pipe pipe, Options options, int numSums )
+    {
+    String[] sumFields = new String[ numSums ];
+
+    for( int i = 0; i < numSums; i++ )
+      sumFields[ i ] = "sum" + ( i + 1 );
+
+    if( options.isPrimitiveAggregation() )
+      return new Every( pipe, new Fields( "count" ), Instrumentation.timed( options, "sums", new LongSums( new Fields( sumFields ) ) ) );
+
+    for( int i = 0; i < numSums; i++ )
+      pipe = new Every( pipe, new Fields( "count" ), Instrumentation.timed( options, "sum" + ( i + 1 ), new Sum( new Fields( "sum" + ( i + 1 ) ) ) ) );
+
+    return pipe;
+    }
+  }
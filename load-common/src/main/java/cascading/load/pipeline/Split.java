@@ -13,12 +13,13 @@ import cascading.cascade.Cascades;
 import cascading.flow.Flow;
 import cascading.load.Options;
 import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
 import cascading.pipe.Pipe;
 import cascading.tap.SinkMode;
 import cascading.tap.Tap;
-import cascading.tuple.Fields;
 
 /** Class Split sets up a simple copy operation to two outputs */
+@LoadDefinition(name = "split", category = "pipeline", selector = "isSplit")
 public class Split extends Load
   {
   public Split( Options options, Properties properties )
@@ -29,9 +30,9 @@ public class Split extends Load
   @Override
   public Flow createFlow() throws Exception
     {
-    Tap source = platform.newTap( platform.newTextLine( new Fields( "line" ) ), getInputPaths()[ 0 ] );
-    Tap lhs = platform.newTap( platform.newTextLine(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
-    Tap rhs = platform.newTap( platform.newTextLine(), getOutputPaths()[ 1 ], SinkMode.REPLACE );
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap lhs = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+    Tap rhs = platform.newTap( newSinkScheme(), getOutputPaths()[ 1 ], SinkMode.REPLACE );
 
     Pipe pipe = new Pipe( "copy" );
 
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.pipeline;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.OperationCall;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+
+/**
+ * Class WordCount declares the number of words of its argument, the same value as the expression
+ * {@code line.split( "\\s" ).length}, without a regular expression, an array, or an expression evaluator.
+ * <p/>
+ * Like the expression, every whitespace character separates two words, so consecutive whitespace counts empty words,
+ * except at the end, where empty words are dropped.
+ */
+public class WordCount extends BaseOperation<Tuple> implements Function<Tuple>
+  {
+  public WordCount( Fields fieldDeclaration )
+    {
+    super( 1, fieldDeclaration );
+    }
+
+  @Override
+  public void prepare( FlowProcess flowProcess, OperationCall<Tuple> operationCall )
+    {
+    operationCall.setContext( Tuple.size( 1 ) );
+    }
+
+  @Override
+  public void operate( FlowProcess flowProcess, FunctionCall<Tuple> functionCall )
+    {
+    Tuple result = functionCall.getContext();
+
+    result.set( 0, count( functionCall.getArguments().getString( 0 ) ) );
+
+    functionCall.getOutputCollector().add( result );
+    }
+
+  static int count( String line )
+    {
+    if( line.isEmpty() )
+      return 1;
+
+    int last = line.length() - 1;
+
+    while( last >= 0 && isWhitespace( line.charAt( last ) ) )
+      last--;
+
+    if( last < 0 )
+      return 0;
+
+    int count = 1;
+
+    for( int i = 0; i < last; i++ )
+      {
+      if( isWhitespace( line.charAt( i ) ) )
+        count++;
+      }
+
+    return count;
+    }
+
+  /** Returns true for the characters of the \s character class, which unlike Character.isWhitespace excludes Unicode spaces. */
+  private static boolean isWhitespace( char c )
+    {
+    return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+  }
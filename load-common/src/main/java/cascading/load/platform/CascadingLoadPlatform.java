@@ -7,10 +7,12 @@
 package cascading.load.platform;
 
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Properties;
 
 import cascading.flow.FlowConnector;
+import cascading.flow.FlowListener;
 import cascading.load.Options;
 import cascading.scheme.Scheme;
 import cascading.stats.CascadingStats;
@@ -19,11 +21,21 @@ import cascading.tap.Tap;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntryCollector;
+import cascading.tuple.TupleEntryIterator;
 
 public interface CascadingLoadPlatform
   {
   public String getName();
 
+  /**
+   * Called with the parsed options before any other method, so the platform can configure itself from them. The
+   * platform is shared, so anything it derived from earlier options must be reset here.
+   */
+  public void initialize( Options options );
+
+  /** Stops anything the platform started, called once every load has run. */
+  public void shutdown();
+
   String[] getChildrenOf( String path );
 
   public Tap newTap( Scheme scheme, String stringPath );
@@ -32,12 +44,17 @@ public interface CascadingLoadPlatform
 
   public TupleEntryCollector newTupleEntryCollector( Tap tap ) throws IOException;
 
+  public TupleEntryIterator newTupleEntryIterator( Tap tap ) throws IOException;
+
   public Scheme newTextLine();
 
   public Scheme newTextLine( Fields sourceFields );
 
   public Scheme newTextLine( Fields sourceFields, Fields sinkFields );
 
+  /** Returns a compact binary scheme holding typed tuples, with the given fields as source and sink fields. */
+  public Scheme newBinaryScheme( Fields fields );
+
   public FlowConnector newFlowConnector();
 
   public FlowConnector newFlowConnector( Map<Object, Object> properties );
@@ -46,6 +63,23 @@ public interface CascadingLoadPlatform
 
   public Properties buildPlatformProperties( Options options );
 
+  /**
+   * Prepares the given properties of the named load to profile its Flow with Java Flight Recorder, and returns a
+   * listener to add to the Flow, or null if the tasks record themselves.
+   *
+   * @param path the directory recordings made on this host are written to
+   */
+  public FlowListener newProfiler( Properties properties, String name, String path );
+
+  /** Registers the serialization of {@link cascading.load.countsort.PackedKey} keys in the given properties, if any. */
+  public void addKeySerialization( Properties properties );
+
+  /**
+   * Returns a comparator of {@link cascading.load.countsort.PackedKey} keys comparing their serialized bytes, or null if
+   * keys are never serialized.
+   */
+  public Comparator newRawKeyComparator();
+
   public void cleanDirectories( String... paths ) throws IOException;
 
   public int getMaxConcurrentMappers();
@@ -53,4 +87,28 @@ public interface CascadingLoadPlatform
   public int getMaxConcurrentReducers();
 
   long getCPUMillis( CascadingStats cascadingStats );
+
+  /** Returns the bytes moved from the map or source side to the reduce or sink side, zero if there is no shuffle. */
+  long getShuffleBytes( CascadingStats cascadingStats );
+
+  /** Returns the bytes read from every file system, including local spill and shuffle files, zero if not counted. */
+  long getBytesRead( CascadingStats cascadingStats );
+
+  /** Returns the bytes written to every file system, including local spill and shuffle files, zero if not counted. */
+  long getBytesWritten( CascadingStats cascadingStats );
+
+  /** Returns the milliseconds spent in garbage collection, summed over all tasks, zero if not counted. */
+  long getGCMillis( CascadingStats cascadingStats );
+
+  /** Returns the number of garbage collections, summed over all tasks, zero if not counted. */
+  long getGCCount( CascadingStats cascadingStats );
+
+  /**
+   * Returns the most heap bytes committed by any single task, by the whole JVM locally, zero if not counted or the task
+   * details were not captured.
+   */
+  long getPeakHeapBytes( CascadingStats cascadingStats );
+
+  /** Returns the most physical memory bytes used by any single task, zero if not counted. */
+  long getPeakPhysicalMemoryBytes( CascadingStats cascadingStats );
   }
@@ -24,7 +24,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -33,6 +35,11 @@ import cascading.util.Util;
 /**
  * A simple class to load the Platform from the CLASSPATH by looking for a file called "cascading/load/platform.properties"
  * and loading the class defined in there. A platform is required to have a no-arg Constructor to be properly loaded.
+ * <p/>
+ * Each platform is loaded once and shared by every Main and Load in the JVM, instead of scanning the CLASSPATH for every
+ * Load created. Platforms are not stateless, a platform may hold a mini cluster, a cpu sampler, or values derived from
+ * the options, so {@link CascadingLoadPlatform#initialize(cascading.load.Options)} resets whatever a platform derived
+ * from any earlier options, and only one Main may run at a time.
  */
 public class PlatformLoader
   {
@@ -40,6 +47,8 @@ public class PlatformLoader
   public static final String PLATFORM_NAME_PROPERTY = "platform.name";
   public static final String PLATFORM_CLASS_NAME_PROPERTY = "platform.classname";
 
+  private static final Map<String, CascadingLoadPlatform> platforms = new HashMap<String, CascadingLoadPlatform>();
+
   /**
    * Loads and returns the platform given by its name. If the platform cannot be loaded a RuntimeException is thrown.
    *
@@ -47,6 +56,22 @@ public class PlatformLoader
    * @return A @{Platform} instance for the given name.
    */
   public CascadingLoadPlatform loadPlatform( String platformName )
+    {
+    synchronized( platforms )
+      {
+      CascadingLoadPlatform platform = platforms.get( platformName );
+
+      if( platform == null )
+        {
+        platform = findPlatform( platformName );
+        platforms.put( platformName, platform );
+        }
+
+      return platform;
+      }
+    }
+
+  private CascadingLoadPlatform findPlatform( String platformName )
     {
     Set<String> found = new HashSet<String>();
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.sketch;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.Aggregator;
+import cascading.operation.AggregatorCall;
+import cascading.operation.BaseOperation;
+import cascading.pipe.Pipe;
+import cascading.pipe.assembly.AggregateBy;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+
+/**
+ * Class DistinctBy is an {@link AggregateBy} that estimates the number of distinct values of the value field per
+ * grouping, with a {@link HyperLogLog}.
+ * <p/>
+ * Every task counts into one HyperLogLog per grouping before the shuffle, so only the registers are shuffled, and the
+ * registers of all tasks are merged after the shuffle.
+ */
+public class DistinctBy extends AggregateBy
+  {
+  /** Class DistinctPartials offers every value to the HyperLogLog of its grouping, and completes to its registers. */
+  public static class DistinctPartials implements Functor
+    {
+    private final Fields declaredFields;
+    private final int precision;
+
+    public DistinctPartials( Fields declaredFields, int precision )
+      {
+      this.declaredFields = declaredFields;
+      this.precision = precision;
+      }
+
+    @Override
+    public Fields getDeclaredFields()
+      {
+      return declaredFields;
+      }
+
+    @Override
+    public Tuple aggregate( FlowProcess flowProcess, TupleEntry args, Tuple context )
+      {
+      if( context == null )
+        context = new Tuple( new HyperLogLog( precision ) );
+
+      Object value = args.getObject( 0 );
+
+      if( value != null )
+        ( (HyperLogLog) context.getObject( 0 ) ).offer( value.toString() );
+
+      return context;
+      }
+
+    @Override
+    public Tuple complete( FlowProcess flowProcess, Tuple context )
+      {
+      return new Tuple( context.getObject( 0 ).toString() );
+      }
+    }
+
+  /** Class DistinctFinal merges the registers of every task, and completes to the estimate. */
+  public static class DistinctFinal extends BaseOperation<HyperLogLog[]> implements Aggregator<HyperLogLog[]>
+    {
+    public DistinctFinal( Fields estimateField )
+      {
+      super( 1, estimateField );
+      }
+
+    @Override
+    public void start( FlowProcess flowProcess, AggregatorCall<HyperLogLog[]> aggregatorCall )
+      {
+      if( aggregatorCall.getContext() == null )
+        aggregatorCall.setContext( new HyperLogLog[ 1 ] );
+      else
+        aggregatorCall.getContext()[ 0 ] = null;
+      }
+
+    @Override
+    public void aggregate( FlowProcess flowProcess, AggregatorCall<HyperLogLog[]> aggregatorCall )
+      {
+      HyperLogLog[] context = aggregatorCall.getContext();
+      HyperLogLog partial = HyperLogLog.valueOf( aggregatorCall.getArguments().getString( 0 ) );
+
+      if( context[ 0 ] == null )
+        context[ 0 ] = partial;
+      else
+        context[ 0 ].merge( partial );
+      }
+
+    @Override
+    public void complete( FlowProcess flowProcess, AggregatorCall<HyperLogLog[]> aggregatorCall )
+      {
+      HyperLogLog hyperLogLog = aggregatorCall.getContext()[ 0 ];
+
+      aggregatorCall.getOutputCollector().add( new Tuple( hyperLogLog == null ? 0L : hyperLogLog.estimate() ) );
+      }
+    }
+
+  /**
+   * @param valueField     the field holding the values to count
+   * @param estimateField  the field to declare the estimate in
+   * @param precision      the precision of the HyperLogLog, see {@link HyperLogLog}
+   * @param capacity       the number of groupings held in memory per task, 0 for the default
+   */
+  public DistinctBy( Pipe pipe, Fields groupingFields, Fields valueField, Fields estimateField, int precision, int capacity )
+    {
+    super( null, Pipe.pipes( pipe ), groupingFields, valueField, new DistinctPartials( new Fields( "registers" ), precision ), new DistinctFinal( estimateField ), capacity );
+    }
+  }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.sketch;
+
+import java.util.Properties;
+
+import cascading.flow.Flow;
+import cascading.load.Options;
+import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
+import cascading.operation.Insert;
+import cascading.operation.regex.RegexSplitGenerator;
+import cascading.pipe.Each;
+import cascading.pipe.Pipe;
+import cascading.pipe.assembly.CountBy;
+import cascading.pipe.assembly.Discard;
+import cascading.pipe.assembly.Unique;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+
+/**
+ * Class ExactDistinct counts the distinct words of the test corpus by uniquing all the words, then counting the
+ * uniques. It is the exact answer {@link SketchDistinct} is compared against.
+ */
+@LoadDefinition(name = "exact-distinct", category = "sketch", selector = "isExactDistinct")
+public class ExactDistinct extends Load
+  {
+  public ExactDistinct( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  public Flow createFlow() throws Exception
+    {
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "exact-distinct" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexSplitGenerator( new Fields( "word" ), "\\s" ) );
+
+    pipe = new Unique( pipe, new Fields( "word" ) );
+
+    pipe = new Each( pipe, new Insert( new Fields( "all" ), "all" ), Fields.ALL );
+
+    pipe = new CountBy( pipe, new Fields( "all" ), new Fields( "distinct" ) );
+
+    pipe = new Discard( pipe, new Fields( "all" ) );
+
+    return platform.newFlowConnector( properties ).connect( "exact-distinct", source, sink, pipe );
+    }
+
+  @Override
+  public String[] getInputPaths()
+    {
+    return new String[]{options.getInputRoot()};
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{options.getOutputRoot() + "exactdistinct"};
+    }
+  }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.sketch;
+
+/**
+ * Class HyperLogLog estimates the number of distinct values offered to it in a fixed 2^precision registers, with a
+ * relative standard error of about 1.04 / sqrt( 2^precision ), 0.8% for the default precision of 14.
+ * <p/>
+ * Two instances with the same precision are merged by keeping the larger of every register, so a partial estimate can
+ * be made on the map side and merged on the reduce side. Between the two, the registers travel as a String of one
+ * printable character per register, see {@link #toString()} and {@link #valueOf(String)}.
+ * <p/>
+ * Small cardinalities are corrected with linear counting. Values are hashed to 64 bits, so no large range correction
+ * is needed.
+ */
+public class HyperLogLog
+  {
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 18;
+
+  private static final char ZERO = '0';
+
+  private final int precision;
+  private final byte[] registers;
+
+  public HyperLogLog( int precision )
+    {
+    if( precision < MIN_PRECISION || precision > MAX_PRECISION )
+      throw new IllegalArgumentException( "precision must be in [" + MIN_PRECISION + "," + MAX_PRECISION + "], got: " + precision );
+
+    this.precision = precision;
+    this.registers = new byte[ 1 << precision ];
+    }
+
+  public int getPrecision()
+    {
+    return precision;
+    }
+
+  public void offer( String value )
+    {
+    offerHash( hash( value ) );
+    }
+
+  void offerHash( long hash )
+    {
+    int index = (int) ( hash >>> ( 64 - precision ) );
+    long remaining = ( hash << precision ) | ( 1L << ( precision - 1 ) ); // guard bit bounds the rank
+    byte rank = (byte) ( Long.numberOfLeadingZeros( remaining ) + 1 );
+
+    if( rank > registers[ index ] )
+      registers[ index ] = rank;
+    }
+
+  public void merge( HyperLogLog other )
+    {
+    if( other.precision != precision )
+      throw new IllegalArgumentException( "cannot merge precision " + other.precision + " into precision " + precision );
+
+    for( int i = 0; i < registers.length; i++ )
+      registers[ i ] = (byte) Math.max( registers[ i ], other.registers[ i ] );
+    }
+
+  public long estimate()
+    {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+
+    for( byte register : registers )
+      {
+      sum += 1.0 / ( 1L << register );
+
+      if( register == 0 )
+        zeros++;
+      }
+
+    double estimate = alpha( m ) * m * m / sum;
+
+    if( estimate <= 2.5 * m && zeros != 0 )
+      estimate = m * Math.log( (double) m / zeros ); // linear counting
+
+    return Math.round( estimate );
+    }
+
+  private static double alpha( int m )
+    {
+    switch( m )
+      {
+      case 16:
+        return 0.673;
+      case 32:
+        return 0.697;
+      case 64:
+        return 0.709;
+      default:
+        return 0.7213 / ( 1 + 1.079 / m );
+      }
+    }
+
+  /** Returns a 64 bit hash of the given value, FNV-1a over its chars followed by a finalizer to spread the bits. */
+  static long hash( String value )
+    {
+    long hash = 0xcbf29ce484222325L;
+
+    for( int i = 0; i < value.length(); i++ )
+      {
+      hash ^= value.charAt( i );
+      hash *= 0x100000001b3L;
+      }
+
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+
+    return hash;
+    }
+
+  /** Returns the registers as a String, one printable character per register. */
+  @Override
+  public String toString()
+    {
+    char[] chars = new char[ registers.length ];
+
+    for( int i = 0; i < registers.length; i++ )
+      chars[ i ] = (char) ( ZERO + registers[ i ] );
+
+    return new String( chars );
+    }
+
+  /** Returns the HyperLogLog for the given registers, as returned by {@link #toString()}. */
+  public static HyperLogLog valueOf( String value )
+    {
+    int precision = Integer.numberOfTrailingZeros( value.length() );
+
+    if( value.length() != 1 << precision )
+      throw new IllegalArgumentException( "number of registers must be a power of two, got: " + value.length() );
+
+    HyperLogLog hyperLogLog = new HyperLogLog( precision );
+
+    for( int i = 0; i < value.length(); i++ )
+      hyperLogLog.registers[ i ] = (byte) ( value.charAt( i ) - ZERO );
+
+    return hyperLogLog;
+    }
+  }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.sketch;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Properties;
+
+import cascading.flow.Flow;
+import cascading.load.Options;
+import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
+import cascading.operation.Insert;
+import cascading.operation.regex.RegexSplitGenerator;
+import cascading.pipe.Each;
+import cascading.pipe.Pipe;
+import cascading.pipe.assembly.Discard;
+import cascading.stats.FlowStats;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+
+/**
+ * Class SketchDistinct estimates the distinct words of the test corpus with a {@link HyperLogLog} per task, merged
+ * after the shuffle, see {@link DistinctBy}. Only one tuple per task is shuffled, where {@link ExactDistinct} shuffles
+ * every word.
+ * <p/>
+ * With --sketch-verify the estimate is compared to the answer of {@link ExactDistinct}, which is then run as well.
+ */
+@LoadDefinition(name = "sketch-distinct", category = "sketch", selector = "isSketchDistinct", variantOf = "exact-distinct")
+public class SketchDistinct extends Load
+  {
+  public SketchDistinct( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  public Flow createFlow() throws Exception
+    {
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "sketch-distinct" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexSplitGenerator( new Fields( "word" ), "\\s" ) );
+
+    pipe = new Each( pipe, new Insert( new Fields( "all" ), "all" ), Fields.ALL );
+
+    pipe = new DistinctBy( pipe, new Fields( "all" ), new Fields( "word" ), new Fields( "distinct" ), options.getSketchPrecision(), options.getAggregateByCapacity() );
+
+    pipe = new Discard( pipe, new Fields( "all" ) );
+
+    return platform.newFlowConnector( properties ).connect( "sketch-distinct", source, sink, pipe );
+    }
+
+  @Override
+  public void printSummary( PrintWriter writer, FlowStats flowStats ) throws IOException
+    {
+    if( !options.isSketchVerify() )
+      return;
+
+    long estimate = getDistinct( readOutput( getOutputPaths()[ 0 ] ) );
+    long exact = getDistinct( readOutput( new ExactDistinct( options, properties ).getOutputPaths()[ 0 ] ) );
+
+    writer.printf( "Sketch: %s%n", flowStats.getName() );
+    writer.printf( "  estimate: %d%n", estimate );
+    writer.printf( "  exact:    %d%n", exact );
+    writer.printf( "  error:    %+.2f%% (expected standard error %.2f%%)%n", exact == 0 ? 0 : 100.0 * ( estimate - exact ) / exact,
+      100 * 1.04 / Math.sqrt( 1 << options.getSketchPrecision() ) );
+    writer.flush();
+    }
+
+  private static long getDistinct( List<Tuple> tuples )
+    {
+    return tuples.isEmpty() ? 0 : Long.parseLong( tuples.get( 0 ).getString( 0 ) );
+    }
+
+  @Override
+  public String[] getInputPaths()
+    {
+    return new String[]{options.getInputRoot()};
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{options.getOutputRoot() + "sketchdistinct"};
+    }
+  }
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.sketch;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import cascading.flow.Flow;
+import cascading.load.Options;
+import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
+import cascading.load.countsort.CountSort;
+import cascading.operation.Insert;
+import cascading.operation.regex.RegexSplitGenerator;
+import cascading.pipe.Each;
+import cascading.pipe.Pipe;
+import cascading.pipe.assembly.Discard;
+import cascading.stats.FlowStats;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+
+/**
+ * Class SketchTopK finds the most frequent words of the test corpus with a {@link SpaceSaving} summary per task,
+ * merged after the shuffle, see {@link TopKBy}. {@link CountSort} finds them by counting and sorting every word.
+ * <p/>
+ * With --sketch-verify the counts are compared to the exact counts of {@link CountSort}, which is then run as well.
+ */
+@LoadDefinition(name = "sketch-top-k", category = "sketch", selector = "isSketchTopK", variantOf = "count-sort")
+public class SketchTopK extends Load
+  {
+  public SketchTopK( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  public Flow createFlow() throws Exception
+    {
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+
+    Pipe pipe = new Pipe( "sketch-top-k" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new RegexSplitGenerator( new Fields( "word" ), "\\s" ) );
+
+    pipe = new Each( pipe, new Insert( new Fields( "all" ), "all" ), Fields.ALL );
+
+    Fields declaredFields = new Fields( "word", "count", "error" );
+
+    pipe = new TopKBy( pipe, new Fields( "all" ), new Fields( "word" ), declaredFields, options.getSketchTopKSize(), options.getSketchCounters(), options.getAggregateByCapacity() );
+
+    pipe = new Discard( pipe, new Fields( "all" ) );
+
+    return platform.newFlowConnector( properties ).connect( "sketch-top-k", source, sink, pipe );
+    }
+
+  @Override
+  public void printSummary( PrintWriter writer, FlowStats flowStats ) throws IOException
+    {
+    if( !options.isSketchVerify() )
+      return;
+
+    Map<String, Long> exact = new HashMap<String, Long>();
+
+    for( Tuple tuple : readOutput( new CountSort( options, properties ).getOutputPaths()[ 0 ] ) )
+      exact.put( tuple.getString( 0 ), Long.parseLong( tuple.getString( 1 ) ) );
+
+    List<Tuple> estimates = readOutput( getOutputPaths()[ 0 ] );
+
+    // the count of the k-th most frequent word, ties at k make more than k words correct answers
+    List<Long> counts = new ArrayList<Long>( exact.values() );
+
+    Collections.sort( counts, Collections.reverseOrder() );
+
+    long threshold = counts.isEmpty() ? 0 : counts.get( Math.min( estimates.size(), counts.size() ) - 1 );
+
+    int correct = 0;
+    int outOfBounds = 0;
+    double maxError = 0;
+
+    for( Tuple tuple : estimates )
+      {
+      long count = Long.parseLong( tuple.getString( 1 ) );
+      long error = Long.parseLong( tuple.getString( 2 ) );
+      Long actual = exact.get( tuple.getString( 0 ) );
+      long value = actual == null ? 0 : actual;
+
+      if( value >= threshold )
+        correct++;
+
+      if( value < count - error || value > count )
+        outOfBounds++;
+
+      if( value != 0 )
+        maxError = Math.max( maxError, (double) ( count - value ) / value );
+      }
+
+    writer.printf( "Sketch: %s%n", flowStats.getName() );
+    writer.printf( "  top k:           %d of %d words, %d counters%n", estimates.size(), exact.size(), options.getSketchCounters() );
+    writer.printf( "  precision:       %.2f%%%n", estimates.isEmpty() ? 100.0 : 100.0 * correct / estimates.size() );
+    writer.printf( "  max count error: %+.2f%%%n", 100 * maxError );
+    writer.printf( "  out of bounds:   %d%n", outOfBounds );
+    writer.flush();
+    }
+
+  @Override
+  public String[] getInputPaths()
+    {
+    return new String[]{options.getInputRoot()};
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{options.getOutputRoot() + "sketchtopk"};
+    }
+  }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.sketch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Class SpaceSaving finds the most frequent values offered to it with a fixed number of counters, the Space-Saving
+ * algorithm of Metwally, Agrawal and El Abbadi.
+ * <p/>
+ * When all counters are taken, a new value replaces the value with the smallest count and inherits that count as
+ * its error. So every count over estimates the true count by at most its error, and every value whose true count is
+ * more than the total of all counts divided by the number of counters is guaranteed to have a counter.
+ * <p/>
+ * Two summaries are merged as in Agarwal et al., Mergeable Summaries, so a partial summary can be made on the map side
+ * and merged on the reduce side. Between the two, a summary travels as a String, see {@link #toString()} and
+ * {@link #valueOf(int, String)}. Values must not contain tabs or newlines.
+ */
+public class SpaceSaving
+  {
+  /** Class Counter holds the count of a value, and by how much that count may over estimate the true count. */
+  public static class Counter
+    {
+    final String value;
+    long count;
+    long error;
+
+    Counter( String value, long count, long error )
+      {
+      this.value = value;
+      this.count = count;
+      this.error = error;
+      }
+
+    public String getValue()
+      {
+      return value;
+      }
+
+    public long getCount()
+      {
+      return count;
+      }
+
+    public long getError()
+      {
+      return error;
+      }
+    }
+
+  private static final Comparator<Counter> BY_COUNT = new Comparator<Counter>()
+  {
+  @Override
+  public int compare( Counter lhs, Counter rhs )
+    {
+    if( lhs.count != rhs.count )
+      return lhs.count < rhs.count ? -1 : 1;
+
+    return lhs.value.compareTo( rhs.value );
+    }
+  };
+
+  private final int capacity;
+  private final Map<String, Counter> counters = new HashMap<String, Counter>();
+  private final TreeSet<Counter> ordered = new TreeSet<Counter>( BY_COUNT );
+
+  public SpaceSaving( int capacity )
+    {
+    if( capacity < 1 )
+      throw new IllegalArgumentException( "capacity must be at least 1, got: " + capacity );
+
+    this.capacity = capacity;
+    }
+
+  public int getCapacity()
+    {
+    return capacity;
+    }
+
+  public void offer( String value )
+    {
+    offer( value, 1 );
+    }
+
+  public void offer( String value, long increment )
+    {
+    Counter counter = counters.get( value );
+
+    if( counter != null )
+      {
+      ordered.remove( counter );
+      counter.count += increment;
+      ordered.add( counter );
+      return;
+      }
+
+    if( counters.size() < capacity )
+      {
+      add( new Counter( value, increment, 0 ) );
+      return;
+      }
+
+    Counter smallest = ordered.pollFirst();
+
+    counters.remove( smallest.value );
+    add( new Counter( value, smallest.count + increment, smallest.count ) );
+    }
+
+  private void add( Counter counter )
+    {
+    counters.put( counter.value, counter );
+    ordered.add( counter );
+    }
+
+  /** Returns the smallest count, or zero while there are free counters, the most a missing value can have been seen. */
+  long getMissingCount()
+    {
+    return counters.size() < capacity ? 0 : ordered.first().count;
+    }
+
+  public void merge( SpaceSaving other )
+    {
+    long missing = getMissingCount();
+    long otherMissing = other.getMissingCount();
+
+    Set<String> values = new HashSet<String>( counters.keySet() );
+
+    values.addAll( other.counters.keySet() );
+
+    List<Counter> merged = new ArrayList<Counter>( values.size() );
+
+    for( String value : values )
+      {
+      Counter lhs = counters.get( value );
+      Counter rhs = other.counters.get( value );
+
+      long count = ( lhs == null ? missing : lhs.count ) + ( rhs == null ? otherMissing : rhs.count );
+      long error = ( lhs == null ? missing : lhs.error ) + ( rhs == null ? otherMissing : rhs.error );
+
+      merged.add( new Counter( value, count, error ) );
+      }
+
+    Collections.sort( merged, Collections.reverseOrder( BY_COUNT ) );
+
+    counters.clear();
+    ordered.clear();
+
+    for( Counter counter : merged.subList( 0, Math.min( capacity, merged.size() ) ) )
+      add( counter );
+    }
+
+  /** Returns at most k counters, largest count first. */
+  public List<Counter> top( int k )
+    {
+    List<Counter> top = new ArrayList<Counter>( Math.min( k, counters.size() ) );
+
+    for( Counter counter : ordered.descendingSet() )
+      {
+      if( top.size() == k )
+        break;
+
+      top.add( counter );
+      }
+
+    return top;
+    }
+
+  /** Returns all counters as lines of value, count, and error, separated by tabs. */
+  @Override
+  public String toString()
+    {
+    StringBuilder builder = new StringBuilder();
+
+    for( Counter counter : ordered.descendingSet() )
+      builder.append( counter.value ).append( '\t' ).append( counter.count ).append( '\t' ).append( counter.error ).append( '\n' );
+
+    return builder.toString();
+    }
+
+  /** Returns the summary with the given capacity for the counters returned by {@link #toString()}. */
+  public static SpaceSaving valueOf( int capacity, String value )
+    {
+    SpaceSaving spaceSaving = new SpaceSaving( capacity );
+
+    for( String line : value.split( "\n" ) )
+      {
+      if( line.isEmpty() )
+        continue;
+
+      String[] parts = line.split( "\t" );
+
+      spaceSaving.add( new Counter( parts[ 0 ], Long.parseLong( parts[ 1 ] ), Long.parseLong( parts[ 2 ] ) ) );
+      }
+
+    return spaceSaving;
+    }
+  }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.sketch;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.Aggregator;
+import cascading.operation.AggregatorCall;
+import cascading.operation.BaseOperation;
+import cascading.pipe.Pipe;
+import cascading.pipe.assembly.AggregateBy;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+
+/**
+ * Class TopKBy is an {@link AggregateBy} that finds the k most frequent values of the value field per grouping, with
+ * a {@link SpaceSaving} summary, and declares one tuple per value with its count and the error of that count.
+ * <p/>
+ * Every task counts into one summary per grouping before the shuffle, so only the counters are shuffled, and the
+ * summaries of all tasks are merged after the shuffle.
+ */
+public class TopKBy extends AggregateBy
+  {
+  /** Class TopKPartials offers every value to the summary of its grouping, and completes to its counters. */
+  public static class TopKPartials implements Functor
+    {
+    private final Fields declaredFields;
+    private final int counters;
+
+    public TopKPartials( Fields declaredFields, int counters )
+      {
+      this.declaredFields = declaredFields;
+      this.counters = counters;
+      }
+
+    @Override
+    public Fields getDeclaredFields()
+      {
+      return declaredFields;
+      }
+
+    @Override
+    public Tuple aggregate( FlowProcess flowProcess, TupleEntry args, Tuple context )
+      {
+      if( context == null )
+        context = new Tuple( new SpaceSaving( counters ) );
+
+      Object value = args.getObject( 0 );
+
+      if( value != null )
+        ( (SpaceSaving) context.getObject( 0 ) ).offer( value.toString() );
+
+      return context;
+      }
+
+    @Override
+    public Tuple complete( FlowProcess flowProcess, Tuple context )
+      {
+      return new Tuple( context.getObject( 0 ).toString() );
+      }
+    }
+
+  /** Class TopKFinal merges the summaries of every task, and completes to the k largest counters. */
+  public static class TopKFinal extends BaseOperation<SpaceSaving[]> implements Aggregator<SpaceSaving[]>
+    {
+    private final int k;
+    private final int counters;
+
+    public TopKFinal( Fields declaredFields, int k, int counters )
+      {
+      super( 1, declaredFields );
+
+      if( declaredFields.size() != 3 )
+        throw new IllegalArgumentException( "declared fields must be value, count, and error fields, got: " + declaredFields );
+
+      this.k = k;
+      this.counters = counters;
+      }
+
+    @Override
+    public void start( FlowProcess flowProcess, AggregatorCall<SpaceSaving[]> aggregatorCall )
+      {
+      if( aggregatorCall.getContext() == null )
+        aggregatorCall.setContext( new SpaceSaving[ 1 ] );
+
+      aggregatorCall.getContext()[ 0 ] = new SpaceSaving( counters );
+      }
+
+    @Override
+    public void aggregate( FlowProcess flowProcess, AggregatorCall<SpaceSaving[]> aggregatorCall )
+      {
+      String partial = aggregatorCall.getArguments().getString( 0 );
+
+      aggregatorCall.getContext()[ 0 ].merge( SpaceSaving.valueOf( counters, partial ) );
+      }
+
+    @Override
+    public void complete( FlowProcess flowProcess, AggregatorCall<SpaceSaving[]> aggregatorCall )
+      {
+      for( SpaceSaving.Counter counter : aggregatorCall.getContext()[ 0 ].top( k ) )
+        aggregatorCall.getOutputCollector().add( new Tuple( counter.getValue(), counter.getCount(), counter.getError() ) );
+      }
+    }
+
+  /**
+   * @param valueField     the field holding the values to count
+   * @param declaredFields the value, count, and error fields to declare
+   * @param k              the number of values to declare per grouping
+   * @param counters       the number of counters per grouping, at least k, more counters give more accurate counts
+   * @param capacity       the number of groupings held in memory per task, 0 for the default
+   */
+  public TopKBy( Pipe pipe, Fields groupingFields, Fields valueField, Fields declaredFields, int k, int counters, int capacity )
+    {
+    super( null, Pipe.pipes( pipe ), groupingFields, valueField, new TopKPartials( new Fields( "counters" ), counters ), new TopKFinal( declaredFields, k, counters ), capacity );
+    }
+  }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.spill;
+
+import java.util.Iterator;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Buffer;
+import cascading.operation.BufferCall;
+import cascading.operation.OperationCall;
+import cascading.pipe.joiner.JoinerClosure;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+
+/**
+ * Class AccumulatedBuffer follows a two sided {@link cascading.pipe.CoGroup} with a
+ * {@link cascading.pipe.joiner.BufferJoin}. It reads the second, accumulated side of every group, the side collected
+ * into a spillable list that spills once a group has more tuples than the spill threshold, then the first side, which
+ * is streamed from the shuffle, and declares the key and the size of both sides.
+ * <p/>
+ * The time spent reading the accumulated side, its tuples, and its bytes, counted as one byte per character of the
+ * first field, are counted in the {@link Accumulated} counters, so the time includes reading back any spills.
+ */
+public class AccumulatedBuffer extends BaseOperation<long[]> implements Buffer<long[]>
+  {
+  public enum Accumulated
+    {
+    Groups, Tuples, Bytes, Read_Duration_Millis, Streamed_Tuples
+    }
+
+  public AccumulatedBuffer( Fields fieldDeclaration )
+    {
+    super( fieldDeclaration );
+    }
+
+  @Override
+  public void prepare( FlowProcess flowProcess, OperationCall<long[]> operationCall )
+    {
+    operationCall.setContext( new long[ 1 ] ); // read nanos not yet counted as millis
+    }
+
+  @Override
+  public void operate( FlowProcess flowProcess, BufferCall<long[]> bufferCall )
+    {
+    JoinerClosure closure = bufferCall.getJoinerClosure();
+
+    long start = System.nanoTime();
+    long tuples = 0;
+    long bytes = 0;
+
+    Iterator<Tuple> accumulated = closure.getIterator( 1 );
+
+    while( accumulated.hasNext() )
+      {
+      Tuple tuple = accumulated.next();
+
+      tuples++;
+      bytes += tuple.getString( 0 ).length();
+      }
+
+    long[] readNanos = bufferCall.getContext();
+
+    readNanos[ 0 ] += System.nanoTime() - start;
+
+    long streamed = 0;
+    Iterator<Tuple> iterator = closure.getIterator( 0 );
+
+    while( iterator.hasNext() )
+      {
+      iterator.next();
+      streamed++;
+      }
+
+    flowProcess.increment( Accumulated.Groups, 1 );
+    flowProcess.increment( Accumulated.Tuples, tuples );
+    flowProcess.increment( Accumulated.Bytes, bytes );
+    flowProcess.increment( Accumulated.Read_Duration_Millis, readNanos[ 0 ] / 1000000 );
+    flowProcess.increment( Accumulated.Streamed_Tuples, streamed );
+
+    readNanos[ 0 ] %= 1000000;
+
+    bufferCall.getOutputCollector().add( new Tuple( bufferCall.getGroup().getObject( 0 ), tuples, streamed ) );
+    }
+  }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.spill;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.BaseOperation;
+import cascading.operation.Function;
+import cascading.operation.FunctionCall;
+import cascading.operation.OperationCall;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+
+/**
+ * Class GroupKey declares a key shared by every run of group size consecutive tuples of a task, so grouping on the key
+ * makes groups of exactly the group size, but for the last group of each task.
+ * <p/>
+ * Keys are prefixed with the slice number of the task, so tasks never share keys.
+ */
+public class GroupKey extends BaseOperation<GroupKey.Context> implements Function<GroupKey.Context>
+  {
+  static class Context
+    {
+    final String prefix;
+    final Tuple result = Tuple.size( 1 );
+    long count;
+
+    Context( String prefix )
+      {
+      this.prefix = prefix;
+      }
+    }
+
+  private final int groupSize;
+
+  public GroupKey( Fields fieldDeclaration, int groupSize )
+    {
+    super( fieldDeclaration );
+
+    if( groupSize < 1 )
+      throw new IllegalArgumentException( "group size must be at least 1, got: " + groupSize );
+
+    this.groupSize = groupSize;
+    }
+
+  @Override
+  public void prepare( FlowProcess flowProcess, OperationCall<Context> operationCall )
+    {
+    operationCall.setContext( new Context( flowProcess.getCurrentSliceNum() + ":" ) );
+    }
+
+  @Override
+  public void operate( FlowProcess flowProcess, FunctionCall<Context> functionCall )
+    {
+    Context context = functionCall.getContext();
+
+    context.result.set( 0, context.prefix + context.count++ / groupSize );
+
+    functionCall.getOutputCollector().add( context.result );
+    }
+
+  @Override
+  public boolean equals( Object object )
+    {
+    if( this == object )
+      return true;
+    if( !( object instanceof GroupKey ) )
+      return false;
+    if( !super.equals( object ) )
+      return false;
+
+    return groupSize == ( (GroupKey) object ).groupSize;
+    }
+
+  @Override
+  public int hashCode()
+    {
+    return 31 * super.hashCode() + groupSize;
+    }
+  }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.spill;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Properties;
+
+import cascading.flow.Flow;
+import cascading.load.Options;
+import cascading.load.common.Load;
+import cascading.load.common.LoadDefinition;
+import cascading.load.util.StatsPrinter;
+import cascading.pipe.CoGroup;
+import cascading.pipe.Each;
+import cascading.pipe.Every;
+import cascading.pipe.Pipe;
+import cascading.pipe.joiner.BufferJoin;
+import cascading.stats.FlowStats;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+
+/**
+ * Class SpillGroups joins the test corpus with itself into groups of exactly --spill-group-size lines per side, see
+ * {@link GroupKey}, and reads every group with the {@link AccumulatedBuffer}.
+ * <p/>
+ * On the hadoop platforms the leftmost side of a CoGroup is streamed from the shuffle, and every side to its right is
+ * accumulated in memory and spills to disk once it holds more tuples than the spill threshold, -TS, so the accumulated
+ * pipe is joined on the right, and the group size and the threshold control how much is spilled. Reading the accumulated side is
+ * timed, and the spill counters of Cascading are reported next to it. The local platform never spills.
+ */
+@LoadDefinition(name = "spill", category = "spill", selector = "isSpill")
+public class SpillGroups extends Load
+  {
+  public SpillGroups( Options options, Properties properties )
+    {
+    super( options, properties );
+    }
+
+  @Override
+  public Flow createFlow() throws Exception
+    {
+    Tap source = platform.newTap( newSourceScheme(), getInputPaths()[ 0 ] );
+    Tap sink = platform.newTap( newSinkScheme(), getOutputPaths()[ 0 ], SinkMode.REPLACE );
+
+    int groupSize = options.getSpillGroupSize();
+
+    Pipe pipe = new Pipe( "spill-source" );
+
+    pipe = new Each( pipe, new Fields( "line" ), new GroupKey( new Fields( "key" ), groupSize ), Fields.ALL );
+
+    Pipe accumulated = new Pipe( "accumulated", pipe );
+    Pipe streamed = new Pipe( "streamed", pipe );
+
+    Fields declared = new Fields( "line", "key", "line2", "key2" );
+
+    pipe = new CoGroup( "spill", streamed, new Fields( "key" ), accumulated, new Fields( "key" ), declared, new BufferJoin() );
+
+    pipe = new Every( pipe, Fields.ALL, new AccumulatedBuffer( new Fields( "key", "accumulated", "streamed" ) ), Fields.RESULTS );
+
+    return platform.newFlowConnector( properties ).connect( "spill", source, sink, pipe );
+    }
+
+  @Override
+  public void printSummary( PrintWriter writer, FlowStats flowStats ) throws IOException
+    {
+    long tuples = flowStats.getCounterValue( AccumulatedBuffer.Accumulated.Tuples );
+    long bytes = flowStats.getCounterValue( AccumulatedBuffer.Accumulated.Bytes );
+    long tuplesSpilled = StatsPrinter.getSpillCounter( flowStats, "Num_Tuples_Spilled" );
+
+    writer.printf( "Spill: %s%n", flowStats.getName() );
+    writer.printf( "  group size:       %d, spill threshold: %d%n", options.getSpillGroupSize(), options.getTupleSpillThreshold() );
+    writer.printf( "  groups:           %d%n", flowStats.getCounterValue( AccumulatedBuffer.Accumulated.Groups ) );
+    writer.printf( "  accumulated:      %d tuples, %d bytes%n", tuples, bytes );
+    writer.printf( "  read accumulated: %d ms%n", flowStats.getCounterValue( AccumulatedBuffer.Accumulated.Read_Duration_Millis ) );
+    writer.printf( "  spills:           %d written, %d read%n", StatsPrinter.getSpillCounter( flowStats, "Num_Spills_Written" ), StatsPrinter.getSpillCounter( flowStats, "Num_Spills_Read" ) );
+    writer.printf( "  spilled:          %d tuples, about %d bytes%n", tuplesSpilled, tuples == 0 ? 0 : tuplesSpilled * bytes / tuples );
+    writer.printf( "  write spills:     %d ms%n", StatsPrinter.getSpillCounter( flowStats, "Duration_Millis_Written" ) );
+    writer.flush();
+    }
+
+  @Override
+  public String[] getInputPaths()
+    {
+    return new String[]{options.getInputRoot()};
+    }
+
+  @Override
+  public String[] getOutputPaths()
+    {
+    return new String[]{options.getOutputRoot() + "spill"};
+    }
+  }
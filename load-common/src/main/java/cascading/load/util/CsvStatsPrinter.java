@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.util;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import cascading.load.platform.CascadingLoadPlatform;
+import cascading.stats.CascadeStats;
+import cascading.stats.CascadingStats;
+
+/**
+ * Class CsvStatsPrinter prints the stats of a run as CSV in long form, one metric per row, so every counter of every
+ * counter group can be kept without a fixed set of columns.
+ * <p/>
+ * Each row names the Cascade, Flow, Step, and Node it belongs to, the last non empty one being the row's own.
+ * All times are in milliseconds, counters are named by their group and counter name joined with a colon.
+ */
+public class CsvStatsPrinter
+  {
+  public static final String[] HEADER = {"platform", "type", "cascade", "flow", "step", "node", "metric", "value"};
+
+  CascadingLoadPlatform platform;
+
+  public CsvStatsPrinter( CascadingLoadPlatform platform )
+    {
+    this.platform = platform;
+    }
+
+  public void printStats( PrintWriter writer, CascadeStats cascadeStats )
+    {
+    printRow( writer, (Object[]) HEADER );
+
+    printStats( writer, cascadeStats, new String[ 4 ], 0 );
+
+    writer.flush();
+    }
+
+  private void printStats( PrintWriter writer, CascadingStats cascadingStats, String[] names, int depth )
+    {
+    names[ depth ] = cascadingStats.getName();
+
+    for( int i = depth + 1; i < names.length; i++ )
+      names[ i ] = null;
+
+    String type = StatsMetrics.getType( cascadingStats );
+
+    printMetric( writer, type, names, "status", cascadingStats.getStatus() );
+
+    for( Map.Entry<String, Long> entry : StatsMetrics.getTimes( platform, cascadingStats ).entrySet() )
+      printMetric( writer, type, names, entry.getKey(), entry.getValue() );
+
+    for( Map.Entry<String, Map<String, Long>> group : StatsMetrics.getCounters( cascadingStats ).entrySet() )
+      {
+      for( Map.Entry<String, Long> counter : group.getValue().entrySet() )
+        printMetric( writer, type, names, group.getKey() + ":" + counter.getKey(), counter.getValue() );
+      }
+
+    for( CascadingStats child : StatsMetrics.getChildren( cascadingStats ) )
+      printStats( writer, child, names, depth + 1 );
+    }
+
+  private void printMetric( PrintWriter writer, String type, String[] names, String metric, Object value )
+    {
+    printRow( writer, platform.getName(), type, names[ 0 ], names[ 1 ], names[ 2 ], names[ 3 ], metric, value );
+    }
+
+  private static void printRow( PrintWriter writer, Object... values )
+    {
+    for( int i = 0; i < values.length; i++ )
+      {
+      if( i != 0 )
+        writer.print( ',' );
+
+      writer.print( quote( values[ i ] ) );
+      }
+
+    writer.println();
+    }
+
+  static String quote( Object value )
+    {
+    if( value == null )
+      return "";
+
+    String string = value.toString();
+
+    if( string.indexOf( ',' ) == -1 && string.indexOf( '"' ) == -1 && string.indexOf( '\n' ) == -1 && string.indexOf( '\r' ) == -1 )
+      return string;
+
+    return '"' + string.replace( "\"", "\"\"" ) + '"';
+    }
+
+  /** Splits a row written by {@link #printRow}, empty values are returned as null. */
+  static List<String> parse( String line )
+    {
+    List<String> values = new ArrayList<String>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    boolean wasQuoted = false;
+
+    for( int i = 0; i < line.length(); i++ )
+      {
+      char c = line.charAt( i );
+
+      if( quoted )
+        {
+        if( c != '"' )
+          value.append( c );
+        else if( i + 1 < line.length() && line.charAt( i + 1 ) == '"' )
+          value.append( line.charAt( ++i ) );
+        else
+          quoted = false;
+        }
+      else if( c == '"' )
+        {
+        quoted = true;
+        wasQuoted = true;
+        }
+      else if( c == ',' )
+        {
+        values.add( value.length() == 0 && !wasQuoted ? null : value.toString() );
+        value.setLength( 0 );
+        wasQuoted = false;
+        }
+      else
+        {
+        value.append( c );
+        }
+      }
+
+    values.add( value.length() == 0 && !wasQuoted ? null : value.toString() );
+
+    return values;
+    }
+  }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import cascading.stats.CascadeStats;
+import cascading.stats.FlowStats;
+
+/**
+ * Class IterationStats collects the duration of every Flow over repeated iterations of the same loads, and
+ * summarizes them per Flow. Durations are in milliseconds.
+ */
+public class IterationStats
+  {
+  /** two sided 97.5% quantiles of the t distribution for 1 through 30 degrees of freedom */
+  private static final double[] T_975 = {
+    12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+    2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+    2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+  };
+
+  private final Map<String, List<Long>> durations = new LinkedHashMap<String, List<Long>>();
+
+  public void add( CascadeStats cascadeStats )
+    {
+    for( FlowStats flowStats : cascadeStats.getChildren() )
+      {
+      if( !durations.containsKey( flowStats.getName() ) )
+        durations.put( flowStats.getName(), new ArrayList<Long>() );
+
+      durations.get( flowStats.getName() ).add( flowStats.getDuration() );
+      }
+    }
+
+  public Map<String, Summary> getSummaries()
+    {
+    Map<String, Summary> summaries = new LinkedHashMap<String, Summary>();
+
+    for( Map.Entry<String, List<Long>> entry : durations.entrySet() )
+      summaries.put( entry.getKey(), new Summary( entry.getValue() ) );
+
+    return summaries;
+    }
+
+  /** Class Summary holds the order statistics, mean, and a 95% confidence interval of the mean of a sample. */
+  public static class Summary
+    {
+    private final int count;
+    private final long min;
+    private final long max;
+    private final double median;
+    private final long p90;
+    private final double mean;
+    private final double stddev;
+    private final double confidence;
+
+    Summary( List<Long> values )
+      {
+      long[] sorted = new long[ values.size() ];
+
+      for( int i = 0; i < sorted.length; i++ )
+        sorted[ i ] = values.get( i );
+
+      Arrays.sort( sorted );
+
+      count = sorted.length;
+      min = sorted[ 0 ];
+      max = sorted[ count - 1 ];
+      median = count % 2 == 1 ? sorted[ count / 2 ] : ( sorted[ count / 2 - 1 ] + sorted[ count / 2 ] ) / 2.0;
+      p90 = sorted[ (int) Math.ceil( 0.9 * count ) - 1 ]; // nearest rank
+
+      double sum = 0;
+
+      for( long value : sorted )
+        sum += value;
+
+      mean = sum / count;
+
+      double squares = 0;
+
+      for( long value : sorted )
+        squares += ( value - mean ) * ( value - mean );
+
+      stddev = count < 2 ? 0 : Math.sqrt( squares / ( count - 1 ) );
+      confidence = count < 2 ? 0 : tQuantile( count - 1 ) * stddev / Math.sqrt( count );
+      }
+
+    private static double tQuantile( int degreesOfFreedom )
+      {
+      return degreesOfFreedom <= T_975.length ? T_975[ degreesOfFreedom - 1 ] : 1.960;
+      }
+
+    public int getCount()
+      {
+      return count;
+      }
+
+    public long getMin()
+      {
+      return min;
+      }
+
+    public long getMax()
+      {
+      return max;
+      }
+
+    public double getMedian()
+      {
+      return median;
+      }
+
+    public long getP90()
+      {
+      return p90;
+      }
+
+    public double getMean()
+      {
+      return mean;
+      }
+
+    public double getStddev()
+      {
+      return stddev;
+      }
+
+    /** Returns the half width of the 95% confidence interval of the mean, zero for a single value. */
+    public double getConfidence()
+      {
+      return confidence;
+      }
+
+    /** Returns the half width of the 95% confidence interval as a percent of the mean. */
+    public double getRelativeConfidence()
+      {
+      return mean == 0 ? 0 : 100 * confidence / mean;
+      }
+    }
+  }
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.util;
+
+import java.io.PrintWriter;
+import java.util.Iterator;
+import java.util.Map;
+
+import cascading.load.platform.CascadingLoadPlatform;
+import cascading.stats.CascadeStats;
+import cascading.stats.CascadingStats;
+
+/**
+ * Class JsonStatsPrinter prints the stats of a run as a single JSON document, nesting each Cascade, Flow, Step,
+ * and Node in its parent, with every time in milliseconds and every counter of every counter group.
+ */
+public class JsonStatsPrinter
+  {
+  CascadingLoadPlatform platform;
+
+  public JsonStatsPrinter( CascadingLoadPlatform platform )
+    {
+    this.platform = platform;
+    }
+
+  public void printStats( PrintWriter writer, CascadeStats cascadeStats, String options )
+    {
+    writer.println( "{" );
+    writer.printf( "  \"platform\": %s,%n", quote( platform.getName() ) );
+    writer.printf( "  \"options\": %s,%n", quote( options ) );
+    writer.print( "  \"cascade\": " );
+
+    printStats( writer, cascadeStats, "  " );
+
+    writer.println();
+    writer.println( "}" );
+    writer.flush();
+    }
+
+  private void printStats( PrintWriter writer, CascadingStats cascadingStats, String indent )
+    {
+    String inner = indent + "  ";
+
+    writer.println( "{" );
+    writer.printf( "%s\"type\": %s,%n", inner, quote( StatsMetrics.getType( cascadingStats ) ) );
+    writer.printf( "%s\"id\": %s,%n", inner, quote( cascadingStats.getID() ) );
+    writer.printf( "%s\"name\": %s,%n", inner, quote( cascadingStats.getName() ) );
+    writer.printf( "%s\"status\": %s,%n", inner, quote( String.valueOf( cascadingStats.getStatus() ) ) );
+
+    for( Map.Entry<String, Long> entry : StatsMetrics.getTimes( platform, cascadingStats ).entrySet() )
+      writer.printf( "%s%s: %d,%n", inner, quote( entry.getKey() ), entry.getValue() );
+
+    writer.printf( "%s\"counters\": {", inner );
+
+    Iterator<Map.Entry<String, Map<String, Long>>> groups = StatsMetrics.getCounters( cascadingStats ).entrySet().iterator();
+
+    while( groups.hasNext() )
+      {
+      Map.Entry<String, Map<String, Long>> group = groups.next();
+
+      writer.printf( "%n%s  %s: {", inner, quote( group.getKey() ) );
+
+      Iterator<Map.Entry<String, Long>> counters = group.getValue().entrySet().iterator();
+
+      while( counters.hasNext() )
+        {
+        Map.Entry<String, Long> counter = counters.next();
+
+        writer.printf( "%s: %d%s", quote( counter.getKey() ), counter.getValue(), counters.hasNext() ? ", " : "" );
+        }
+
+      writer.print( groups.hasNext() ? "}," : "}" );
+      }
+
+    writer.printf( "%n%s},%n", inner );
+    writer.printf( "%s\"children\": [", inner );
+
+    Iterator<CascadingStats> children = StatsMetrics.getChildren( cascadingStats ).iterator();
+
+    while( children.hasNext() )
+      {
+      writer.printf( "%n%s  ", inner );
+
+      printStats( writer, children.next(), inner + "  " );
+
+      if( children.hasNext() )
+        writer.print( "," );
+      }
+
+    writer.printf( "%n%s]%n", inner );
+    writer.printf( "%s}", indent );
+    }
+
+  static String quote( String value )
+    {
+    if( value == null )
+      return "null";
+
+    StringBuilder builder = new StringBuilder( value.length() + 2 );
+
+    builder.append( '"' );
+
+    for( int i = 0; i < value.length(); i++ )
+      {
+      char c = value.charAt( i );
+
+      switch( c )
+        {
+        case '"':
+          builder.append( "\\\"" );
+          break;
+        case '\\':
+          builder.append( "\\\\" );
+          break;
+        case '\n':
+          builder.append( "\\n" );
+          break;
+        case '\r':
+          builder.append( "\\r" );
+          break;
+        case '\t':
+          builder.append( "\\t" );
+          break;
+        default:
+          if( c < 0x20 )
+            builder.append( String.format( "\\u%04x", (int) c ) );
+          else
+            builder.append( c );
+        }
+      }
+
+    return builder.append( '"' ).toString();
+    }
+  }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import cascading.flow.SliceCounters;
+import cascading.load.platform.CascadingLoadPlatform;
+import cascading.stats.CascadeStats;
+import cascading.stats.FlowNodeStats;
+import cascading.stats.FlowStats;
+import cascading.stats.FlowStepStats;
+import cascading.tap.SinkMode;
+import cascading.tap.Tap;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntryCollector;
+import org.apache.log4j.Logger;
+
+/**
+ * Class ProgressReporter polls the {@link CascadeStats} of a running Cascade every interval, and logs the steps and
+ * nodes done, and the tuples and bytes read and written per second since the last poll, of every running Flow.
+ * <p/>
+ * If given a path, every poll also rewrites the whole time series there, one tab separated line per running Flow and
+ * poll, so the series can be followed on any file system while the Cascade runs. It is written once more when
+ * stopped, so there is a file, with at least the header, even if the Cascade finished before the first poll.
+ */
+public class ProgressReporter implements Runnable
+  {
+  private static final Logger LOG = Logger.getLogger( ProgressReporter.class );
+
+  static final long STOP_TIMEOUT_MILLIS = 60 * 1000;
+
+  private final CascadingLoadPlatform platform;
+  private final CascadeStats cascadeStats;
+  private final long intervalMillis;
+  private final String seriesPath;
+
+  private final Map<String, long[]> previous = new HashMap<String, long[]>();
+  private final List<String> series = new ArrayList<String>();
+  private final Object lock = new Object();
+  private volatile boolean stopped;
+  private Thread thread;
+
+  public ProgressReporter( CascadingLoadPlatform platform, CascadeStats cascadeStats, long intervalMillis, String seriesPath )
+    {
+    this.platform = platform;
+    this.cascadeStats = cascadeStats;
+    this.intervalMillis = intervalMillis;
+    this.seriesPath = seriesPath;
+
+    series.add( "time\tflow\tsteps\tsteps-done\tnodes\tnodes-done\ttuples-read-per-sec\ttuples-written-per-sec\tbytes-read-per-sec\tbytes-written-per-sec" );
+    }
+
+  public void start()
+    {
+    thread = new Thread( this, "progress reporter" );
+    thread.setDaemon( true );
+    thread.start();
+    }
+
+  /**
+   * Stops polling, waits a bounded time for a poll in progress to finish, and then writes the series a last time.
+   * <p/>
+   * The poller is not interrupted, an interrupt during a write to a Hadoop file system may be swallowed, or truncate the
+   * series.
+   */
+  public void stop() throws InterruptedException
+    {
+    if( thread == null )
+      return;
+
+    synchronized( lock )
+      {
+      stopped = true;
+      lock.notifyAll();
+      }
+
+    thread.join( STOP_TIMEOUT_MILLIS );
+
+    if( thread.isAlive() )
+      {
+      LOG.warn( "progress reporter did not stop within " + STOP_TIMEOUT_MILLIS / 1000 + " seconds, not writing the final progress" );
+      return;
+      }
+
+    if( seriesPath != null )
+      writeSeries();
+    }
+
+  @Override
+  public void run()
+    {
+    try
+      {
+      while( true )
+        {
+        synchronized( lock )
+          {
+          if( !stopped )
+            lock.wait( intervalMillis );
+
+          if( stopped )
+            return;
+          }
+
+        report();
+        }
+      }
+    catch( InterruptedException exception )
+      {
+      // stop polling
+      }
+    }
+
+  void report()
+    {
+    long now = System.currentTimeMillis();
+
+    for( FlowStats flowStats : cascadeStats.getChildren() )
+      {
+      if( !flowStats.isRunning() )
+        continue;
+
+      int stepsDone = 0;
+      int nodes = 0;
+      int nodesDone = 0;
+
+      for( FlowStepStats stepStats : flowStats.getChildren() )
+        {
+        if( stepStats.isFinished() )
+          stepsDone++;
+
+        for( FlowNodeStats nodeStats : stepStats.getChildren() )
+          {
+          nodes++;
+
+          if( nodeStats.isFinished() )
+            nodesDone++;
+          }
+        }
+
+      long[] current = {
+        now,
+        flowStats.getCounterValue( SliceCounters.Tuples_Read ),
+        flowStats.getCounterValue( SliceCounters.Tuples_Written ),
+        platform.getBytesRead( flowStats ),
+        platform.getBytesWritten( flowStats )
+      };
+
+      long[] last = previous.get( flowStats.getName() );
+
+      previous.put( flowStats.getName(), current );
+
+      if( last == null ) // rates need two polls
+        last = new long[]{flowStats.getStartTime(), 0, 0, 0, 0};
+
+      double seconds = Math.max( 1, current[ 0 ] - last[ 0 ] ) / 1000.0;
+      long[] rates = new long[ 4 ];
+
+      for( int i = 0; i < rates.length; i++ )
+        rates[ i ] = (long) ( ( current[ i + 1 ] - last[ i + 1 ] ) / seconds );
+
+      LOG.info( String.format( "progress of %s: steps %d/%d, nodes %d/%d, tuples/s read %d written %d, bytes/s read %d written %d",
+        flowStats.getName(), stepsDone, flowStats.getChildren().size(), nodesDone, nodes, rates[ 0 ], rates[ 1 ], rates[ 2 ], rates[ 3 ] ) );
+
+      series.add( String.format( "%d\t%s\t%d\t%d\t%d\t%d\t%d\t%d\t%d\t%d", now, flowStats.getName(), flowStats.getChildren().size(),
+        stepsDone, nodes, nodesDone, rates[ 0 ], rates[ 1 ], rates[ 2 ], rates[ 3 ] ) );
+      }
+
+    if( seriesPath != null )
+      writeSeries();
+    }
+
+  private void writeSeries()
+    {
+    try
+      {
+      Tap tap = platform.newTap( platform.newTextLine(), seriesPath, SinkMode.REPLACE );
+      TupleEntryCollector writer = platform.newTupleEntryCollector( tap );
+
+      for( String line : series )
+        writer.add( new Tuple( line ) );
+
+      writer.close();
+      }
+    catch( IOException exception )
+      {
+      LOG.warn( "failed writing progress to: " + seriesPath, exception );
+      }
+    }
+  }
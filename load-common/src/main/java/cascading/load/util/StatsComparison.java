@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import cascading.flow.SliceCounters;
+import cascading.load.platform.CascadingLoadPlatform;
+import cascading.stats.CascadeStats;
+import cascading.stats.CascadingStats;
+import cascading.stats.FlowStats;
+import cascading.stats.FlowStepStats;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.tuple.TupleEntryIterator;
+
+/**
+ * Class StatsComparison compares the stats of a run against the stats of a previous run, the baseline, per Flow
+ * and per Step.
+ * <p/>
+ * The baseline is a stats file written with the csv stats format. Flows are matched by name, Steps by their
+ * Flow name and sequence number, since step names include paths that may change between runs.
+ * <p/>
+ * A regression is a duration or cpu duration that grew by more than the threshold percent, or a tuple count that
+ * changed by more than the threshold percent in either direction, which means the runs did not process the same
+ * data and the comparison is not valid.
+ */
+public class StatsComparison
+  {
+  static final String DURATION = "duration";
+  static final String CPU_DURATION = "cpu-duration";
+  static final String TUPLES_READ = SliceCounters.class.getName() + ":" + SliceCounters.Tuples_Read.name();
+  static final String TUPLES_WRITTEN = SliceCounters.class.getName() + ":" + SliceCounters.Tuples_Written.name();
+
+  static final List<String> METRICS = Arrays.asList( DURATION, CPU_DURATION, TUPLES_READ, TUPLES_WRITTEN );
+
+  private static final Pattern stepSeqNumPatt = Pattern.compile( "^(\\(\\d+/\\d+\\))" );
+
+  CascadingLoadPlatform platform;
+  float thresholdPercent;
+
+  public StatsComparison( CascadingLoadPlatform platform, float thresholdPercent )
+    {
+    this.platform = platform;
+    this.thresholdPercent = thresholdPercent;
+    }
+
+  /**
+   * Prints the deltas between the given stats and the baseline stats at the given path.
+   * <p/>
+   * If the loads ran more than one iteration, the duration of every Flow is the median of its iterations, so one slow
+   * iteration cannot pass or fail the comparison. Every other metric, and the Steps, are those of the given stats of
+   * the last iteration.
+   *
+   * @return true if no metric regressed beyond the threshold
+   */
+  public boolean compare( PrintWriter writer, CascadeStats cascadeStats, IterationStats iterationStats, String baselinePath ) throws IOException
+    {
+    Map<String, Map<String, Long>> baseline = readBaseline( baselinePath );
+    Map<String, Map<String, Long>> current = collect( cascadeStats );
+    int iterations = putMedianDurations( current, iterationStats );
+
+    writer.printf( "comparison to: %s, threshold: %.1f%%%n", baselinePath, thresholdPercent );
+
+    if( iterations > 1 )
+      writer.printf( "flow durations: median of %d iterations%n", iterations );
+
+    int regressions = 0;
+
+    for( Map.Entry<String, Map<String, Long>> entry : current.entrySet() )
+      {
+      Map<String, Long> previous = baseline.get( entry.getKey() );
+
+      writer.println( entry.getKey() );
+
+      if( previous == null )
+        {
+        writer.println( "  not in baseline" );
+        continue;
+        }
+
+      for( String metric : METRICS )
+        {
+        Long before = previous.get( metric );
+        Long after = entry.getValue().get( metric );
+
+        if( before == null || after == null )
+          continue;
+
+        double delta = before == 0 ? ( after == 0 ? 0 : Double.POSITIVE_INFINITY ) : 100.0 * ( after - before ) / before;
+        boolean regression = isRegression( metric, before, delta );
+
+        if( regression )
+          regressions++;
+
+        writer.printf( "  %-50s %14d %14d %+9.1f%%%s%n", metric, before, after, delta, regression ? " REGRESSION" : "" );
+        }
+      }
+
+    writer.printf( "regressions: %d%n", regressions );
+    writer.flush();
+
+    return regressions == 0;
+    }
+
+  /** Replaces the duration of every Flow that ran more than once with its median, returns the most iterations. */
+  private static int putMedianDurations( Map<String, Map<String, Long>> current, IterationStats iterationStats )
+    {
+    int iterations = 0;
+
+    for( Map.Entry<String, IterationStats.Summary> entry : iterationStats.getSummaries().entrySet() )
+      {
+      Map<String, Long> metrics = current.get( getKey( "Flow", entry.getKey(), null ) );
+
+      if( metrics == null || entry.getValue().getCount() < 2 )
+        continue;
+
+      metrics.put( DURATION, Math.round( entry.getValue().getMedian() ) );
+      iterations = Math.max( iterations, entry.getValue().getCount() );
+      }
+
+    return iterations;
+    }
+
+  private boolean isRegression( String metric, long before, double delta )
+    {
+    if( metric.equals( TUPLES_READ ) || metric.equals( TUPLES_WRITTEN ) )
+      return Math.abs( delta ) > thresholdPercent;
+
+    // a duration too short to measure in the baseline has no meaningful percent change
+    if( before == 0 )
+      return false;
+
+    return delta > thresholdPercent;
+    }
+
+  Map<String, Map<String, Long>> readBaseline( String path ) throws IOException
+    {
+    Map<String, Map<String, Long>> baseline = new LinkedHashMap<String, Map<String, Long>>();
+    Tap tap = platform.newTap( platform.newTextLine( new Fields( "line" ) ), path );
+    TupleEntryIterator iterator = platform.newTupleEntryIterator( tap );
+
+    try
+      {
+      if( !iterator.hasNext() || !CsvStatsPrinter.parse( iterator.next().getString( 0 ) ).equals( Arrays.asList( CsvStatsPrinter.HEADER ) ) )
+        throw new IllegalArgumentException( "baseline is not a csv stats file, use --stats-format csv: " + path );
+
+      while( iterator.hasNext() )
+        {
+        List<String> row = CsvStatsPrinter.parse( iterator.next().getString( 0 ) );
+
+        // platform, type, cascade, flow, step, node, metric, value
+        String key = getKey( row.get( 1 ), row.get( 3 ), row.get( 4 ) );
+
+        if( key == null || !METRICS.contains( row.get( 6 ) ) )
+          continue;
+
+        if( !baseline.containsKey( key ) )
+          baseline.put( key, new LinkedHashMap<String, Long>() );
+
+        baseline.get( key ).put( row.get( 6 ), Long.parseLong( row.get( 7 ) ) );
+        }
+      }
+    finally
+      {
+      iterator.close();
+      }
+
+    return baseline;
+    }
+
+  Map<String, Map<String, Long>> collect( CascadeStats cascadeStats )
+    {
+    Map<String, Map<String, Long>> current = new LinkedHashMap<String, Map<String, Long>>();
+
+    for( FlowStats flowStats : cascadeStats.getChildren() )
+      {
+      current.put( getKey( "Flow", flowStats.getName(), null ), getMetrics( flowStats ) );
+
+      for( FlowStepStats stepStats : flowStats.getChildren() )
+        current.put( getKey( "Step", flowStats.getName(), stepStats.getName() ), getMetrics( stepStats ) );
+      }
+
+    return current;
+    }
+
+  private Map<String, Long> getMetrics( CascadingStats cascadingStats )
+    {
+    Map<String, Long> metrics = new LinkedHashMap<String, Long>();
+    Map<String, Long> times = StatsMetrics.getTimes( platform, cascadingStats );
+
+    metrics.put( DURATION, times.get( DURATION ) );
+    metrics.put( CPU_DURATION, times.get( CPU_DURATION ) );
+
+    Map<String, Long> sliceCounters = StatsMetrics.getCounters( cascadingStats ).get( SliceCounters.class.getName() );
+
+    if( sliceCounters != null )
+      {
+      for( Map.Entry<String, Long> entry : sliceCounters.entrySet() )
+        {
+        String metric = SliceCounters.class.getName() + ":" + entry.getKey();
+
+        if( METRICS.contains( metric ) )
+          metrics.put( metric, entry.getValue() );
+        }
+      }
+
+    return metrics;
+    }
+
+  private static String getKey( String type, String flowName, String stepName )
+    {
+    if( "Flow".equals( type ) )
+      return "Flow: " + flowName;
+
+    if( !"Step".equals( type ) )
+      return null;
+
+    Matcher matchSeqNum = stepSeqNumPatt.matcher( stepName );
+
+    return "Step: " + flowName + " " + ( matchSeqNum.find() ? matchSeqNum.group( 1 ) : stepName );
+    }
+  }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import cascading.load.platform.CascadingLoadPlatform;
+import cascading.stats.CascadeStats;
+import cascading.stats.CascadingStats;
+import cascading.stats.FlowNodeStats;
+import cascading.stats.FlowStats;
+import cascading.stats.FlowStepStats;
+
+/**
+ * Class StatsMetrics collects the raw values of a {@link CascadingStats} instance for the machine readable stats
+ * printers. All times are in milliseconds.
+ */
+class StatsMetrics
+  {
+  static String getType( CascadingStats cascadingStats )
+    {
+    if( cascadingStats instanceof CascadeStats )
+      return "Cascade";
+
+    if( cascadingStats instanceof FlowStats )
+      return "Flow";
+
+    if( cascadingStats instanceof FlowStepStats )
+      return "Step";
+
+    return "Node";
+    }
+
+  /** Returns the children down to the node level, the slices below a node are not CascadingStats. */
+  @SuppressWarnings("unchecked")
+  static Collection<CascadingStats> getChildren( CascadingStats cascadingStats )
+    {
+    if( cascadingStats instanceof FlowNodeStats )
+      return Collections.emptyList();
+
+    return cascadingStats.getChildren();
+    }
+
+  static Map<String, Long> getTimes( CascadingLoadPlatform platform, CascadingStats cascadingStats )
+    {
+    Map<String, Long> times = new LinkedHashMap<String, Long>();
+
+    times.put( "submit-time", cascadingStats.getSubmitTime() );
+    times.put( "start-time", cascadingStats.getStartTime() );
+    times.put( "run-time", cascadingStats.getRunTime() );
+    times.put( "finished-time", cascadingStats.getFinishedTime() );
+    times.put( "duration", cascadingStats.getDuration() );
+    times.put( "startup-latency", StatsPrinter.getStartupLatency( cascadingStats ) );
+    times.put( "cpu-duration", platform.getCPUMillis( cascadingStats ) );
+    times.put( "gc-duration", platform.getGCMillis( cascadingStats ) );
+
+    return times;
+    }
+
+  /** Returns every counter of every group, sorted by group and counter name. */
+  static Map<String, Map<String, Long>> getCounters( CascadingStats cascadingStats )
+    {
+    Map<String, Map<String, Long>> counters = new TreeMap<String, Map<String, Long>>();
+
+    for( String group : cascadingStats.getCounterGroups() )
+      {
+      Map<String, Long> values = new TreeMap<String, Long>();
+
+      for( String counter : cascadingStats.getCountersFor( group ) )
+        values.put( counter, cascadingStats.getCounterValue( group, counter ) );
+
+      counters.put( group, values );
+      }
+
+    return counters;
+    }
+  }
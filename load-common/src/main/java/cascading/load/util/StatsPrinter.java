@@ -8,14 +8,18 @@ package cascading.load.util;
 
 import java.io.PrintWriter;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import cascading.flow.SliceCounters;
+import cascading.load.instrument.Instrumentation;
 import cascading.load.platform.CascadingLoadPlatform;
 import cascading.stats.CascadeStats;
 import cascading.stats.CascadingStats;
 import cascading.stats.FlowNodeStats;
+import cascading.stats.FlowSliceStats;
 import cascading.stats.FlowStats;
 import cascading.stats.FlowStepStats;
 
@@ -35,7 +39,7 @@ public class StatsPrinter
     {
     if( singlelineStats )
       {
-      writer.printf( "%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s%n",
+      writer.printf( "%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s%n",
         "platform",
         "type",
         "name",
@@ -56,6 +60,12 @@ public class StatsPrinter
         "user-duration-long",
         "cpu-duration",
         "cpu-duration-long",
+        "shuffle-bytes",
+        "startup-latency",
+        "gc-millis",
+        "gc-count",
+        "peak-heap-bytes",
+        "peak-physical-memory-bytes",
         "children"
       );
       }
@@ -138,8 +148,10 @@ public class StatsPrinter
     long writeDuration = cascadingStats.getCounterValue( SliceCounters.Write_Duration ) / 1000;
     long userDuration = processDuration - readDuration - writeDuration;
     long cpuDuration = platform.getCPUMillis( cascadingStats ) / 1000;
+    long shuffleBytes = platform.getShuffleBytes( cascadingStats );
+    long startupLatency = getStartupLatency( cascadingStats );
 
-    writer.printf( "%s\t%s\t%s\t%s\t%tT\t%d\t%tT\t%d\t%s\t%d\t%s\t%d\t%s\t%d\t%s\t%d\t%s\t%d\t%s\t%d\t%d%n",
+    writer.printf( "%s\t%s\t%s\t%s\t%tT\t%d\t%tT\t%d\t%s\t%d\t%s\t%d\t%s\t%d\t%s\t%d\t%s\t%d\t%s\t%d\t%d\t%d\t%d\t%d\t%d\t%d\t%d%n",
       platform.getName(),
       type,
       overrideName == null ? cascadingStats.getName() : overrideName,
@@ -160,6 +172,12 @@ public class StatsPrinter
       userDuration,
       String.format( "%d:%02d:%02d", cpuDuration / 3600, cpuDuration % 3600 / 60, cpuDuration % 60 ),
       cpuDuration,
+      shuffleBytes,
+      startupLatency,
+      platform.getGCMillis( cascadingStats ),
+      platform.getGCCount( cascadingStats ),
+      platform.getPeakHeapBytes( cascadingStats ),
+      platform.getPeakPhysicalMemoryBytes( cascadingStats ),
       childCount
     );
 
@@ -194,12 +212,233 @@ public class StatsPrinter
 
     writer.printf( "  user duration: %d:%02d:%02d%n", userDuration / 3600, userDuration % 3600 / 60, userDuration % 60 );
 
+    writer.printf( "  shuffle bytes: %d%n", platform.getShuffleBytes( cascadingStats ) );
+
+    writer.printf( "  startup latency: %d ms%n", getStartupLatency( cascadingStats ) );
+
+    writer.printf( "  gc: %d ms, %d collections%n", platform.getGCMillis( cascadingStats ), platform.getGCCount( cascadingStats ) );
+
+    writer.printf( "  peak task heap: %d MB, peak task physical memory: %d MB%n", platform.getPeakHeapBytes( cascadingStats ) / 1024 / 1024,
+      platform.getPeakPhysicalMemoryBytes( cascadingStats ) / 1024 / 1024 );
+
+    long tuplesSpilled = getSpillCounter( cascadingStats, "Num_Tuples_Spilled" );
+
+    if( tuplesSpilled != 0 )
+      writer.printf( "  tuples spilled: %d, spills written: %d%n", tuplesSpilled, getSpillCounter( cascadingStats, "Num_Spills_Written" ) );
+
     if( !cascadingStats.getChildren().isEmpty() )
       writer.printf( "  num children: %d%n", cascadingStats.getChildren().size() );
 
     writer.flush();
     }
 
+  /** Returns the milliseconds from submitting to running, the time spent starting, zero if it never ran. */
+  public static long getStartupLatency( CascadingStats cascadingStats )
+    {
+    if( cascadingStats.getSubmitTime() == 0 || cascadingStats.getRunTime() == 0 )
+      return 0;
+
+    return cascadingStats.getRunTime() - cascadingStats.getSubmitTime();
+    }
+
+  /**
+   * Prints the startup latency of every Flow, and the sum and mean of the startup latencies of its Steps, the DAGs on
+   * Tez, so the time spent starting can be compared across the loads.
+   */
+  public void printStartupStats( PrintWriter writer, CascadeStats cascadeStats )
+    {
+    writer.printf( "Startup latency, ms from submitted to running%n" );
+    writer.printf( "  %-24s %6s %10s %10s %10s%n", "flow", "steps", "flow", "steps", "mean step" );
+
+    for( FlowStats flowStats : cascadeStats.getChildren() )
+      {
+      long steps = 0;
+
+      for( FlowStepStats stepStats : flowStats.getChildren() )
+        steps += getStartupLatency( stepStats );
+
+      int numSteps = flowStats.getChildren().size();
+
+      writer.printf( "  %-24s %6d %10d %10d %10d%n", flowStats.getName(), numSteps, getStartupLatency( flowStats ), steps,
+        numSteps == 0 ? 0 : steps / numSteps );
+      }
+
+    writer.flush();
+    }
+
+  /**
+   * Prints the nanos and calls of every operation timed with --instrument, with its share of the timed nanos of its
+   * Flow, so the operations the per tuple time goes to stand out.
+   */
+  public void printOperationStats( PrintWriter writer, CascadeStats cascadeStats )
+    {
+    writer.printf( "Operation times, from --instrument%n" );
+    writer.printf( "  %-24s %-32s %12s %10s %10s %6s%n", "flow", "operation", "calls", "ms", "ns/call", "%" );
+
+    for( FlowStats flowStats : cascadeStats.getChildren() )
+      {
+      Map<String, long[]> times = Instrumentation.getOperationTimes( flowStats );
+      long total = 0;
+
+      for( long[] time : times.values() )
+        total += time[ 0 ];
+
+      for( Map.Entry<String, long[]> entry : times.entrySet() )
+        {
+        long nanos = entry.getValue()[ 0 ];
+        long calls = entry.getValue()[ 1 ];
+
+        writer.printf( "  %-24s %-32s %12d %10d %10d %6.2f%n", flowStats.getName(), entry.getKey(), calls, nanos / 1000000,
+          calls == 0 ? 0 : nanos / calls, total == 0 ? 0 : 100.0 * nanos / total );
+        }
+      }
+
+    writer.flush();
+    }
+
+  /**
+   * Returns the largest value of the given counter in any single slice, a task, below the given stats, so snapshot
+   * counters like heap sizes are not summed over tasks. Zero if the slice details were not captured.
+   */
+  public static long getMaxSliceCounter( CascadingStats cascadingStats, String group, String counter )
+    {
+    long max = 0;
+
+    if( cascadingStats instanceof FlowNodeStats )
+      {
+      for( FlowSliceStats sliceStats : ( (FlowNodeStats) cascadingStats ).getChildren() )
+        max = Math.max( max, sliceStats.getCounterValue( group, counter ) );
+
+      return max;
+      }
+
+    for( Object child : cascadingStats.getChildren() )
+      max = Math.max( max, getMaxSliceCounter( (CascadingStats) child, group, counter ) );
+
+    return max;
+    }
+
+  /** Returns the given counter summed over the Cascading spill counter groups, whose names end in Spill. */
+  public static long getSpillCounter( CascadingStats cascadingStats, String counter )
+    {
+    long value = 0;
+
+    for( String group : cascadingStats.getCounterGroups() )
+      {
+      if( group.endsWith( "Spill" ) && cascadingStats.getCountersFor( group ).contains( counter ) )
+        value += cascadingStats.getCounterValue( group, counter );
+      }
+
+    return value;
+    }
+
+  /**
+   * Prints the duration, shuffle bytes, and CPU time of every variant Flow next to the Flow it is a variant of. If the
+   * two Flows overlapped they competed for the same resources, which is noted, as the change then includes that.
+   *
+   * @param variants the names of the variant Flows, mapped to the names of the Flows they are variants of
+   */
+  public void printVariantStats( PrintWriter writer, CascadeStats cascadeStats, Map<String, String> variants )
+    {
+    Map<String, FlowStats> flowStats = new HashMap<String, FlowStats>();
+
+    for( FlowStats flowStat : cascadeStats.getChildren() )
+      flowStats.put( flowStat.getName(), flowStat );
+
+    for( Map.Entry<String, String> entry : variants.entrySet() )
+      {
+      FlowStats variant = flowStats.get( entry.getKey() );
+      FlowStats original = flowStats.get( entry.getValue() );
+
+      if( variant == null || original == null )
+        continue;
+
+      writer.printf( "Variant: %s of %s%n", entry.getKey(), entry.getValue() );
+      writer.printf( "  %-14s %14s %14s %9s%n", "", entry.getValue(), entry.getKey(), "change" );
+      printVariantMetric( writer, "duration ms", original.getDuration(), variant.getDuration() );
+      printVariantMetric( writer, "shuffle bytes", platform.getShuffleBytes( original ), platform.getShuffleBytes( variant ) );
+      printVariantMetric( writer, "cpu ms", platform.getCPUMillis( original ), platform.getCPUMillis( variant ) );
+
+      if( isOverlapping( original, variant ) )
+        writer.printf( "  flows overlapped, the change includes their competition, see -MXCF%n" );
+
+      writer.println();
+      }
+
+    writer.flush();
+    }
+
+  private static boolean isOverlapping( FlowStats lhs, FlowStats rhs )
+    {
+    return lhs.getStartTime() < rhs.getFinishedTime() && rhs.getStartTime() < lhs.getFinishedTime();
+    }
+
+  private void printVariantMetric( PrintWriter writer, String metric, long original, long variant )
+    {
+    if( original == 0 )
+      writer.printf( "  %-14s %14d %14d %9s%n", metric, original, variant, "-" );
+    else
+      writer.printf( "  %-14s %14d %14d %+8.1f%%%n", metric, original, variant, 100.0 * ( variant - original ) / original );
+    }
+
+  public void printIterationStats( PrintWriter writer, IterationStats iterationStats, boolean singlelineStats )
+    {
+    if( singlelineStats )
+      {
+      writer.printf( "%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s\t%s%n",
+        "platform",
+        "type",
+        "name",
+        "iterations",
+        "min-millis",
+        "median-millis",
+        "p90-millis",
+        "max-millis",
+        "mean-millis",
+        "stddev-millis",
+        "ci95-low-millis",
+        "ci95-high-millis"
+      );
+      }
+
+    for( Map.Entry<String, IterationStats.Summary> entry : iterationStats.getSummaries().entrySet() )
+      {
+      IterationStats.Summary summary = entry.getValue();
+
+      if( singlelineStats )
+        {
+        writer.printf( "%s\t%s\t%s\t%d\t%d\t%.1f\t%d\t%d\t%.1f\t%.1f\t%.1f\t%.1f%n",
+          platform.getName(),
+          "Flow",
+          entry.getKey(),
+          summary.getCount(),
+          summary.getMin(),
+          summary.getMedian(),
+          summary.getP90(),
+          summary.getMax(),
+          summary.getMean(),
+          summary.getStddev(),
+          summary.getMean() - summary.getConfidence(),
+          summary.getMean() + summary.getConfidence()
+        );
+        }
+      else
+        {
+        writer.printf( "Flow: %s%n", entry.getKey() );
+        writer.printf( "  iterations: %d%n", summary.getCount() );
+        writer.printf( "  min:    %.3fs%n", summary.getMin() / 1000.0 );
+        writer.printf( "  median: %.3fs%n", summary.getMedian() / 1000.0 );
+        writer.printf( "  p90:    %.3fs%n", summary.getP90() / 1000.0 );
+        writer.printf( "  max:    %.3fs%n", summary.getMax() / 1000.0 );
+        writer.printf( "  mean:   %.3fs +/- %.3fs (95%%, +/- %.1f%%)%n", summary.getMean() / 1000.0, summary.getConfidence() / 1000.0, summary.getRelativeConfidence() );
+        writer.printf( "  stddev: %.3fs%n", summary.getStddev() / 1000.0 );
+        writer.println();
+        }
+      }
+
+    writer.flush();
+    }
+
   private static final Pattern stepStatSeqNumPatt = Pattern.compile( "^(\\(\\d+/\\d+\\)) " );
 
   private static String getStepStatsName( CascadingStats stepStat, String parent, boolean uniqueName )
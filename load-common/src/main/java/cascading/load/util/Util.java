@@ -36,6 +36,25 @@ public class Util
     return list.toArray( new String[ list.size() ] );
     }
 
+  /**
+   * Returns the JVM options starting a Java Flight Recorder recording with the profile settings, dumped to the given
+   * file when the JVM exits. Commercial features are unlocked for the Oracle JDK 7 and 8, and ignored by later JDKs.
+   */
+  public static String getFlightRecorderOptions( String fileName )
+    {
+    return "-XX:+IgnoreUnrecognizedVMOptions -XX:+UnlockCommercialFeatures -XX:+FlightRecorder " +
+      "-XX:StartFlightRecording=settings=profile,dumponexit=true,filename=" + fileName;
+    }
+
+  /** Returns the given JVM options followed by the other given options, either may be empty or null. */
+  public static String appendJavaOptions( String options, String other )
+    {
+    if( options == null || options.trim().isEmpty() )
+      return emptyIfNull( other );
+
+    return options + " " + emptyIfNull( other );
+    }
+
   public static String emptyIfNull( String string )
     {
     if( string == null )
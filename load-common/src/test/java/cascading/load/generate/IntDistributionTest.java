@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the skewed distributions against their expected head shares, using a fixed seed so runs are repeatable.
+ */
+public class IntDistributionTest
+  {
+  private static final int SAMPLES = 500000;
+  private static final double TOLERANCE = 0.005;
+
+  @Test
+  public void testHotKeyFraction()
+    {
+    IntDistribution distribution = new HotKeyIntDistribution( 1000, new XoroshiroRandom( 1 ), 10, 0.3 );
+
+    assertEquals( "hot key fraction", 0.3, fractionBelow( distribution, 10 ), TOLERANCE );
+    }
+
+  @Test
+  public void testZipfRankOneShare()
+    {
+    int max = 1000;
+    IntDistribution distribution = new ZipfIntDistribution( max, new XoroshiroRandom( 1 ), 1.0 );
+
+    assertEquals( "rank one share", 1.0 / harmonic( max, 1.0, 0 ), fractionBelow( distribution, 1 ), TOLERANCE );
+    }
+
+  @Test
+  public void testZipfTail()
+    {
+    int max = 4 * ZipfIntDistribution.MAX_TABLE_SIZE;
+    double exponent = 1.2;
+    IntDistribution distribution = new ZipfIntDistribution( max, new XoroshiroRandom( 1 ), exponent );
+
+    double total = harmonic( max, exponent, 0 );
+    double tail = harmonic( max, exponent, ZipfIntDistribution.MAX_TABLE_SIZE );
+
+    int rankOne = 0;
+    int inTail = 0;
+
+    for( int i = 0; i < SAMPLES; i++ )
+      {
+      int value = distribution.next();
+
+      if( value == 0 )
+        rankOne++;
+      else if( value >= ZipfIntDistribution.MAX_TABLE_SIZE )
+        inTail++;
+      }
+
+    assertEquals( "rank one share", 1.0 / total, (double) rankOne / SAMPLES, TOLERANCE );
+    assertEquals( "tail share", tail / total, (double) inTail / SAMPLES, TOLERANCE );
+    }
+
+  @Test
+  public void testPowerLawRankOneShare()
+    {
+    int max = 1000;
+    double exponent = 1.5;
+    IntDistribution distribution = new PowerLawIntDistribution( max, new XoroshiroRandom( 1 ), exponent );
+
+    double expected = PowerLawIntDistribution.integral( exponent, 1, 2 ) / PowerLawIntDistribution.integral( exponent, 1, max + 1 );
+
+    assertEquals( "rank one share", expected, fractionBelow( distribution, 1 ), TOLERANCE );
+    }
+
+  private static double fractionBelow( IntDistribution distribution, int bound )
+    {
+    int count = 0;
+
+    for( int i = 0; i < SAMPLES; i++ )
+      {
+      if( distribution.next() < bound )
+        count++;
+      }
+
+    return (double) count / SAMPLES;
+    }
+
+  /** Returns the sum of (k+1)^-exponent for k in [from, max), the exact Zipf mass of those values. */
+  private static double harmonic( int max, double exponent, int from )
+    {
+    double sum = 0;
+
+    for( int k = from; k < max; k++ )
+      sum += Math.pow( k + 1, -exponent );
+
+    return sum;
+    }
+  }
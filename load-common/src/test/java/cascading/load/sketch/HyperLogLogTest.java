@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.sketch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the registers survive the String they travel as between the map and the reduce side.
+ */
+public class HyperLogLogTest
+  {
+  private static final int PRECISION = 10;
+  private static final int VALUES = 50000;
+
+  @Test
+  public void testRoundTrip()
+    {
+    HyperLogLog hyperLogLog = new HyperLogLog( PRECISION );
+
+    for( int i = 0; i < VALUES; i++ )
+      hyperLogLog.offer( "value-" + i );
+
+    HyperLogLog copy = HyperLogLog.valueOf( hyperLogLog.toString() );
+
+    assertEquals( PRECISION, copy.getPrecision() );
+    assertEquals( hyperLogLog.toString(), copy.toString() );
+    assertEquals( hyperLogLog.estimate(), copy.estimate() );
+    }
+
+  @Test
+  public void testMergeRoundTrip()
+    {
+    HyperLogLog whole = new HyperLogLog( PRECISION );
+    HyperLogLog lhs = new HyperLogLog( PRECISION );
+    HyperLogLog rhs = new HyperLogLog( PRECISION );
+
+    for( int i = 0; i < VALUES; i++ )
+      {
+      whole.offer( "value-" + i );
+      ( i % 2 == 0 ? lhs : rhs ).offer( "value-" + i );
+      }
+
+    HyperLogLog merged = HyperLogLog.valueOf( lhs.toString() );
+
+    merged.merge( HyperLogLog.valueOf( rhs.toString() ) );
+
+    assertEquals( whole.toString(), merged.toString() );
+
+    // about 3.3% standard error for 2^10 registers
+    assertEquals( 1.0, (double) merged.estimate() / VALUES, 0.1 );
+    }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testValueOfRegisterCount()
+    {
+    HyperLogLog.valueOf( new HyperLogLog( PRECISION ).toString().substring( 1 ) );
+    }
+  }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.sketch;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that merged summaries keep the count and error bounds of Space-Saving, using a fixed seed so runs are
+ * repeatable.
+ */
+public class SpaceSavingTest
+  {
+  private static final int CAPACITY = 20;
+  private static final int VALUES = 200;
+  private static final int SAMPLES = 20000;
+
+  @Test
+  public void testMergeExact()
+    {
+    SpaceSaving lhs = new SpaceSaving( CAPACITY );
+    SpaceSaving rhs = new SpaceSaving( CAPACITY );
+
+    lhs.offer( "a", 3 );
+    lhs.offer( "b", 2 );
+    rhs.offer( "a", 1 );
+    rhs.offer( "c", 5 );
+
+    lhs.merge( rhs );
+
+    Map<String, SpaceSaving.Counter> counters = byValue( lhs );
+
+    // with free counters on both sides nothing is missing, so the merged counts are exact
+    assertEquals( 3, counters.size() );
+    assertEquals( 4, counters.get( "a" ).getCount() );
+    assertEquals( 2, counters.get( "b" ).getCount() );
+    assertEquals( 5, counters.get( "c" ).getCount() );
+
+    for( SpaceSaving.Counter counter : counters.values() )
+      assertEquals( 0, counter.getError() );
+    }
+
+  @Test
+  public void testMergeBounds()
+    {
+    Random random = new Random( 1 );
+    Map<String, Long> exact = new HashMap<String, Long>();
+    SpaceSaving lhs = new SpaceSaving( CAPACITY );
+    SpaceSaving rhs = new SpaceSaving( CAPACITY );
+
+    for( int i = 0; i < SAMPLES; i++ )
+      {
+      // skewed towards the small values, so the summaries must evict
+      String value = "value-" + (int) ( Math.pow( random.nextDouble(), 3 ) * VALUES );
+      Long count = exact.get( value );
+
+      exact.put( value, count == null ? 1 : count + 1 );
+
+      ( i % 2 == 0 ? lhs : rhs ).offer( value );
+      }
+
+    // a summary travels as a String between the map and the reduce side
+    lhs = SpaceSaving.valueOf( CAPACITY, lhs.toString() );
+    lhs.merge( SpaceSaving.valueOf( CAPACITY, rhs.toString() ) );
+
+    assertEquals( CAPACITY, lhs.top( VALUES ).size() );
+
+    for( SpaceSaving.Counter counter : lhs.top( VALUES ) )
+      {
+      Long count = exact.get( counter.getValue() );
+      long actual = count == null ? 0 : count;
+
+      assertTrue( counter.getValue() + " over estimated: " + actual, actual <= counter.getCount() );
+      assertTrue( counter.getValue() + " under estimated: " + actual, actual >= counter.getCount() - counter.getError() );
+      assertTrue( counter.getValue() + " error: " + counter.getError(), counter.getError() <= SAMPLES / CAPACITY );
+      }
+    }
+
+  private static Map<String, SpaceSaving.Counter> byValue( SpaceSaving spaceSaving )
+    {
+    Map<String, SpaceSaving.Counter> counters = new HashMap<String, SpaceSaving.Counter>();
+
+    for( SpaceSaving.Counter counter : spaceSaving.top( spaceSaving.getCapacity() ) )
+      counters.put( counter.getValue(), counter );
+
+    return counters;
+    }
+  }
@@ -21,10 +21,12 @@
 
 package cascading.load.platform;
 
+import java.io.File;
 import java.util.Map;
 
 import cascading.flow.FlowConnector;
 import cascading.flow.hadoop.HadoopFlowConnector;
+import cascading.load.util.StatsPrinter;
 import cascading.stats.CascadingStats;
 
 /**
@@ -55,9 +57,59 @@ public class HadoopCascadingPlatform extends BaseHadoopCascadingPlatform
     return "classic";
     }
 
+  /**
+   * There is no container log directory to collect recordings from, tasks write to {@code <path>/<load>/} on the host
+   * they ran on, which is the profile path itself on a single node cluster.
+   */
+  @Override
+  protected String getTaskProfileFileName( String name, String path )
+    {
+    File directory = new File( path, name ).getAbsoluteFile();
+
+    directory.mkdirs();
+
+    return directory + "/@taskid@.jfr";
+    }
+
+  @Override
+  protected String getFileSystemCounterGroup()
+    {
+    return "FileSystemCounters";
+    }
+
   @Override
   public long getCPUMillis( CascadingStats cascadingStats )
     {
     return 0;
     }
+
+  @Override
+  public long getShuffleBytes( CascadingStats cascadingStats )
+    {
+    return cascadingStats.getCounterValue( "org.apache.hadoop.mapred.Task$Counter", "REDUCE_SHUFFLE_BYTES" );
+    }
+
+  @Override
+  public long getGCMillis( CascadingStats cascadingStats )
+    {
+    return 0; // not counted before hadoop 2
+    }
+
+  @Override
+  public long getGCCount( CascadingStats cascadingStats )
+    {
+    return 0;
+    }
+
+  @Override
+  public long getPeakHeapBytes( CascadingStats cascadingStats )
+    {
+    return StatsPrinter.getMaxSliceCounter( cascadingStats, "org.apache.hadoop.mapred.Task$Counter", "COMMITTED_HEAP_BYTES" );
+    }
+
+  @Override
+  public long getPeakPhysicalMemoryBytes( CascadingStats cascadingStats )
+    {
+    return StatsPrinter.getMaxSliceCounter( cascadingStats, "org.apache.hadoop.mapred.Task$Counter", "PHYSICAL_MEMORY_BYTES" );
+    }
   }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2007-2009 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Cascading is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cascading is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cascading.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package cascading.load.platform;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+import cascading.load.countsort.PackedKey;
+import cascading.tuple.StreamComparator;
+import cascading.tuple.hadoop.io.BufferedInputStream;
+import org.apache.hadoop.io.WritableComparator;
+
+/**
+ * Compares {@link PackedKey} keys written by {@link PackedKeySerialization} in place, reading the long of each key
+ * from the shuffle buffers instead of deserializing a key object per comparison.
+ */
+public class PackedKeyComparator implements StreamComparator<BufferedInputStream>, Comparator<PackedKey>, Serializable
+  {
+  @Override
+  public int compare( BufferedInputStream lhsStream, BufferedInputStream rhsStream )
+    {
+    long lhs = WritableComparator.readLong( lhsStream.getBuffer(), lhsStream.getPosition() );
+    long rhs = WritableComparator.readLong( rhsStream.getBuffer(), rhsStream.getPosition() );
+
+    lhsStream.skip( 8 );
+    rhsStream.skip( 8 );
+
+    return lhs < rhs ? -1 : ( lhs == rhs ? 0 : 1 );
+    }
+
+  @Override
+  public int compare( PackedKey lhs, PackedKey rhs )
+    {
+    if( lhs == null )
+      return rhs == null ? 0 : -1;
+
+    if( rhs == null )
+      return 1;
+
+    return lhs.compareTo( rhs );
+    }
+  }
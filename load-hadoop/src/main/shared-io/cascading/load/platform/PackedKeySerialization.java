@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2007-2009 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Cascading is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cascading is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cascading.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package cascading.load.platform;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import cascading.load.countsort.PackedKey;
+import cascading.tuple.hadoop.SerializationToken;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.io.serializer.Deserializer;
+import org.apache.hadoop.io.serializer.Serialization;
+import org.apache.hadoop.io.serializer.Serializer;
+
+/**
+ * Serialization of {@link PackedKey} keys as eight big endian bytes, the layout {@link PackedKeyComparator} compares.
+ * The token saves writing the class name with every key.
+ */
+@SerializationToken(tokens = {200}, classNames = {"cascading.load.countsort.PackedKey"})
+public class PackedKeySerialization extends Configured implements Serialization<PackedKey>
+  {
+  @Override
+  public boolean accept( Class<?> type )
+    {
+    return PackedKey.class == type;
+    }
+
+  @Override
+  public Serializer<PackedKey> getSerializer( Class<PackedKey> type )
+    {
+    return new Serializer<PackedKey>()
+    {
+    private DataOutputStream out;
+
+    @Override
+    public void open( OutputStream out ) throws IOException
+      {
+      this.out = out instanceof DataOutputStream ? (DataOutputStream) out : new DataOutputStream( out );
+      }
+
+    @Override
+    public void serialize( PackedKey packedKey ) throws IOException
+      {
+      out.writeLong( packedKey.getValue() );
+      }
+
+    @Override
+    public void close() throws IOException
+      {
+      out.close();
+      }
+    };
+    }
+
+  @Override
+  public Deserializer<PackedKey> getDeserializer( Class<PackedKey> type )
+    {
+    return new Deserializer<PackedKey>()
+    {
+    private DataInputStream in;
+
+    @Override
+    public void open( InputStream in ) throws IOException
+      {
+      this.in = in instanceof DataInputStream ? (DataInputStream) in : new DataInputStream( in );
+      }
+
+    @Override
+    public PackedKey deserialize( PackedKey packedKey ) throws IOException
+      {
+      return new PackedKey( in.readLong() );
+      }
+
+    @Override
+    public void close() throws IOException
+      {
+      in.close();
+      }
+    };
+    }
+  }
@@ -22,13 +22,17 @@
 package cascading.load.platform;
 
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.Properties;
 
 import cascading.CascadingException;
+import cascading.flow.FlowListener;
 import cascading.flow.FlowProps;
 import cascading.flow.hadoop.HadoopFlowProcess;
 import cascading.load.Options;
+import cascading.load.instrument.Instrumentation;
 import cascading.scheme.Scheme;
+import cascading.stats.CascadingStats;
 import cascading.scheme.hadoop.TextLine;
 import cascading.tap.SinkMode;
 import cascading.tap.Tap;
@@ -36,9 +40,10 @@ import cascading.tap.hadoop.Hfs;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntryCollector;
+import cascading.tuple.TupleEntryIterator;
 import cascading.tuple.collect.SpillableProps;
+import cascading.tuple.hadoop.TupleSerializationProps;
 import cascading.util.Util;
-import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
@@ -68,7 +73,7 @@ public abstract class BaseHadoopCascadingPlatform implements CascadingLoadPlatfo
     {
     try
       {
-      return new Hfs( new TextLine(), path ).getChildIdentifiers( new JobConf() );
+      return new Hfs( new TextLine(), path ).getChildIdentifiers( newJobConf() );
       }
     catch( IOException exception )
       {
@@ -79,7 +84,13 @@ public abstract class BaseHadoopCascadingPlatform implements CascadingLoadPlatfo
   @Override
   public TupleEntryCollector newTupleEntryCollector( Tap tap ) throws IOException
     {
-    return tap.openForWrite( new HadoopFlowProcess() );
+    return tap.openForWrite( new HadoopFlowProcess( newJobConf() ) );
+    }
+
+  @Override
+  public TupleEntryIterator newTupleEntryIterator( Tap tap ) throws IOException
+    {
+    return tap.openForRead( new HadoopFlowProcess( newJobConf() ) );
     }
 
   @Override
@@ -100,11 +111,17 @@ public abstract class BaseHadoopCascadingPlatform implements CascadingLoadPlatfo
     return new cascading.scheme.hadoop.TextLine( sourceFields, sinkFields );
     }
 
+  @Override
+  public Scheme newBinaryScheme( Fields fields )
+    {
+    return new cascading.scheme.hadoop.SequenceFile( fields );
+    }
+
   @Override
   public void writeDictionaryData( Tuple data, String path, int numberOfFiles ) throws IOException
     {
     Tap tap = newTap( newTextLine(), path );
-    JobConf jobConf = new JobConf();
+    JobConf jobConf = newJobConf();
     for( int i = 0; i < numberOfFiles; i++ )
       {
       jobConf.setInt( "mapred.task.partition", i );
@@ -114,6 +131,16 @@ public abstract class BaseHadoopCascadingPlatform implements CascadingLoadPlatfo
       }
     }
 
+  @Override
+  public void initialize( Options options )
+    {
+    }
+
+  @Override
+  public void shutdown()
+    {
+    }
+
   @Override
   public Properties buildPlatformProperties( Options options )
     {
@@ -144,7 +171,7 @@ public abstract class BaseHadoopCascadingPlatform implements CascadingLoadPlatfo
     properties.setProperty( "dfs.blocksize", Long.toString( options.getBlockSizeMB() * 1024 * 1024 ) );
 
     // hadoop 1.x uses the same directory for all jobs in local mode, causing random failures when we allow parallel job execution.
-    if( cascading.flow.hadoop.util.HadoopUtil.isLocal( new Configuration() ))
+    if( cascading.flow.hadoop.util.HadoopUtil.isLocal( newJobConf() ) )
       {
       properties.setProperty( FlowProps.MAX_CONCURRENT_STEPS, "1" );
       properties.setProperty( "mapred.local.dir", String.format( "/tmp/hadoop/%s/mapred/local", java.util.UUID.randomUUID().toString() ) );
@@ -162,6 +189,13 @@ public abstract class BaseHadoopCascadingPlatform implements CascadingLoadPlatfo
       LOG.info( "native codec not found" );
       }
 
+    // every operation timed with --instrument adds two counters, well past the default limit of 120 per job
+    if( options.isInstrument() )
+      {
+      properties.setProperty( "mapreduce.job.counters.max", Integer.toString( Instrumentation.MAX_COUNTERS ) );
+      properties.setProperty( "mapreduce.job.counters.limit", Integer.toString( Instrumentation.MAX_COUNTERS ) ); // deprecated
+      }
+
     for( String property : options.getHadoopProperties() )
       {
       String[] split = property.split( "=" );
@@ -174,12 +208,86 @@ public abstract class BaseHadoopCascadingPlatform implements CascadingLoadPlatfo
     return properties;
     }
 
+  /**
+   * Adds Flight Recorder options to the child JVM options, every task dumps its recording to
+   * {@link #getTaskProfileFileName(String, String)} when it exits.
+   */
+  @Override
+  public FlowListener newProfiler( Properties properties, String name, String path )
+    {
+    String options = cascading.load.util.Util.getFlightRecorderOptions( getTaskProfileFileName( name, path ) );
+
+    properties.setProperty( "mapred.child.java.opts", cascading.load.util.Util.appendJavaOptions( properties.getProperty( "mapred.child.java.opts" ), options ) );
+
+    return null;
+    }
+
+  /**
+   * Returns the file a task of the named load dumps its recording to, in the YARN container log directory, so log
+   * aggregation collects the recordings with the task logs, to be copied under the profile path.
+   */
+  protected String getTaskProfileFileName( String name, String path )
+    {
+    return "<LOG_DIR>/" + name + ".jfr";
+    }
+
+  @Override
+  public void addKeySerialization( Properties properties )
+    {
+    TupleSerializationProps.addSerialization( properties, PackedKeySerialization.class.getName() );
+    }
+
+  @Override
+  public Comparator newRawKeyComparator()
+    {
+    return new PackedKeyComparator();
+    }
+
   protected abstract String getMRFrameworkName();
 
+  /** Returns a new configuration of the cluster the platform runs on, the default configuration unless overridden. */
+  protected JobConf newJobConf()
+    {
+    return new JobConf();
+    }
+
+  @Override
+  public long getBytesRead( CascadingStats cascadingStats )
+    {
+    return getFileSystemBytes( cascadingStats, "_BYTES_READ" );
+    }
+
+  @Override
+  public long getBytesWritten( CascadingStats cascadingStats )
+    {
+    return getFileSystemBytes( cascadingStats, "_BYTES_WRITTEN" );
+    }
+
+  /** Returns the name of the counter group holding the bytes read and written per file system scheme. */
+  protected abstract String getFileSystemCounterGroup();
+
+  private long getFileSystemBytes( CascadingStats cascadingStats, String suffix )
+    {
+    String group = getFileSystemCounterGroup();
+
+    if( !cascadingStats.getCounterGroups().contains( group ) )
+      return 0;
+
+    long bytes = 0;
+
+    for( String counter : cascadingStats.getCountersFor( group ) )
+      {
+      if( counter.endsWith( suffix ) )
+        bytes += cascadingStats.getCounterValue( group, counter );
+      }
+
+    return bytes;
+    }
+
   @Override
   public void cleanDirectories( String... paths ) throws IOException
     {
-    FileSystem fs = FileSystem.get( new JobConf() );
+    FileSystem fs = FileSystem.get( newJobConf() );
     for( String path : paths )
       fs.delete( new Path( path ), true );
     }
@@ -187,12 +295,12 @@ public abstract class BaseHadoopCascadingPlatform implements CascadingLoadPlatfo
   @Override
   public int getMaxConcurrentMappers()
     {
-    return HadoopUtil.getMaxConcurrentMappers();
+    return HadoopUtil.getMaxConcurrentMappers( newJobConf() );
     }
 
   @Override
   public int getMaxConcurrentReducers()
     {
-    return HadoopUtil.getMaxConcurrentReducers();
+    return HadoopUtil.getMaxConcurrentReducers( newJobConf() );
     }
   }
@@ -50,14 +50,21 @@ public class HadoopUtil
 
   public static int getMaxConcurrentMappers()
     {
-    JobConf jobConf = new JobConf();
+    return getMaxConcurrentMappers( new JobConf() );
+    }
 
+  public static int getMaxConcurrentMappers( JobConf jobConf )
+    {
     return getNumTaskTrackers( jobConf ) * jobConf.getInt( "mapred.tasktracker.map.tasks.maximum", 2 );
     }
 
   public static int getMaxConcurrentReducers()
     {
-    JobConf jobConf = new JobConf();
+    return getMaxConcurrentReducers( new JobConf() );
+    }
+
+  public static int getMaxConcurrentReducers( JobConf jobConf )
+    {
     return getNumTaskTrackers( jobConf ) * jobConf.getInt( "mapred.tasktracker.reduce.tasks.maximum", 2 );
     }
 
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2007-2009 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Cascading is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cascading is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cascading.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package cascading.load.platform;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.UUID;
+
+import cascading.CascadingException;
+import cascading.load.Options;
+import cascading.load.util.Util;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.hdfs.MiniDFSCluster;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.MiniMRClientCluster;
+import org.apache.hadoop.mapred.MiniMRClientClusterFactory;
+import org.apache.log4j.Logger;
+
+/**
+ * Implementation of CascadeLoadPlatform for hadoop2-mr1, running every Flow on a MiniDFS and MiniYARN cluster in
+ * process, instead of the local job runner.
+ * <p/>
+ * The cluster is started on first use with --mini-cluster-nodes data nodes and node managers, and is stopped by
+ * {@link #shutdown()} once every load has run, or when the JVM exits. Unlike the local job runner, steps run concurrently and data is shuffled between nodes.
+ * <p/>
+ * The cluster file system, holding the input, working, and output data, is deleted when the cluster stops. So the
+ * stats root and the baseline to compare to are qualified to the local file system, where they outlive the run.
+ */
+public class Hadoop2MR1MiniClusterPlatform extends Hadoop2MR1CascadingPlatform
+  {
+  private static final Logger LOG = Logger.getLogger( Hadoop2MR1MiniClusterPlatform.class );
+
+  private static MiniDFSCluster dfsCluster;
+  private static MiniMRClientCluster mrCluster;
+  private static JobConf clusterConf;
+  private static File baseDir;
+  private static int numNodes;
+  private static int requestedNodes = Options.DEFAULT_MINI_CLUSTER_NODES;
+
+  @Override
+  public String getName()
+    {
+    return "hadoop2-mr1-mini";
+    }
+
+  /**
+   * Records the nodes to start, as the slots may be queried before the platform properties are built, and moves the
+   * stats and the baseline to the local file system.
+   */
+  @Override
+  public void initialize( Options options )
+    {
+    setRequestedNodes( options.getMiniClusterNodes() );
+
+    if( options.hasStatsRoot() )
+      options.setStatsRoot( qualifyLocal( options.getStatsRoot() ) );
+
+    if( options.hasCompareTo() )
+      options.setCompareTo( qualifyLocal( options.getCompareTo() ) );
+    }
+
+  /** Returns the given path on the local file system, unless it already names a file system. */
+  static String qualifyLocal( String path )
+    {
+    if( path.contains( "://" ) )
+      return path;
+
+    return "file://" + new File( path ).getAbsolutePath() + ( path.endsWith( "/" ) ? "/" : "" );
+    }
+
+  @Override
+  public void shutdown()
+    {
+    stopCluster();
+    }
+
+  @Override
+  public Properties buildPlatformProperties( Options options )
+    {
+    startCluster( options.getMiniClusterNodes() );
+
+    Properties properties = cascading.flow.hadoop.util.HadoopUtil.createProperties( newJobConf() );
+
+    properties.putAll( super.buildPlatformProperties( options ) );
+
+    return properties;
+    }
+
+  @Override
+  protected JobConf newJobConf()
+    {
+    return new JobConf( getClusterConf() );
+    }
+
+  private static synchronized JobConf getClusterConf()
+    {
+    if( clusterConf == null )
+      startCluster( requestedNodes );
+
+    return clusterConf;
+    }
+
+  private static synchronized void setRequestedNodes( int nodes )
+    {
+    requestedNodes = nodes;
+    }
+
+  private static synchronized void startCluster( int nodes )
+    {
+    if( clusterConf != null )
+      {
+      if( nodes != numNodes )
+        LOG.warn( "mini cluster already running with " + numNodes + " nodes, ignoring: " + nodes );
+
+      return;
+      }
+
+    baseDir = new File( System.getProperty( "java.io.tmpdir" ), "load-mini-cluster-" + UUID.randomUUID() );
+
+    LOG.info( "starting mini cluster with " + nodes + " nodes in: " + baseDir );
+
+    try
+      {
+      JobConf jobConf = new JobConf();
+
+      jobConf.set( MiniDFSCluster.HDFS_MINIDFS_BASEDIR, new File( baseDir, "dfs" ).getAbsolutePath() );
+
+      dfsCluster = new MiniDFSCluster.Builder( jobConf ).numDataNodes( nodes ).format( true ).build();
+
+      FileSystem.setDefaultUri( jobConf, dfsCluster.getFileSystem().getUri() );
+
+      mrCluster = MiniMRClientClusterFactory.create( Hadoop2MR1MiniClusterPlatform.class, nodes, jobConf );
+      }
+    catch( IOException exception )
+      {
+      stopCluster();
+
+      throw new CascadingException( "failed starting mini cluster", exception );
+      }
+
+    clusterConf = new JobConf( mrCluster.getConfig() );
+    numNodes = nodes;
+
+    Runtime.getRuntime().addShutdownHook( new Thread( "mini cluster shutdown" )
+    {
+    @Override
+    public void run()
+      {
+      stopCluster();
+      }
+    } );
+    }
+
+  private static synchronized void stopCluster()
+    {
+    try
+      {
+      if( mrCluster != null )
+        mrCluster.stop();
+      }
+    catch( IOException exception )
+      {
+      LOG.warn( "failed stopping mini yarn cluster", exception );
+      }
+
+    if( dfsCluster != null )
+      dfsCluster.shutdown( true );
+
+    try
+      {
+      if( baseDir != null && baseDir.exists() )
+        Util.deleteRecursive( baseDir );
+      }
+    catch( IOException exception )
+      {
+      LOG.warn( "failed deleting mini cluster directory: " + baseDir, exception );
+      }
+
+    mrCluster = null;
+    dfsCluster = null;
+    clusterConf = null;
+    baseDir = null;
+    }
+  }
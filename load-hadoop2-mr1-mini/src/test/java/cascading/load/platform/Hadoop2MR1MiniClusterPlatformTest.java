@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2007-2009 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Cascading is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cascading is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cascading.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package cascading.load.platform;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import cascading.load.Main;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs a load through Main on the mini cluster platform, which the platform tests do not cover.
+ */
+public class Hadoop2MR1MiniClusterPlatformTest
+  {
+  private static final FilenameFilter CLUSTER_DIRS = new FilenameFilter()
+  {
+  @Override
+  public boolean accept( File dir, String name )
+    {
+    return name.startsWith( "load-mini-cluster-" );
+    }
+  };
+
+  @Test
+  public void testCountSort() throws Exception
+    {
+    String output = System.getProperty( "test.output.root", "build/test/output/" ) + "mini/";
+    File tmpDir = new File( System.getProperty( "java.io.tmpdir" ) );
+    Set<String> clusterDirs = new HashSet<String>( Arrays.asList( tmpDir.list( CLUSTER_DIRS ) ) );
+
+    String[] args = new String[]{
+      "--platform", "hadoop2-mr1-mini",
+      "-MCN", "1",
+      "-S", output + "status",
+      "-I", "input",
+      "-W", "working",
+      "-O", "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "1",
+      "-gs", "1",
+
+      "-c"
+    };
+
+    Main main = new Main( args );
+
+    assertTrue( main.execute() );
+
+    // the stats are written to the local file system, so they outlive the cluster
+    assertTrue( main.getFullStatsRoot(), main.getFullStatsRoot().startsWith( "file://" ) );
+
+    File stats = new File( URI.create( main.getFullStatsRoot() ) );
+
+    assertTrue( stats.toString(), new File( stats, "part-00000" ).length() > 0 );
+
+    // the cluster, and the data on it, is deleted once the loads have run
+    assertEquals( clusterDirs, new HashSet<String>( Arrays.asList( tmpDir.list( CLUSTER_DIRS ) ) ) );
+    }
+  }
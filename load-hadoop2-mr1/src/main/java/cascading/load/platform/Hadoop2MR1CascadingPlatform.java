@@ -22,10 +22,14 @@
 package cascading.load.platform;
 
 import java.util.Map;
+import java.util.Properties;
 
 import cascading.flow.FlowConnector;
+import cascading.flow.FlowListener;
 import cascading.flow.hadoop2.Hadoop2MR1FlowConnector;
+import cascading.load.util.StatsPrinter;
 import cascading.stats.CascadingStats;
+import org.apache.hadoop.mapreduce.FileSystemCounter;
 import org.apache.hadoop.mapreduce.TaskCounter;
 
 /**
@@ -56,9 +60,54 @@ public class Hadoop2MR1CascadingPlatform extends BaseHadoopCascadingPlatform
     return "yarn";
     }
 
+  /** Also copies the recordings from the aggregated container logs under the profile path once the Flow completed. */
+  @Override
+  public FlowListener newProfiler( Properties properties, String name, String path )
+    {
+    super.newProfiler( properties, name, path );
+
+    return new ProfileCollector( newJobConf(), name, path );
+    }
+
+  @Override
+  protected String getFileSystemCounterGroup()
+    {
+    return FileSystemCounter.class.getName();
+    }
+
   @Override
   public long getCPUMillis( CascadingStats cascadingStats )
     {
     return cascadingStats.getCounterValue( TaskCounter.CPU_MILLISECONDS );
     }
+
+  @Override
+  public long getShuffleBytes( CascadingStats cascadingStats )
+    {
+    return cascadingStats.getCounterValue( TaskCounter.REDUCE_SHUFFLE_BYTES );
+    }
+
+  @Override
+  public long getGCMillis( CascadingStats cascadingStats )
+    {
+    return cascadingStats.getCounterValue( TaskCounter.GC_TIME_MILLIS );
+    }
+
+  @Override
+  public long getGCCount( CascadingStats cascadingStats )
+    {
+    return 0; // only the time is counted
+    }
+
+  @Override
+  public long getPeakHeapBytes( CascadingStats cascadingStats )
+    {
+    return StatsPrinter.getMaxSliceCounter( cascadingStats, TaskCounter.class.getName(), TaskCounter.COMMITTED_HEAP_BYTES.name() );
+    }
+
+  @Override
+  public long getPeakPhysicalMemoryBytes( CascadingStats cascadingStats )
+    {
+    return StatsPrinter.getMaxSliceCounter( cascadingStats, TaskCounter.class.getName(), TaskCounter.PHYSICAL_MEMORY_BYTES.name() );
+    }
   }
\ No newline at end of file
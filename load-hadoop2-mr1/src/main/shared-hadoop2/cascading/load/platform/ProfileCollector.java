@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2007-2009 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.cascading.org/
+ *
+ * This file is part of the Cascading project.
+ *
+ * Cascading is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Cascading is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Cascading.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package cascading.load.platform;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import cascading.flow.Flow;
+import cascading.flow.FlowListener;
+import cascading.stats.FlowStepStats;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.hadoop.yarn.conf.YarnConfiguration;
+import org.apache.hadoop.yarn.logaggregation.AggregatedLogFormat;
+import org.apache.hadoop.yarn.logaggregation.LogAggregationUtils;
+import org.apache.hadoop.yarn.util.ConverterUtils;
+import org.apache.log4j.Logger;
+
+/**
+ * Class ProfileCollector copies the Flight Recorder recordings the containers of a Flow dumped to their log directories
+ * under the profile path, as {@code <path>/<load>/<container>.jfr}, once the Flow completed.
+ * <p/>
+ * The recordings are read from the logs YARN aggregated for the application of every step, so log aggregation must be
+ * enabled. Aggregation starts when an application finishes, so the collector waits up to {@link #WAIT_MILLIS} for the
+ * logs of each application to be complete.
+ */
+class ProfileCollector implements FlowListener
+  {
+  private static final Logger LOG = Logger.getLogger( ProfileCollector.class );
+
+  static final long WAIT_MILLIS = 60 * 1000;
+  static final long POLL_MILLIS = 1000;
+
+  private final Configuration configuration;
+  private final String name;
+  private final String path;
+
+  ProfileCollector( Configuration configuration, String name, String path )
+    {
+    this.configuration = configuration;
+    this.name = name;
+    this.path = path;
+    }
+
+  @Override
+  public void onStarting( Flow flow )
+    {
+    }
+
+  @Override
+  public void onStopping( Flow flow )
+    {
+    }
+
+  @Override
+  public void onCompleted( Flow flow )
+    {
+    if( !configuration.getBoolean( YarnConfiguration.LOG_AGGREGATION_ENABLED, YarnConfiguration.DEFAULT_LOG_AGGREGATION_ENABLED ) )
+      {
+      LOG.warn( "log aggregation is disabled, recordings of: " + flow.getName() + " are left in the container log directories" );
+      return;
+      }
+
+    for( FlowStepStats stepStats : flow.getFlowStats().getFlowStepStats() )
+      {
+      ApplicationId applicationId = getApplicationId( stepStats.getProcessStepID() );
+
+      if( applicationId == null )
+        continue;
+
+      try
+        {
+        int count = collect( applicationId );
+
+        LOG.info( "collected " + count + " recordings of: " + flow.getName() + ", from: " + applicationId );
+        }
+      catch( IOException exception )
+        {
+        LOG.warn( "unable to collect recordings of: " + flow.getName() + ", from: " + applicationId, exception );
+        }
+      catch( InterruptedException exception )
+        {
+        Thread.currentThread().interrupt();
+        return;
+        }
+      }
+    }
+
+  @Override
+  public boolean onThrowable( Flow flow, Throwable throwable )
+    {
+    return false;
+    }
+
+  /** Returns the application running the given MapReduce job or Tez DAG, they share its timestamp and sequence. */
+  static ApplicationId getApplicationId( String processStepID )
+    {
+    if( processStepID == null )
+      return null;
+
+    String[] parts = processStepID.split( "_" );
+
+    if( parts.length < 3 || !( parts[ 0 ].equals( "job" ) || parts[ 0 ].equals( "dag" ) ) )
+      return null;
+
+    return ConverterUtils.toApplicationId( "application_" + parts[ 1 ] + "_" + parts[ 2 ] );
+    }
+
+  private int collect( ApplicationId applicationId ) throws IOException, InterruptedException
+    {
+    Path remoteRoot = new Path( configuration.get( YarnConfiguration.NM_REMOTE_APP_LOG_DIR, YarnConfiguration.DEFAULT_NM_REMOTE_APP_LOG_DIR ) );
+    String suffix = configuration.get( YarnConfiguration.NM_REMOTE_APP_LOG_DIR_SUFFIX, YarnConfiguration.DEFAULT_NM_REMOTE_APP_LOG_DIR_SUFFIX );
+    String user = UserGroupInformation.getCurrentUser().getShortUserName();
+    Path logDir = LogAggregationUtils.getRemoteAppLogDir( remoteRoot, applicationId, user, suffix );
+    FileSystem logFileSystem = logDir.getFileSystem( configuration );
+
+    FileStatus[] logFiles = waitForLogs( logFileSystem, logDir );
+    int count = 0;
+
+    for( FileStatus logFile : logFiles )
+      count += collect( logFile.getPath() );
+
+    return count;
+    }
+
+  /** Waits for the aggregated logs of every node, a node writes to a .tmp file until it is done. */
+  private FileStatus[] waitForLogs( FileSystem fileSystem, Path logDir ) throws IOException, InterruptedException
+    {
+    long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+
+    while( true )
+      {
+      FileStatus[] logFiles = fileSystem.exists( logDir ) ? fileSystem.listStatus( logDir ) : new FileStatus[ 0 ];
+      boolean complete = logFiles.length != 0;
+
+      for( FileStatus logFile : logFiles )
+        complete &= !logFile.getPath().getName().endsWith( ".tmp" );
+
+      if( complete || System.currentTimeMillis() > deadline )
+        return logFiles;
+
+      Thread.sleep( POLL_MILLIS );
+      }
+    }
+
+  /** Copies the recordings in the given aggregated log file, every container holds a sequence of named files. */
+  private int collect( Path logFile ) throws IOException
+    {
+    if( logFile.getName().endsWith( ".tmp" ) )
+      return 0;
+
+    AggregatedLogFormat.LogReader reader = new AggregatedLogFormat.LogReader( configuration, logFile );
+    int count = 0;
+
+    try
+      {
+      AggregatedLogFormat.LogKey key = new AggregatedLogFormat.LogKey();
+      DataInputStream valueStream = reader.next( key );
+
+      while( valueStream != null )
+        {
+        count += collect( key.toString(), valueStream );
+
+        key = new AggregatedLogFormat.LogKey();
+        valueStream = reader.next( key );
+        }
+      }
+    finally
+      {
+      reader.close();
+      }
+
+    return count;
+    }
+
+  private int collect( String container, DataInputStream valueStream ) throws IOException
+    {
+    int count = 0;
+
+    while( true )
+      {
+      String fileName;
+
+      try
+        {
+        fileName = valueStream.readUTF();
+        }
+      catch( EOFException exception )
+        {
+        return count; // no more files of this container
+        }
+
+      long length = Long.parseLong( valueStream.readUTF() );
+
+      if( !fileName.equals( name + ".jfr" ) )
+        {
+        IOUtils.skipFully( valueStream, length );
+        continue;
+        }
+
+      Path target = new Path( path, name + "/" + container + ".jfr" );
+      OutputStream outputStream = target.getFileSystem( configuration ).create( target, true );
+
+      try
+        {
+        IOUtils.copyBytes( valueStream, outputStream, length, false ); // the value stream is read on by the reader
+        }
+      finally
+        {
+        outputStream.close();
+        }
+
+      count++;
+      }
+    }
+  }
@@ -22,16 +22,21 @@
 package cascading.load.platform;
 
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Properties;
 
 import cascading.CascadingException;
 import cascading.flow.FlowConnector;
+import cascading.flow.FlowListener;
 import cascading.flow.FlowProps;
 import cascading.flow.FlowRuntimeProps;
 import cascading.flow.tez.Hadoop2TezFlowConnector;
 import cascading.flow.tez.Hadoop2TezFlowProcess;
 import cascading.load.Options;
+import cascading.load.common.LoadCatalog;
+import cascading.load.instrument.Instrumentation;
+import cascading.load.util.StatsPrinter;
 import cascading.scheme.Scheme;
 import cascading.scheme.hadoop.TextLine;
 import cascading.stats.CascadingStats;
@@ -41,15 +46,19 @@ import cascading.tap.hadoop.Hfs;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntryCollector;
+import cascading.tuple.TupleEntryIterator;
 import cascading.tuple.collect.SpillableProps;
+import cascading.tuple.hadoop.TupleSerializationProps;
 import cascading.util.Util;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.yarn.conf.YarnConfiguration;
 import org.apache.log4j.Logger;
+import org.apache.tez.common.counters.FileSystemCounter;
 import org.apache.tez.common.counters.TaskCounter;
 import org.apache.tez.dag.api.TezConfiguration;
+import org.apache.tez.dag.library.vertexmanager.ShuffleVertexManager;
 import org.apache.tez.runtime.library.api.TezRuntimeConfiguration;
 
 /**
@@ -59,6 +68,8 @@ public class Hadoop2TezCascadingPlatform implements CascadingLoadPlatform
   {
   private static final Logger LOG = Logger.getLogger( Hadoop2TezCascadingPlatform.class );
 
+  private long inputBytes = -1;
+
   @Override
   public String getName()
     {
@@ -108,6 +119,12 @@ public class Hadoop2TezCascadingPlatform implements CascadingLoadPlatform
     return tap.openForWrite( new Hadoop2TezFlowProcess() );
     }
 
+  @Override
+  public TupleEntryIterator newTupleEntryIterator( Tap tap ) throws IOException
+    {
+    return tap.openForRead( new Hadoop2TezFlowProcess() );
+    }
+
   @Override
   public Scheme newTextLine()
     {
@@ -126,6 +143,12 @@ public class Hadoop2TezCascadingPlatform implements CascadingLoadPlatform
     return new cascading.scheme.hadoop.TextLine( sourceFields, sinkFields );
     }
 
+  @Override
+  public Scheme newBinaryScheme( Fields fields )
+    {
+    return new cascading.scheme.hadoop.SequenceFile( fields );
+    }
+
   @Override
   public void writeDictionaryData( Tuple data, String path, int numberOfFiles ) throws IOException
     {
@@ -141,6 +164,17 @@ public class Hadoop2TezCascadingPlatform implements CascadingLoadPlatform
       }
     }
 
+  @Override
+  public void initialize( Options options )
+    {
+    inputBytes = -1; // the input root may differ from the last options this platform was initialized with
+    }
+
+  @Override
+  public void shutdown()
+    {
+    }
+
   @Override
   public Properties buildPlatformProperties( Options options )
     {
@@ -156,10 +190,13 @@ public class Hadoop2TezCascadingPlatform implements CascadingLoadPlatform
 //    properties.setProperty( YarnConfiguration.DEBUG_NM_DELETE_DELAY_SEC, "-1" );
 //    properties.setProperty( TezConfiguration.TEZ_GENERATE_DEBUG_ARTIFACTS, "true" );
 
-//    properties.setProperty( TezConfiguration.TEZ_AM_CONTAINER_REUSE_ENABLED, "false" ); // disabled to bypass deadlock
-
-    // unsupported currently
-//    properties.setProperty( TezConfiguration.TEZ_AM_SESSION_MODE, "true" ); // enable sessions
+    // left to the Tez defaults unless asked for, container reuse was disabled once to bypass a deadlock
+    if( options.isTezContainerReuse() )
+      {
+      properties.setProperty( TezConfiguration.TEZ_AM_CONTAINER_REUSE_ENABLED, "true" );
+      properties.setProperty( TezConfiguration.TEZ_AM_CONTAINER_REUSE_RACK_FALLBACK_ENABLED, "true" );
+      properties.setProperty( TezConfiguration.TEZ_AM_CONTAINER_REUSE_NON_LOCAL_FALLBACK_ENABLED, "true" );
+      }
 
     properties.setProperty( TezRuntimeConfiguration.TEZ_RUNTIME_COMPRESS, "true" );
     properties.setProperty( TezConfiguration.TEZ_HISTORY_LOGGING_SERVICE_CLASS, "org.apache.tez.dag.history.logging.ats.ATSHistoryLoggingService" );
@@ -177,7 +214,7 @@ public class Hadoop2TezCascadingPlatform implements CascadingLoadPlatform
 
     if( options.getNumDefaultReducers() != -1 )
       properties.setProperty( FlowRuntimeProps.GATHER_PARTITIONS, Integer.toString( options.getNumDefaultReducers() ) );
-    else
+    else if( !options.isTezAutoPartitions() )
       properties.setProperty( FlowRuntimeProps.GATHER_PARTITIONS, "1" );
 
 //    properties.setProperty( "mapred.map.tasks.speculative.execution", options.isMapSpecExec() ? "true" : "false" );
@@ -199,6 +236,10 @@ public class Hadoop2TezCascadingPlatform implements CascadingLoadPlatform
       LOG.info( "native codec not found" );
       }
 
+    // every operation timed with --instrument adds two counters to a single group
+    if( options.isInstrument() )
+      properties.setProperty( TezConfiguration.TEZ_COUNTERS_MAX, Integer.toString( Instrumentation.MAX_COUNTERS ) );
+
     for( String property : options.getHadoopProperties() )
       {
       String[] split = property.split( "=" );
@@ -209,12 +250,108 @@ public class Hadoop2TezCascadingPlatform implements CascadingLoadPlatform
         properties.setProperty( split[ 0 ], null );
       }
 
+    // after the hadoop properties, so the input is read from the file system they name, and any they set are kept
+    if( options.getNumDefaultReducers() == -1 && options.isTezAutoPartitions() )
+      setAutoPartitions( properties, options );
+
     if( options.getMaxConcurrentSteps() != -1 )
       FlowProps.setMaxConcurrentSteps( properties, options.getMaxConcurrentSteps() );
 
     return properties;
     }
 
+  /**
+   * Sets one gather partition per --tez-partition-size of input, and lets Tez lower the partitions of a vertex at
+   * runtime when its actual input is smaller. Properties already given with --hadoop-properties are kept.
+   */
+  private void setAutoPartitions( Properties properties, Options options )
+    {
+    long partitionBytes = options.getTezPartitionSizeMB() * 1024L * 1024L;
+    long inputBytes = getInputBytes( properties, options );
+    long partitions = Math.max( 1, ( inputBytes + partitionBytes - 1 ) / partitionBytes );
+
+    setDefault( properties, FlowRuntimeProps.GATHER_PARTITIONS, Long.toString( partitions ) );
+    setDefault( properties, ShuffleVertexManager.TEZ_SHUFFLE_VERTEX_MANAGER_ENABLE_AUTO_PARALLEL, "true" );
+    setDefault( properties, ShuffleVertexManager.TEZ_SHUFFLE_VERTEX_MANAGER_DESIRED_TASK_INPUT_SIZE, Long.toString( partitionBytes ) );
+    }
+
+  private static void setDefault( Properties properties, String key, String value )
+    {
+    if( properties.getProperty( key ) == null )
+      properties.setProperty( key, value );
+    }
+
+  /**
+   * Returns the expected size of the input if it is to be generated, otherwise the size of the existing input, read
+   * once through the given platform properties.
+   */
+  private long getInputBytes( Properties properties, Options options )
+    {
+    // any existing input is replaced by the generated data
+    if( new LoadCatalog().select( options ).contains( "generate" ) )
+      return (long) ( options.getDataNumFiles() * options.getDataFileSizeMB() * 1024 * 1024 );
+
+    if( inputBytes != -1 )
+      return inputBytes;
+
+    inputBytes = 0;
+
+    try
+      {
+      FileSystem fs = FileSystem.get( newConfiguration( properties ) );
+      Path path = new Path( options.getInputRoot() );
+
+      if( fs.exists( path ) )
+        inputBytes = fs.getContentSummary( path ).getLength();
+      }
+    catch( IOException exception )
+      {
+      LOG.warn( "unable to read the input size of: " + options.getInputRoot(), exception );
+      }
+
+    LOG.info( "using gather partitions for input bytes: " + inputBytes );
+
+    return inputBytes;
+    }
+
+  /** Returns a new configuration of the cluster, with the given properties set. */
+  private static TezConfiguration newConfiguration( Properties properties )
+    {
+    TezConfiguration configuration = new TezConfiguration();
+
+    for( String key : properties.stringPropertyNames() )
+      configuration.set( key, properties.getProperty( key ) );
+
+    return configuration;
+    }
+
+  /**
+   * Adds Flight Recorder options to the task launch options, every container dumps its recording to the YARN container
+   * log directory when it exits, and the returned {@link ProfileCollector} copies them from the aggregated logs under
+   * the profile path. A reused container records every task it ran.
+   */
+  @Override
+  public FlowListener newProfiler( Properties properties, String name, String path )
+    {
+    String options = cascading.load.util.Util.getFlightRecorderOptions( "<LOG_DIR>/" + name + ".jfr" );
+
+    properties.setProperty( TezConfiguration.TEZ_TASK_LAUNCH_CMD_OPTS, cascading.load.util.Util.appendJavaOptions( properties.getProperty( TezConfiguration.TEZ_TASK_LAUNCH_CMD_OPTS ), options ) );
+
+    return new ProfileCollector( new TezConfiguration(), name, path );
+    }
+
+  @Override
+  public void addKeySerialization( Properties properties )
+    {
+    TupleSerializationProps.addSerialization( properties, PackedKeySerialization.class.getName() );
+    }
+
+  @Override
+  public Comparator newRawKeyComparator()
+    {
+    return new PackedKeyComparator();
+    }
+
   @Override
   public void cleanDirectories( String... paths ) throws IOException
     {
@@ -240,4 +377,64 @@ public class Hadoop2TezCascadingPlatform implements CascadingLoadPlatform
     {
     return cascadingStats.getCounterValue( TaskCounter.CPU_MILLISECONDS );
     }
+
+  @Override
+  public long getShuffleBytes( CascadingStats cascadingStats )
+    {
+    return cascadingStats.getCounterValue( TaskCounter.SHUFFLE_BYTES );
+    }
+
+  @Override
+  public long getGCMillis( CascadingStats cascadingStats )
+    {
+    return cascadingStats.getCounterValue( TaskCounter.GC_TIME_MILLIS );
+    }
+
+  @Override
+  public long getGCCount( CascadingStats cascadingStats )
+    {
+    return 0; // only the time is counted
+    }
+
+  @Override
+  public long getPeakHeapBytes( CascadingStats cascadingStats )
+    {
+    return StatsPrinter.getMaxSliceCounter( cascadingStats, TaskCounter.class.getName(), TaskCounter.COMMITTED_HEAP_BYTES.name() );
+    }
+
+  @Override
+  public long getPeakPhysicalMemoryBytes( CascadingStats cascadingStats )
+    {
+    return StatsPrinter.getMaxSliceCounter( cascadingStats, TaskCounter.class.getName(), TaskCounter.PHYSICAL_MEMORY_BYTES.name() );
+    }
+
+  @Override
+  public long getBytesRead( CascadingStats cascadingStats )
+    {
+    return getFileSystemBytes( cascadingStats, "_BYTES_READ" );
+    }
+
+  @Override
+  public long getBytesWritten( CascadingStats cascadingStats )
+    {
+    return getFileSystemBytes( cascadingStats, "_BYTES_WRITTEN" );
+    }
+
+  private long getFileSystemBytes( CascadingStats cascadingStats, String suffix )
+    {
+    String group = FileSystemCounter.class.getName();
+
+    if( !cascadingStats.getCounterGroups().contains( group ) )
+      return 0;
+
+    long bytes = 0;
+
+    for( String counter : cascadingStats.getCountersFor( group ) )
+      {
+      if( counter.endsWith( suffix ) )
+        bytes += cascadingStats.getCounterValue( group, counter );
+      }
+
+    return bytes;
+    }
   }
\ No newline at end of file
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.benchmark;
+
+import cascading.tuple.Fields;
+import cascading.tuple.TupleEntry;
+import cascading.tuple.TupleEntryCollector;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Class BlackholeCollector hands every collected tuple to a JMH {@link Blackhole} so it is never optimized away. */
+public class BlackholeCollector extends TupleEntryCollector
+  {
+  private final Blackhole blackhole;
+
+  public BlackholeCollector( Fields declared, Blackhole blackhole )
+    {
+    super( declared );
+    this.blackhole = blackhole;
+    }
+
+  @Override
+  protected void collect( TupleEntry tupleEntry )
+    {
+    blackhole.consume( tupleEntry.getTuple() );
+    }
+
+  @Override
+  public void close()
+    {
+    }
+  }
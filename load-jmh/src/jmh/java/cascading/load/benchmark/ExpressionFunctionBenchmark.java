@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import cascading.flow.FlowProcess;
+import cascading.load.pipeline.HashModulo;
+import cascading.load.pipeline.WordCount;
+import cascading.operation.ConcreteCall;
+import cascading.operation.Function;
+import cascading.operation.expression.ExpressionFunction;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Class ExpressionFunctionBenchmark measures the two {@link ExpressionFunction}s the Pipeline and ChainedAggregate
+ * loads evaluate for every line, the word count and the hash, against the {@link WordCount} and {@link HashModulo}
+ * functions that replace them with --primitive-aggregation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExpressionFunctionBenchmark
+  {
+  private String[] lines;
+  private int next;
+
+  private Function count;
+  private ConcreteCall countCall;
+
+  private Function hash;
+  private ConcreteCall hashCall;
+
+  private Function primitiveCount;
+  private ConcreteCall primitiveCountCall;
+
+  private Function primitiveHash;
+  private ConcreteCall primitiveHashCall;
+
+  private Blackhole blackhole;
+
+  @Setup
+  public void setup() throws IOException
+    {
+    lines = Lines.lines( 1024, 10 );
+
+    count = new ExpressionFunction( new Fields( "count" ), "line.split( \"\\\\s\" ).length", String.class );
+    countCall = prepare( count );
+
+    hash = new ExpressionFunction( new Fields( "hash" ), "line.hashCode() % 1000000", String.class );
+    hashCall = prepare( hash );
+
+    primitiveCount = new WordCount( new Fields( "count" ) );
+    primitiveCountCall = prepare( primitiveCount );
+
+    primitiveHash = new HashModulo( new Fields( "hash" ), 1000000 );
+    primitiveHashCall = prepare( primitiveHash );
+    }
+
+  private static ConcreteCall prepare( Function function )
+    {
+    ConcreteCall call = new ConcreteCall( new Fields( "line" ) );
+
+    call.setArguments( new TupleEntry( new Fields( "line" ), Tuple.size( 1 ) ) );
+
+    function.prepare( FlowProcess.NULL, call );
+
+    return call;
+    }
+
+  /** Builds the output collectors once for the given Blackhole, so they are not allocated inside the measured call. */
+  private void collectInto( Blackhole blackhole )
+    {
+    if( this.blackhole == blackhole )
+      return;
+
+    this.blackhole = blackhole;
+
+    countCall.setOutputCollector( new BlackholeCollector( new Fields( "count" ), blackhole ) );
+    hashCall.setOutputCollector( new BlackholeCollector( new Fields( "hash" ), blackhole ) );
+    primitiveCountCall.setOutputCollector( new BlackholeCollector( new Fields( "count" ), blackhole ) );
+    primitiveHashCall.setOutputCollector( new BlackholeCollector( new Fields( "hash" ), blackhole ) );
+    }
+
+  private String nextLine()
+    {
+    return lines[ next++ & ( lines.length - 1 ) ];
+    }
+
+  @Benchmark
+  public void count( Blackhole blackhole )
+    {
+    collectInto( blackhole );
+
+    countCall.getArguments().setString( 0, nextLine() );
+    count.operate( FlowProcess.NULL, countCall );
+    }
+
+  @Benchmark
+  public void hash( Blackhole blackhole )
+    {
+    collectInto( blackhole );
+
+    hashCall.getArguments().setString( 0, nextLine() );
+    hash.operate( FlowProcess.NULL, hashCall );
+    }
+
+  @Benchmark
+  public void primitiveCount( Blackhole blackhole )
+    {
+    collectInto( blackhole );
+
+    primitiveCountCall.getArguments().setString( 0, nextLine() );
+    primitiveCount.operate( FlowProcess.NULL, primitiveCountCall );
+    }
+
+  @Benchmark
+  public void primitiveHash( Blackhole blackhole )
+    {
+    collectInto( blackhole );
+
+    primitiveHashCall.getArguments().setString( 0, nextLine() );
+    primitiveHash.operate( FlowProcess.NULL, primitiveHashCall );
+    }
+  }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import cascading.load.generate.GenerateData;
+import cascading.load.util.Util;
+
+/** Class Lines builds lines of random dictionary words, shaped like the default generated corpus. */
+public class Lines
+  {
+  public static List<String> dictionary() throws IOException
+    {
+    List<String> dictionary = new ArrayList<String>();
+
+    Util.populateCollection( GenerateData.class, "dictionary.txt", dictionary );
+
+    return dictionary;
+    }
+
+  public static String[] lines( int numLines, int numWords ) throws IOException
+    {
+    List<String> dictionary = dictionary();
+    Random random = new Random( 1 );
+    String[] lines = new String[ numLines ];
+
+    for( int i = 0; i < numLines; i++ )
+      {
+      StringBuilder line = new StringBuilder();
+
+      for( int j = 0; j < numWords; j++ )
+        {
+        if( j != 0 )
+          line.append( ' ' );
+
+        line.append( dictionary.get( random.nextInt( dictionary.size() ) ) );
+        }
+
+      lines[ i ] = line.toString();
+      }
+
+    return lines;
+    }
+  }
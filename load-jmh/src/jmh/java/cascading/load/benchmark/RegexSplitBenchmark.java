@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import cascading.flow.FlowProcess;
+import cascading.operation.ConcreteCall;
+import cascading.operation.Function;
+import cascading.operation.regex.RegexSplitGenerator;
+import cascading.operation.regex.RegexSplitter;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Class RegexSplitBenchmark measures splitting one generated line into words, as nearly every load does, both
+ * into one tuple per word with {@link RegexSplitGenerator} and into one field per word with {@link RegexSplitter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegexSplitBenchmark
+  {
+  private static final int NUM_WORDS = 10;
+
+  private String[] lines;
+  private int next;
+
+  private Function splitGenerator;
+  private ConcreteCall splitGeneratorCall;
+
+  private Function splitter;
+  private ConcreteCall splitterCall;
+
+  private Blackhole blackhole;
+
+  @Setup
+  public void setup() throws IOException
+    {
+    lines = Lines.lines( 1024, NUM_WORDS );
+
+    splitGenerator = new RegexSplitGenerator( new Fields( "word" ), "\\s" );
+    splitGeneratorCall = prepare( splitGenerator );
+
+    splitter = new RegexSplitter( Fields.size( NUM_WORDS ), "\\s" );
+    splitterCall = prepare( splitter );
+    }
+
+  private static ConcreteCall prepare( Function function )
+    {
+    ConcreteCall call = new ConcreteCall( new Fields( "line" ) );
+
+    call.setArguments( new TupleEntry( new Fields( "line" ), Tuple.size( 1 ) ) );
+
+    function.prepare( FlowProcess.NULL, call );
+
+    return call;
+    }
+
+  /** Builds the output collectors once for the given Blackhole, so they are not allocated inside the measured call. */
+  private void collectInto( Blackhole blackhole )
+    {
+    if( this.blackhole == blackhole )
+      return;
+
+    this.blackhole = blackhole;
+
+    splitGeneratorCall.setOutputCollector( new BlackholeCollector( new Fields( "word" ), blackhole ) );
+    splitterCall.setOutputCollector( new BlackholeCollector( Fields.size( NUM_WORDS ), blackhole ) );
+    }
+
+  private String nextLine()
+    {
+    return lines[ next++ & ( lines.length - 1 ) ];
+    }
+
+  @Benchmark
+  public void splitGenerator( Blackhole blackhole )
+    {
+    collectInto( blackhole );
+
+    splitGeneratorCall.getArguments().setString( 0, nextLine() );
+    splitGenerator.operate( FlowProcess.NULL, splitGeneratorCall );
+    }
+
+  @Benchmark
+  public void splitter( Blackhole blackhole )
+    {
+    collectInto( blackhole );
+
+    splitterCall.getArguments().setString( 0, nextLine() );
+    splitter.operate( FlowProcess.NULL, splitterCall );
+    }
+  }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import cascading.flow.FlowProcess;
+import cascading.load.Options;
+import cascading.load.countsort.SortComparator;
+import cascading.load.countsort.SortFields;
+import cascading.operation.ConcreteCall;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import cascading.tuple.TupleEntryCollector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Class SortComparatorBenchmark measures one comparison of the sort fields the parameterized-sort load groups and
+ * sorts on, built by {@link SortFields} from dictionary words, for each sort type and comparator. This is the cost per
+ * comparison the load itself cannot separate from its i/o.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SortComparatorBenchmark
+  {
+  private static final int NUM_TUPLES = 1024;
+  private static final int NUM_FIELDS = 3;
+  private static final int CARDINALITY = 1000;
+
+  @Param({"long", "string", "composite"})
+  String sortType;
+
+  @Param({"natural", "custom", "reverse"})
+  String comparator;
+
+  private Tuple[] tuples;
+  private Comparator<Tuple> tupleComparator;
+  private int next;
+
+  @Setup
+  public void setup() throws IOException
+    {
+    String[] names = new String[ NUM_FIELDS ];
+    int[] cardinalities = new int[ NUM_FIELDS ];
+
+    for( int i = 0; i < NUM_FIELDS; i++ )
+      {
+      names[ i ] = "s" + i;
+      cardinalities[ i ] = CARDINALITY;
+      }
+
+    tuples = sortFields( Lines.dictionary(), new SortFields( new Fields( names ), sortType, cardinalities ) );
+    tupleComparator = newComparator( comparator );
+    }
+
+  private static Tuple[] sortFields( List<String> dictionary, SortFields function )
+    {
+    final List<Tuple> results = new ArrayList<Tuple>();
+    ConcreteCall<Tuple> call = new ConcreteCall<Tuple>( new Fields( "word" ) );
+
+    call.setArguments( new TupleEntry( new Fields( "word" ), Tuple.size( 1 ) ) );
+    call.setOutputCollector( new TupleEntryCollector( function.getFieldDeclaration() )
+    {
+    @Override
+    protected void collect( TupleEntry tupleEntry )
+      {
+      results.add( new Tuple( tupleEntry.getTuple() ) );
+      }
+
+    @Override
+    public void close()
+      {
+      }
+    } );
+
+    function.prepare( FlowProcess.NULL, call );
+
+    for( int i = 0; i < NUM_TUPLES; i++ )
+      {
+      call.getArguments().setString( 0, dictionary.get( i % dictionary.size() ) );
+      function.operate( FlowProcess.NULL, call );
+      }
+
+    return results.toArray( new Tuple[ results.size() ] );
+    }
+
+  /** Returns the comparison the GroupBy of the load makes for the given --sort-comparator. */
+  private static Comparator<Tuple> newComparator( String comparator )
+    {
+    Comparator<Tuple> natural = new Comparator<Tuple>()
+    {
+    @Override
+    public int compare( Tuple lhs, Tuple rhs )
+      {
+      return lhs.compareTo( rhs );
+      }
+    };
+
+    if( Options.COMPARATOR_REVERSE.equals( comparator ) )
+      return Collections.reverseOrder( natural );
+
+    if( !Options.COMPARATOR_CUSTOM.equals( comparator ) )
+      return natural;
+
+    final Comparator[] comparators = new Comparator[ NUM_FIELDS ];
+
+    for( int i = 0; i < NUM_FIELDS; i++ )
+      comparators[ i ] = new SortComparator();
+
+    return new Comparator<Tuple>()
+    {
+    @Override
+    public int compare( Tuple lhs, Tuple rhs )
+      {
+      return lhs.compareTo( comparators, rhs );
+      }
+    };
+    }
+
+  @Benchmark
+  public int compare()
+    {
+    int index = next++ & ( NUM_TUPLES - 1 );
+
+    return tupleComparator.compare( tuples[ index ], tuples[ ( index + 1 ) & ( NUM_TUPLES - 1 ) ] );
+    }
+  }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.benchmark;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import cascading.cascade.Cascade;
+import cascading.cascade.CascadeConnector;
+import cascading.load.Options;
+import cascading.load.countsort.CountSort;
+import cascading.load.generate.GenerateData;
+import cascading.load.platform.CascadingLoadPlatform;
+import cascading.load.platform.PlatformLoader;
+import cascading.load.util.StatsPrinter;
+import cascading.load.util.Util;
+import cascading.stats.CascadeStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Class StatsPrinterBenchmark measures formatting the stats of a small completed cascade, run once on the local
+ * platform during setup, in both the display and the single line form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatsPrinterBenchmark
+  {
+  @Param({"false", "true"})
+  boolean singlelineStats;
+
+  private File root;
+  private CascadeStats stats;
+  private StatsPrinter printer;
+  private PrintWriter writer;
+
+  @Setup
+  public void setup() throws Exception
+    {
+    root = Files.createTempDirectory( "load-jmh" ).toFile();
+
+    Options options = new Options();
+
+    options.setPlatformName( "local" );
+    options.setDataNumFiles( 1 );
+    options.setDataFileSizeMB( 1 );
+    options.setWorkingRoot( new File( root, "working" ).getPath() );
+    options.setInputRoot( new File( root, "input" ).getPath() );
+    options.setOutputRoot( new File( root, "output" ).getPath() );
+
+    Cascade cascade = new CascadeConnector().connect(
+      new GenerateData( options, new Properties() ).createFlow(),
+      new CountSort( options, new Properties() ).createFlow() );
+
+    cascade.complete();
+
+    stats = cascade.getCascadeStats();
+    stats.captureDetail();
+
+    CascadingLoadPlatform platform = new PlatformLoader().loadPlatform( "local" );
+
+    printer = new StatsPrinter( platform );
+
+    writer = new PrintWriter( new OutputStream()
+    {
+    @Override
+    public void write( int b )
+      {
+      }
+
+    @Override
+    public void write( byte[] b, int off, int len )
+      {
+      }
+    } );
+    }
+
+  @TearDown
+  public void tearDown() throws FileNotFoundException
+    {
+    Util.deleteRecursive( root );
+    }
+
+  @Benchmark
+  public void printStats()
+    {
+    printer.printStats( writer, stats, singlelineStats );
+    }
+  }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.generate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import cascading.flow.FlowProcess;
+import cascading.load.Options;
+import cascading.load.benchmark.BlackholeCollector;
+import cascading.load.benchmark.Lines;
+import cascading.operation.ConcreteCall;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+import cascading.tuple.TupleEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Class TupleGeneratorBenchmark measures {@link TupleGenerator#operate} generating 64KB of lines, over the
+ * dictionary or a synthetic vocabulary, for each word distribution.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TupleGeneratorBenchmark
+  {
+  @Param({"uniform", "normal", "zipf", "powerlaw", "hotkey"})
+  String distribution;
+
+  @Param({"-1", "1000000"})
+  int vocabularySize;
+
+  private TupleGenerator generator;
+  private ConcreteCall<Random> call;
+
+  private Blackhole blackhole;
+
+  @Setup
+  public void setup() throws IOException
+    {
+    Options options = new Options();
+
+    options.setDataFileSizeMB( 1 / 16f );
+    options.setDataDistribution( distribution );
+    options.setDataVocabularySize( vocabularySize );
+    options.setDataSeed( 1 );
+
+    generator = new TupleGenerator( options, new Fields( "line" ) );
+
+    List<String> dictionary = Lines.dictionary();
+    Tuple arguments = new Tuple( (Object[]) dictionary.toArray( new String[ dictionary.size() ] ) );
+    Fields argumentFields = Fields.size( arguments.size() );
+
+    call = new ConcreteCall<Random>( argumentFields );
+    call.setArguments( new TupleEntry( argumentFields, arguments ) );
+
+    generator.prepare( FlowProcess.NULL, call );
+    }
+
+  @Benchmark
+  public void operate( Blackhole blackhole )
+    {
+    // the collector is built once per Blackhole so its allocation is not measured
+    if( this.blackhole != blackhole )
+      {
+      this.blackhole = blackhole;
+      call.setOutputCollector( new BlackholeCollector( new Fields( "line" ), blackhole ) );
+      }
+
+    generator.operate( FlowProcess.NULL, call );
+    }
+  }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.platform;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Properties;
+
+import cascading.flow.FlowProcess;
+import cascading.scheme.Scheme;
+import cascading.scheme.SinkCall;
+import cascading.scheme.SourceCall;
+import cascading.tap.Tap;
+import cascading.tuple.Fields;
+import cascading.tuple.Tuple;
+
+/**
+ * Class BinaryFile is a compact binary {@link Scheme} for the local platform, the counterpart of a SequenceFile
+ * on the hadoop platforms.
+ * <p/>
+ * Every tuple is written as its size followed by each value as a one byte type tag and the value in
+ * {@link DataOutputStream} form. Strings are written as length prefixed UTF-8. Values of any other type than
+ * String, Integer, Long, Double, Float, and Boolean are written as their String form.
+ */
+public class BinaryFile extends Scheme<Properties, InputStream, OutputStream, DataInputStream, DataOutputStream>
+  {
+  private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte INTEGER = 2;
+  private static final byte LONG = 3;
+  private static final byte DOUBLE = 4;
+  private static final byte FLOAT = 5;
+  private static final byte BOOLEAN = 6;
+
+  public BinaryFile( Fields fields )
+    {
+    super( fields, fields );
+    }
+
+  @Override
+  public void sourceConfInit( FlowProcess<? extends Properties> flowProcess, Tap<Properties, InputStream, OutputStream> tap, Properties conf )
+    {
+    }
+
+  @Override
+  public void sinkConfInit( FlowProcess<? extends Properties> flowProcess, Tap<Properties, InputStream, OutputStream> tap, Properties conf )
+    {
+    }
+
+  @Override
+  public void sourcePrepare( FlowProcess<? extends Properties> flowProcess, SourceCall<DataInputStream, InputStream> sourceCall ) throws IOException
+    {
+    sourceCall.setContext( new DataInputStream( new BufferedInputStream( sourceCall.getInput() ) ) );
+    }
+
+  @Override
+  public boolean source( FlowProcess<? extends Properties> flowProcess, SourceCall<DataInputStream, InputStream> sourceCall ) throws IOException
+    {
+    DataInputStream input = sourceCall.getContext();
+    int size;
+
+    try
+      {
+      size = input.readInt();
+      }
+    catch( EOFException exception )
+      {
+      return false;
+      }
+
+    Tuple tuple = Tuple.size( size );
+
+    for( int i = 0; i < size; i++ )
+      tuple.set( i, readValue( input ) );
+
+    sourceCall.getIncomingEntry().setTuple( tuple );
+
+    return true;
+    }
+
+  @Override
+  public void sourceCleanup( FlowProcess<? extends Properties> flowProcess, SourceCall<DataInputStream, InputStream> sourceCall ) throws IOException
+    {
+    sourceCall.setContext( null );
+    }
+
+  @Override
+  public void sinkPrepare( FlowProcess<? extends Properties> flowProcess, SinkCall<DataOutputStream, OutputStream> sinkCall ) throws IOException
+    {
+    sinkCall.setContext( new DataOutputStream( new BufferedOutputStream( sinkCall.getOutput() ) ) );
+    }
+
+  @Override
+  public void sink( FlowProcess<? extends Properties> flowProcess, SinkCall<DataOutputStream, OutputStream> sinkCall ) throws IOException
+    {
+    DataOutputStream output = sinkCall.getContext();
+    Tuple tuple = sinkCall.getOutgoingEntry().getTuple();
+
+    output.writeInt( tuple.size() );
+
+    for( int i = 0; i < tuple.size(); i++ )
+      writeValue( output, tuple.getObject( i ) );
+    }
+
+  @Override
+  public void sinkCleanup( FlowProcess<? extends Properties> flowProcess, SinkCall<DataOutputStream, OutputStream> sinkCall ) throws IOException
+    {
+    sinkCall.getContext().flush();
+    sinkCall.setContext( null );
+    }
+
+  private static void writeValue( DataOutputStream output, Object value ) throws IOException
+    {
+    if( value == null )
+      {
+      output.writeByte( NULL );
+      }
+    else if( value instanceof Integer )
+      {
+      output.writeByte( INTEGER );
+      output.writeInt( (Integer) value );
+      }
+    else if( value instanceof Long )
+      {
+      output.writeByte( LONG );
+      output.writeLong( (Long) value );
+      }
+    else if( value instanceof Double )
+      {
+      output.writeByte( DOUBLE );
+      output.writeDouble( (Double) value );
+      }
+    else if( value instanceof Float )
+      {
+      output.writeByte( FLOAT );
+      output.writeFloat( (Float) value );
+      }
+    else if( value instanceof Boolean )
+      {
+      output.writeByte( BOOLEAN );
+      output.writeBoolean( (Boolean) value );
+      }
+    else
+      {
+      byte[] bytes = value.toString().getBytes( UTF_8 );
+
+      output.writeByte( STRING );
+      output.writeInt( bytes.length );
+      output.write( bytes );
+      }
+    }
+
+  private static Object readValue( DataInputStream input ) throws IOException
+    {
+    byte type = input.readByte();
+
+    switch( type )
+      {
+      case NULL:
+        return null;
+      case STRING:
+        byte[] bytes = new byte[ input.readInt() ];
+        input.readFully( bytes );
+        return new String( bytes, UTF_8 );
+      case INTEGER:
+        return input.readInt();
+      case LONG:
+        return input.readLong();
+      case DOUBLE:
+        return input.readDouble();
+      case FLOAT:
+        return input.readFloat();
+      case BOOLEAN:
+        return input.readBoolean();
+      default:
+        throw new IOException( "unknown value type: " + type );
+      }
+    }
+  }
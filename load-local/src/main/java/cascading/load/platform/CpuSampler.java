@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.platform;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class CpuSampler measures the CPU time of the local platform, which has no task counters for it.
+ * <p/>
+ * A daemon thread reads the CPU time of every other live thread through the {@link ThreadMXBean} every
+ * {@link #INTERVAL_MILLIS}, and keeps the CPU time used by all threads so far at each sample. The CPU time of a Flow,
+ * Step, or Node is the CPU time used by all threads between its start and its finish, so it is only its own when no
+ * other Flow or Step ran at the same time, see {@link LocalCascadePlatform#getCPUMillis}. The CPU time a thread used
+ * after the last sample before it ended is lost.
+ * <p/>
+ * Each sample also keeps the time and count of garbage collections so far, from the {@link GarbageCollectorMXBean}s,
+ * and the heap committed, so the same windows give the collections during a Flow and the peak heap committed while it
+ * ran, comparable to the committed heap of the largest task on a cluster.
+ */
+class CpuSampler implements Runnable
+  {
+  static final long INTERVAL_MILLIS = 50;
+
+  private static CpuSampler sampler;
+
+  private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+  private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+  private final List<GarbageCollectorMXBean> collectorMXBeans = ManagementFactory.getGarbageCollectorMXBeans();
+  private long samplerThreadId = -1;
+  private Map<Long, Long> threadNanos = new HashMap<Long, Long>();
+  private long totalNanos;
+
+  private long[] times = new long[ 1024 ];
+  private long[] nanos = new long[ 1024 ];
+  private long[] gcMillis = new long[ 1024 ];
+  private long[] gcCounts = new long[ 1024 ];
+  private long[] heapBytes = new long[ 1024 ];
+  private int size;
+
+  /** Returns the running sampler, starting it on first use, or null if the JVM does not measure thread CPU time. */
+  static synchronized CpuSampler getSampler()
+    {
+    if( sampler != null )
+      return sampler;
+
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    if( !threadMXBean.isThreadCpuTimeSupported() )
+      return null;
+
+    if( !threadMXBean.isThreadCpuTimeEnabled() )
+      threadMXBean.setThreadCpuTimeEnabled( true );
+
+    sampler = new CpuSampler();
+
+    Thread thread = new Thread( sampler, "cpu sampler" );
+
+    sampler.samplerThreadId = thread.getId();
+    sampler.sample();
+
+    thread.setDaemon( true );
+    thread.start();
+
+    return sampler;
+    }
+
+  @Override
+  public void run()
+    {
+    try
+      {
+      while( true )
+        {
+        Thread.sleep( INTERVAL_MILLIS );
+        sample();
+        }
+      }
+    catch( InterruptedException exception )
+      {
+      // stop sampling
+      }
+    }
+
+  synchronized void sample()
+    {
+    Map<Long, Long> current = new HashMap<Long, Long>();
+
+    for( long id : threadMXBean.getAllThreadIds() )
+      {
+      if( id == samplerThreadId ) // the sampling itself is not part of any Flow
+        continue;
+
+      long cpuNanos = threadMXBean.getThreadCpuTime( id );
+
+      if( cpuNanos == -1 ) // thread is gone
+        continue;
+
+      Long previous = threadNanos.get( id );
+
+      totalNanos += cpuNanos - ( previous == null ? 0 : previous );
+      current.put( id, cpuNanos );
+      }
+
+    threadNanos = current;
+
+    if( size == times.length )
+      {
+      times = Arrays.copyOf( times, size * 2 );
+      nanos = Arrays.copyOf( nanos, size * 2 );
+      gcMillis = Arrays.copyOf( gcMillis, size * 2 );
+      gcCounts = Arrays.copyOf( gcCounts, size * 2 );
+      heapBytes = Arrays.copyOf( heapBytes, size * 2 );
+      }
+
+    long collectionMillis = 0;
+    long collectionCount = 0;
+
+    for( GarbageCollectorMXBean collectorMXBean : collectorMXBeans )
+      {
+      collectionMillis += Math.max( 0, collectorMXBean.getCollectionTime() ); // -1 if undefined
+      collectionCount += Math.max( 0, collectorMXBean.getCollectionCount() );
+      }
+
+    times[ size ] = System.currentTimeMillis();
+    nanos[ size ] = totalNanos;
+    gcMillis[ size ] = collectionMillis;
+    gcCounts[ size ] = collectionCount;
+    heapBytes[ size ] = memoryMXBean.getHeapMemoryUsage().getCommitted();
+    size++;
+    }
+
+  /** Returns the CPU time used by all threads between the given times, up to now if finish is zero. */
+  synchronized long getCPUMillis( long start, long finish )
+    {
+    return getDelta( nanos, start, finish ) / 1000000;
+    }
+
+  /** Returns the time spent in garbage collections between the given times, up to now if finish is zero. */
+  synchronized long getGCMillis( long start, long finish )
+    {
+    return getDelta( gcMillis, start, finish );
+    }
+
+  /** Returns the number of garbage collections between the given times, up to now if finish is zero. */
+  synchronized long getGCCount( long start, long finish )
+    {
+    return getDelta( gcCounts, start, finish );
+    }
+
+  /** Returns the most heap committed at any sample between the given times, up to now if finish is zero. */
+  synchronized long getPeakHeapBytes( long start, long finish )
+    {
+    if( start == 0 )
+      return 0;
+
+    sampleUpTo( finish );
+
+    long peak = 0;
+
+    for( int i = getIndexAt( start ); i <= getIndexAt( finish == 0 ? times[ size - 1 ] : finish ); i++ )
+      peak = Math.max( peak, heapBytes[ i ] );
+
+    return peak;
+    }
+
+  private long getDelta( long[] values, long start, long finish )
+    {
+    if( start == 0 )
+      return 0;
+
+    sampleUpTo( finish );
+
+    return values[ getIndexAt( finish == 0 ? times[ size - 1 ] : finish ) ] - values[ getIndexAt( start ) ];
+    }
+
+  private void sampleUpTo( long finish )
+    {
+    if( finish == 0 || finish > times[ size - 1 ] )
+      sample();
+    }
+
+  /** Returns the index of the first sample at or after the given time, or the last sample. */
+  private int getIndexAt( long time )
+    {
+    int index = Arrays.binarySearch( times, 0, size, time );
+
+    if( index < 0 )
+      index = Math.min( -index - 1, size - 1 );
+
+    return index;
+    }
+  }
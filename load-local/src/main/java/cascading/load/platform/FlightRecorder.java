@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2007-2015 Concurrent, Inc. All Rights Reserved.
+ *
+ * Project and contact information: http://www.concurrentinc.com/
+ */
+
+package cascading.load.platform;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import cascading.flow.Flow;
+import cascading.flow.FlowListener;
+import org.apache.log4j.Logger;
+
+/**
+ * Class FlightRecorder records a Java Flight Recorder recording of this JVM while a Flow runs, and dumps it to a file
+ * when the Flow completes, through the DiagnosticCommand MBean so no JVM options are needed.
+ * <p/>
+ * The recording covers the whole JVM, so the recordings of Flows running concurrently include each others samples,
+ * and a JVM without Flight Recorder only logs a warning.
+ */
+class FlightRecorder implements FlowListener
+  {
+  private static final Logger LOG = Logger.getLogger( FlightRecorder.class );
+
+  private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+  private static final String[] SIGNATURE = new String[]{String[].class.getName()};
+
+  private final String name;
+  private final String fileName;
+  private boolean recording;
+
+  FlightRecorder( String name, String fileName )
+    {
+    this.name = name;
+    this.fileName = fileName;
+    }
+
+  @Override
+  public void onStarting( Flow flow )
+    {
+    new File( fileName ).getAbsoluteFile().getParentFile().mkdirs();
+
+    try
+      {
+      unlockCommercialFeatures();
+
+      invoke( "jfrStart", "name=" + name, "settings=profile" );
+
+      recording = true;
+
+      LOG.info( "started flight recording of: " + flow.getName() );
+      }
+    catch( JMException exception )
+      {
+      LOG.warn( "unable to start flight recording of: " + flow.getName(), exception );
+      }
+    }
+
+  @Override
+  public void onStopping( Flow flow )
+    {
+    }
+
+  @Override
+  public void onCompleted( Flow flow )
+    {
+    if( !recording )
+      return;
+
+    recording = false;
+
+    try
+      {
+      invoke( "jfrStop", "name=" + name, "filename=" + new File( fileName ).getAbsolutePath() );
+
+      LOG.info( "wrote flight recording of: " + flow.getName() + ", to: " + fileName );
+      }
+    catch( JMException exception )
+      {
+      LOG.warn( "unable to stop flight recording of: " + flow.getName(), exception );
+      }
+    }
+
+  @Override
+  public boolean onThrowable( Flow flow, Throwable throwable )
+    {
+    return false;
+    }
+
+  /** Flight Recorder is a commercial feature of the Oracle JDK 7 and 8, later JDKs have no such command. */
+  private void unlockCommercialFeatures()
+    {
+    try
+      {
+      invoke( "vmUnlockCommercialFeatures" );
+      }
+    catch( JMException exception )
+      {
+      // not an Oracle JDK 7 or 8
+      }
+    }
+
+  private static Object invoke( String operation, String... arguments ) throws JMException
+    {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    return server.invoke( new ObjectName( DIAGNOSTIC_COMMAND ), operation, new Object[]{arguments}, SIGNATURE );
+    }
+  }
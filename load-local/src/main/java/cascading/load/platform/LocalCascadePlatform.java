@@ -2,11 +2,15 @@ package cascading.load.platform;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Properties;
 
 import cascading.CascadingException;
+import cascading.cascade.CascadeProps;
 import cascading.flow.FlowConnector;
+import cascading.flow.FlowListener;
+import cascading.flow.FlowProps;
 import cascading.flow.local.LocalFlowConnector;
 import cascading.flow.local.LocalFlowProcess;
 import cascading.load.Options;
@@ -20,9 +24,16 @@ import cascading.tap.local.FileTap;
 import cascading.tuple.Fields;
 import cascading.tuple.Tuple;
 import cascading.tuple.TupleEntryCollector;
+import cascading.tuple.TupleEntryIterator;
+import org.apache.log4j.Logger;
 
 public class LocalCascadePlatform implements CascadingLoadPlatform
   {
+  private static final Logger LOG = Logger.getLogger( LocalCascadePlatform.class );
+
+  private boolean concurrent;
+  private boolean warnedConcurrent;
+
   @Override
   public String getName()
     {
@@ -60,6 +71,12 @@ public class LocalCascadePlatform implements CascadingLoadPlatform
     return tap.openForWrite( new LocalFlowProcess() );
     }
 
+  @Override
+  public TupleEntryIterator newTupleEntryIterator( Tap tap ) throws IOException
+    {
+    return tap.openForRead( new LocalFlowProcess() );
+    }
+
   @Override
   public Scheme newTextLine()
     {
@@ -78,6 +95,12 @@ public class LocalCascadePlatform implements CascadingLoadPlatform
     return new TextLine( sourceFields, sinkFields );
     }
 
+  @Override
+  public Scheme newBinaryScheme( Fields fields )
+    {
+    return new BinaryFile( fields );
+    }
+
   @Override
   public FlowConnector newFlowConnector()
     {
@@ -99,10 +122,54 @@ public class LocalCascadePlatform implements CascadingLoadPlatform
     writer.close();
     }
 
+  @Override
+  public void initialize( Options options )
+    {
+    warnedConcurrent = false;
+    }
+
+  @Override
+  public void shutdown()
+    {
+    }
+
   @Override
   public Properties buildPlatformProperties( Options options )
     {
-    return new Properties();
+    Properties properties = new Properties();
+
+    // cpu time is measured for the whole JVM, so by default flows and steps run one at a time and each owns the cpu
+    // time of its run, set -MXCF and -MXCS to run them concurrently, without cpu times
+    CascadeProps.setMaxConcurrentFlows( properties, 1 );
+
+    if( options.getMaxConcurrentSteps() != -1 )
+      FlowProps.setMaxConcurrentSteps( properties, options.getMaxConcurrentSteps() );
+    else
+      FlowProps.setMaxConcurrentSteps( properties, 1 );
+
+    concurrent = options.getMaxConcurrentFlows() > 1 || options.getMaxConcurrentSteps() > 1;
+
+    CpuSampler.getSampler(); // start measuring before any flow runs
+
+    return properties;
+    }
+
+  @Override
+  public FlowListener newProfiler( Properties properties, String name, String path )
+    {
+    return new FlightRecorder( name, path + "/" + name + ".jfr" );
+    }
+
+  @Override
+  public void addKeySerialization( Properties properties )
+    {
+    // tuples are never serialized between operations
+    }
+
+  @Override
+  public Comparator newRawKeyComparator()
+    {
+    return null;
     }
 
   @Override
@@ -115,18 +182,99 @@ public class LocalCascadePlatform implements CascadingLoadPlatform
   @Override
   public int getMaxConcurrentMappers()
     {
-    return 1;
+    return getAvailableCores();
     }
 
   @Override
   public int getMaxConcurrentReducers()
     {
-    return 1;
+    return getAvailableCores();
     }
 
+  private int getAvailableCores()
+    {
+    return Runtime.getRuntime().availableProcessors();
+    }
+
+  /**
+   * Returns the cpu time of all threads while the given Flow, Step, or Node ran. Zero if flows or steps may run
+   * concurrently, since the cpu time of the threads of a Flow cannot be told apart from the others.
+   */
   @Override
   public long getCPUMillis( CascadingStats cascadingStats )
+    {
+    CpuSampler sampler = CpuSampler.getSampler();
+
+    if( sampler == null )
+      return 0;
+
+    if( concurrent )
+      {
+      if( !warnedConcurrent )
+        LOG.warn( "cpu time is not reported when flows or steps run concurrently, -MXCF and -MXCS must be 1" );
+
+      warnedConcurrent = true;
+
+      return 0;
+      }
+
+    return sampler.getCPUMillis( cascadingStats.getStartTime(), cascadingStats.getFinishedTime() );
+    }
+
+  @Override
+  public long getShuffleBytes( CascadingStats cascadingStats )
+    {
+    return 0; // groups are made in memory
+    }
+
+  @Override
+  public long getBytesRead( CascadingStats cascadingStats )
+    {
+    return 0; // local taps do not count bytes
+    }
+
+  @Override
+  public long getBytesWritten( CascadingStats cascadingStats )
     {
     return 0;
     }
+
+  @Override
+  public long getGCMillis( CascadingStats cascadingStats )
+    {
+    CpuSampler sampler = CpuSampler.getSampler();
+
+    if( sampler == null )
+      return 0;
+
+    return sampler.getGCMillis( cascadingStats.getStartTime(), cascadingStats.getFinishedTime() );
+    }
+
+  @Override
+  public long getGCCount( CascadingStats cascadingStats )
+    {
+    CpuSampler sampler = CpuSampler.getSampler();
+
+    if( sampler == null )
+      return 0;
+
+    return sampler.getGCCount( cascadingStats.getStartTime(), cascadingStats.getFinishedTime() );
+    }
+
+  @Override
+  public long getPeakHeapBytes( CascadingStats cascadingStats )
+    {
+    CpuSampler sampler = CpuSampler.getSampler();
+
+    if( sampler == null )
+      return 0;
+
+    return sampler.getPeakHeapBytes( cascadingStats.getStartTime(), cascadingStats.getFinishedTime() );
+    }
+
+  @Override
+  public long getPeakPhysicalMemoryBytes( CascadingStats cascadingStats )
+    {
+    return 0; // the JVM does not report its resident memory
+    }
   }
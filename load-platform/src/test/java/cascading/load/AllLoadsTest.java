@@ -24,12 +24,33 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FilenameFilter;
 import java.io.LineNumberReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
 
 import cascading.flow.Flow;
+import cascading.flow.SliceCounters;
 import cascading.load.countsort.CountSort;
+import cascading.load.countsort.ParameterizedSort;
+import cascading.load.countsort.RawKeySort;
 import cascading.load.generate.GenerateData;
+import cascading.load.instrument.Instrumentation;
 import cascading.load.join.MultiJoin;
+import cascading.load.metrics.JmxMetricsExporter;
 import cascading.load.pipeline.Pipeline;
+import cascading.load.spill.AccumulatedBuffer;
+import cascading.load.spill.SpillGroups;
+import cascading.load.util.StatsPrinter;
+import cascading.stats.FlowStats;
+import cascading.tuple.collect.SpillableProps;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -121,6 +142,130 @@ public class AllLoadsTest extends LoadTestCase
       assertEquals( outputPath.toString(), 4, outputPath.list().length );
     }
 
+  @Test
+  public void testSeededGenerate() throws Exception
+    {
+    String[] generated = new String[ 2 ];
+
+    for( int i = 0; i < generated.length; i++ )
+      {
+      Options options = new Options();
+
+      options.setPlatformName( getPlatformName() );
+
+      options.setDataNumFiles( 2 );
+      options.setDataFileSizeMB( 1 );
+      options.setDataSeed( 42 );
+      options.setWorkingRoot( output + "seeded" + i + "/working" );
+      options.setInputRoot( output + "seeded" + i + "/input" );
+
+      GenerateData generate = new GenerateData( options, getProperties() );
+
+      generate.createFlow().complete();
+
+      generated[ i ] = generate.getOutputPaths()[ 0 ];
+      }
+
+    assertEquals( readGenerated( new File( generated[ 0 ] ) ), readGenerated( new File( generated[ 1 ] ) ) );
+    }
+
+  @Test
+  public void testSyntheticGenerate() throws Exception
+    {
+    Options options = new Options();
+
+    options.setPlatformName( getPlatformName() );
+
+    options.setDataNumFiles( 2 );
+    options.setDataFileSizeMB( 1 );
+    options.setDataVocabularySize( 100 );
+    options.setDataKeyMinLength( 4 );
+    options.setDataKeyMaxLength( 8 );
+    options.setWorkingRoot( output + "synthetic/working" );
+    options.setInputRoot( output + "synthetic/input" );
+
+    GenerateData generate = new GenerateData( options, getProperties() );
+
+    generate.createFlow().complete();
+
+    Set<String> words = new HashSet<String>();
+
+    for( String word : readGenerated( new File( generate.getOutputPaths()[ 0 ] ) ).split( "\\s+" ) )
+      {
+      assertTrue( word, word.length() >= 4 && word.length() <= 8 );
+      words.add( word );
+      }
+
+    assertTrue( words.size() > 1 );
+    assertTrue( words.size() <= 100 );
+    }
+
+  @Test
+  public void testBinaryFormat() throws Exception
+    {
+    Options options = new Options();
+
+    options.setPlatformName( getPlatformName() );
+
+    options.setDataFormat( Options.FORMAT_BINARY );
+    options.setDataNumFiles( 2 );
+    options.setDataFileSizeMB( 1 );
+    options.setWorkingRoot( output + "binary/working" );
+    options.setInputRoot( output + "binary/input" );
+    options.setOutputRoot( output + "binary/output" );
+
+    new GenerateData( options, getProperties() ).createFlow().complete();
+
+    CountSort countSort = new CountSort( options, getProperties() );
+
+    Flow countSortFlow = countSort.createFlow();
+
+    countSortFlow.complete();
+
+    assertTrue( new File( countSort.getOutputPaths()[ 0 ] ).exists() );
+    assertTrue( countSortFlow.getFlowStats().getCounterValue( SliceCounters.Tuples_Written ) > 0 );
+    }
+
+  private static String readGenerated( File path ) throws Exception
+    {
+    StringBuilder builder = new StringBuilder();
+
+    if( path.isDirectory() )
+      {
+      String[] names = path.list( new FilenameFilter()
+      {
+      @Override
+      public boolean accept( File dir, String name )
+        {
+        return name.startsWith( "part-" );
+        }
+      } );
+
+      Arrays.sort( names );
+
+      for( String name : names )
+        builder.append( readGenerated( new File( path, name ) ) );
+
+      return builder.toString();
+      }
+
+    LineNumberReader reader = new LineNumberReader( new FileReader( path ) );
+
+    try
+      {
+      String line;
+
+      while( ( line = reader.readLine() ) != null )
+        builder.append( line ).append( '\n' );
+      }
+    finally
+      {
+      reader.close();
+      }
+
+    return builder.toString();
+    }
+
   @Test
   public void testMain() throws Exception
     {
@@ -153,6 +298,823 @@ public class AllLoadsTest extends LoadTestCase
     assertEquals( 7, new File( output + "output" ).list().length );
     }
 
+  @Test
+  public void testHashJoins() throws Exception
+    {
+    String output = this.output + "hashjoins/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "3",
+      "-gs", "1",
+
+      "-L", "hash-*",
+      "-hjs", "0.5"
+    };
+
+    assertTrue( new Main( args ).execute() );
+
+    assertEquals( 4, new File( output + "output" ).list().length );
+    }
+
+  @Test
+  public void testAggregateBy() throws Exception
+    {
+    String output = this.output + "aggregateby/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "3",
+      "-gs", "1",
+
+      "-c",
+      "-cb",
+      "-ca",
+      "-cab",
+      "-abc", "1000"
+    };
+
+    assertTrue( new Main( args ).execute() );
+
+    assertEquals( 4, new File( output + "output" ).list().length );
+    }
+
+  @Test
+  public void testSketches() throws Exception
+    {
+    String output = this.output + "sketches/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "3",
+      "-gs", "1",
+
+      "-stk",
+      "-sd",
+      "-sv"
+    };
+
+    Main main = new Main( args );
+
+    assertTrue( main.execute() );
+
+    // count-sort and exact-distinct are run for verification
+    assertEquals( 4, new File( output + "output" ).list().length );
+
+    long estimate = Long.parseLong( readGenerated( new File( output + "output/sketchdistinct" ) ).trim() );
+    long exact = Long.parseLong( readGenerated( new File( output + "output/exactdistinct" ) ).trim() );
+
+    // the default precision has a standard error of about 0.8%
+    assertTrue( exact > 0 );
+    assertEquals( "estimate: " + estimate + ", exact: " + exact, 1.0, (double) estimate / exact, 0.05 );
+
+    // every top k count must lie within its error bounds of the exact count of count-sort
+    List<String> lines = Arrays.asList( readGenerated( new File( main.getFullStatsRoot() ) ).split( "\n" ) );
+
+    assertTrue( lines.contains( "  out of bounds:   0" ) );
+
+    // sketch-top-k is a variant of count-sort, so the two run one after the other
+    assertTrue( lines.contains( "Variant: sketch-top-k of count-sort" ) );
+    assertFalse( lines.contains( "  flows overlapped, the change includes their competition, see -MXCF" ) );
+    }
+
+  @Test
+  public void testPrimitiveAggregation() throws Exception
+    {
+    String output = this.output + "primitive/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "3",
+      "-gs", "1",
+
+      "-p",
+      "-ca",
+      "-pa"
+    };
+
+    assertTrue( new Main( args ).execute() );
+
+    assertEquals( 2, new File( output + "output" ).list().length );
+    }
+
+  @Test
+  public void testParameterizedSort() throws Exception
+    {
+    String output = this.output + "parameterizedsort/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "1",
+      "-gs", "1",
+
+      "-ps",
+      "-psf", "3",
+      "-pst", "composite",
+      "-psc", "custom",
+      "-psk", "10,1000"
+    };
+
+    assertTrue( new Main( args ).execute() );
+
+    assertEquals( 1, new File( output + "output" ).list().length );
+
+    // every part must hold each group contiguously, sorted within on the secondary sort fields
+    for( String comparator : Options.SORT_COMPARATORS )
+      {
+      Options options = new Options();
+
+      options.setPlatformName( getPlatformName() );
+      options.setDataNumFiles( 1 );
+      options.setDataFileSizeMB( 1 );
+      options.setWorkingRoot( output + comparator + "/working" );
+      options.setInputRoot( output + comparator + "/input" );
+      options.setOutputRoot( output + comparator + "/output" );
+      options.setSortFields( 3 );
+      options.setSortType( Options.SORT_LONG );
+      options.setSortComparator( comparator );
+      options.setSortCardinality( "10,1000" );
+
+      new GenerateData( options, getProperties() ).createFlow().complete();
+
+      ParameterizedSort sort = new ParameterizedSort( options, getProperties() );
+
+      sort.createFlow().complete();
+
+      assertSortedGroups( comparator, new File( sort.getOutputPaths()[ 0 ] ) );
+      }
+    }
+
+  private static void assertSortedGroups( String comparator, File path ) throws Exception
+    {
+    boolean reverse = Options.COMPARATOR_REVERSE.equals( comparator );
+    String[] names = path.isDirectory() ? path.list( new FilenameFilter()
+    {
+    @Override
+    public boolean accept( File dir, String name )
+      {
+      return name.startsWith( "part-" );
+      }
+    } ) : new String[]{null};
+
+    int lines = 0;
+
+    for( String name : names )
+      {
+      String part = readGenerated( name == null ? path : new File( path, name ) );
+      Set<Long> seen = new HashSet<Long>();
+      long[] previous = null;
+
+      for( String line : part.split( "\n" ) )
+        {
+        if( line.isEmpty() )
+          continue;
+
+        String[] values = line.split( "\t" );
+        long[] current = new long[]{Long.parseLong( values[ 1 ] ), Long.parseLong( values[ 2 ] ), Long.parseLong( values[ 3 ] )};
+
+        lines++;
+
+        if( previous != null && previous[ 0 ] == current[ 0 ] )
+          {
+          int order = compare( previous[ 1 ], previous[ 2 ], current[ 1 ], current[ 2 ] );
+
+          assertTrue( comparator + " sort order: " + line, reverse ? order >= 0 : order <= 0 );
+          }
+        else
+          {
+          assertTrue( comparator + " group not contiguous: " + line, seen.add( current[ 0 ] ) );
+          assertTrue( comparator + " group order: " + line, reverse || previous == null || previous[ 0 ] < current[ 0 ] );
+          }
+
+        previous = current;
+        }
+      }
+
+    assertTrue( comparator + " no output", lines > 0 );
+    }
+
+  private static int compare( long lhsFirst, long lhsSecond, long rhsFirst, long rhsSecond )
+    {
+    if( lhsFirst != rhsFirst )
+      return lhsFirst < rhsFirst ? -1 : 1;
+
+    return lhsSecond < rhsSecond ? -1 : lhsSecond == rhsSecond ? 0 : 1;
+    }
+
+  @Test
+  public void testRawKeySort() throws Exception
+    {
+    String output = this.output + "rawkeysort/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "1",
+      "-gs", "1",
+
+      "-pks",
+      "-rks"
+    };
+
+    assertTrue( new Main( args ).execute() );
+
+    assertEquals( 2, new File( output + "output" ).list().length );
+
+    String packed = readGenerated( new File( output + "output/packedkeysort" ) );
+    String raw = readGenerated( new File( output + "output/rawkeysort" ) );
+
+    // comparing the raw bytes must group and order the keys exactly as comparing the deserialized keys
+    assertFalse( packed.isEmpty() );
+    assertEquals( packed, raw );
+
+    // the key serialization is added to a copy of the properties, which must keep the platform properties
+    Options options = new Options();
+
+    options.setPlatformName( getPlatformName() );
+    options.setInputRoot( output + "input" );
+    options.setOutputRoot( output + "output" );
+
+    Properties properties = getProperties();
+
+    properties.setProperty( "cascading.load.test.property", "kept" );
+
+    Flow flow = new RawKeySort( options, properties ).createFlow();
+
+    assertEquals( "kept", flow.getProperty( "cascading.load.test.property" ) );
+    }
+
+  @Test
+  public void testSpill() throws Exception
+    {
+    String output = this.output + "spill/";
+
+    Options options = new Options();
+
+    options.setPlatformName( getPlatformName() );
+
+    options.setDataNumFiles( 1 );
+    options.setDataFileSizeMB( 1 );
+    options.setTupleSpillThreshold( 100 );
+    options.setSpillGroupSize( 1000 );
+    options.setWorkingRoot( output + "working" );
+    options.setInputRoot( output + "input" );
+    options.setOutputRoot( output + "output" );
+
+    new GenerateData( options, getProperties() ).createFlow().complete();
+
+    Properties properties = getProperties();
+
+    properties.setProperty( SpillableProps.LIST_THRESHOLD, "100" );
+
+    SpillGroups spill = new SpillGroups( options, properties );
+
+    Flow spillFlow = spill.createFlow();
+
+    spillFlow.complete();
+
+    FlowStats flowStats = spillFlow.getFlowStats();
+
+    assertTrue( new File( spill.getOutputPaths()[ 0 ] ).exists() );
+    assertTrue( flowStats.getCounterValue( AccumulatedBuffer.Accumulated.Tuples ) > 0 );
+
+    // groups of 1000 accumulated tuples spill past the threshold of 100, the local platform never spills
+    if( !getPlatformName().equals( "local" ) )
+      assertTrue( StatsPrinter.getSpillCounter( flowStats, "Num_Tuples_Spilled" ) > 0 );
+    }
+
+  @Test
+  public void testInstrument() throws Exception
+    {
+    String output = this.output + "instrument/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "1",
+      "-gs", "1",
+
+      "-p",
+      "-in"
+    };
+
+    Main main = new Main( args );
+
+    assertTrue( main.execute() );
+
+    assertEquals( 1, new File( output + "output" ).list().length );
+
+    List<String> lines = Arrays.asList( readGenerated( new File( main.getFullStatsRoot() ) ).split( "\n" ) );
+    int table = lines.indexOf( "Operation times, from --instrument" );
+
+    assertTrue( "no operation table", table != -1 );
+
+    int rows = 0;
+
+    // rows follow the column header: flow, operation, calls, ms, ns/call, %
+    for( int i = table + 2; i < lines.size() && lines.get( i ).startsWith( "  pipeline " ); i++ )
+      {
+      String[] columns = lines.get( i ).trim().split( "\\s+" );
+
+      assertEquals( lines.get( i ), 6, columns.length );
+      assertTrue( lines.get( i ), columns[ 1 ].matches( "\\d{3}-\\w+" ) );
+      assertTrue( lines.get( i ), Long.parseLong( columns[ 2 ] ) > 0 );
+      rows++;
+      }
+
+    assertTrue( "no operation rows", rows > 0 );
+
+    // the table is read from the counters of every timed operation
+    Options options = new Options();
+
+    options.setPlatformName( getPlatformName() );
+
+    options.setDataNumFiles( 1 );
+    options.setDataFileSizeMB( 1 );
+    options.setInstrument( true );
+    options.setWorkingRoot( output + "counters/working" );
+    options.setInputRoot( output + "counters/input" );
+    options.setOutputRoot( output + "counters/output" );
+
+    new GenerateData( options, getProperties() ).createFlow().complete();
+
+    Flow pipelineFlow = new Pipeline( options, getProperties() ).createFlow();
+
+    pipelineFlow.complete();
+
+    FlowStats flowStats = pipelineFlow.getFlowStats();
+
+    assertTrue( flowStats.getCounterGroups().contains( Instrumentation.COUNTER_GROUP ) );
+
+    Collection<String> counters = flowStats.getCountersFor( Instrumentation.COUNTER_GROUP );
+
+    assertEquals( 2 * rows, counters.size() );
+
+    for( String counter : counters )
+      assertTrue( counter, flowStats.getCounterValue( Instrumentation.COUNTER_GROUP, counter ) > 0 );
+    }
+
+  @Test
+  public void testProfile() throws Exception
+    {
+    String output = this.output + "profile/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "1",
+      "-gs", "1",
+
+      "-c",
+      "-prof"
+    };
+
+    Main main = new Main( args );
+
+    assertTrue( main.execute() );
+
+    assertEquals( 1, new File( output + "output" ).list().length );
+
+    // the local platform records in process, the cluster platforms need log aggregation to collect recordings
+    if( getPlatformName().equals( "local" ) && isFlightRecorderAvailable() )
+      assertTrue( new File( main.getFullStatsRoot() + "-profile/count-sort.jfr" ).exists() );
+    }
+
+  private static boolean isFlightRecorderAvailable()
+    {
+    try
+      {
+      return (Boolean) Class.forName( "jdk.jfr.FlightRecorder" ).getMethod( "isAvailable" ).invoke( null );
+      }
+    catch( Exception exception )
+      {
+      return false;
+      }
+    }
+
+  @Test
+  public void testMetricsExport() throws Exception
+    {
+    String output = this.output + "metrics/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "1",
+      "-gs", "1",
+
+      "-c",
+
+      "-mx", "prometheus",
+      "-mx", "jmx",
+      "-mxf", output + "metrics.prom"
+    };
+
+    assertTrue( new Main( args ).execute() );
+
+    // the beans have no operations, invoking one must fail as the MBeanServer reports an unknown operation
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    Set<ObjectName> names = server.queryNames( new ObjectName( JmxMetricsExporter.DOMAIN + ":*" ), null );
+
+    assertFalse( names.isEmpty() );
+
+    try
+      {
+      server.invoke( names.iterator().next(), "reset", new Object[ 0 ], new String[ 0 ] );
+      fail( "invoked an operation" );
+      }
+    catch( ReflectionException exception )
+      {
+      assertTrue( exception.getCause() instanceof NoSuchMethodException );
+      }
+
+    String metrics = readGenerated( new File( output + "metrics.prom" ) );
+
+    assertTrue( metrics.contains( "# TYPE cascading_load_duration_millis gauge" ) );
+    assertTrue( metrics.contains( "level=\"step\"" ) );
+
+    // the lines of every metric family are contiguous
+    Set<String> families = new HashSet<String>();
+    String family = null;
+
+    for( String line : metrics.split( "\n" ) )
+      {
+      if( line.startsWith( "#" ) )
+        continue;
+
+      String name = line.substring( 0, line.indexOf( '{' ) );
+
+      if( !name.equals( family ) )
+        assertTrue( "family split: " + name, families.add( name ) );
+
+      family = name;
+      }
+    }
+
+  @Test
+  public void testIterations() throws Exception
+    {
+    String output = this.output + "iterations/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "1",
+      "-gs", "1",
+
+      "-c",
+
+      "-SLS",
+      "-WU", "1",
+      "-IT", "2"
+    };
+
+    Main main = new Main( args );
+
+    assertTrue( main.execute() );
+
+    String statsRoot = main.getFullStatsRoot();
+
+    assertTrue( new File( statsRoot + "-warmup-1" ).exists() );
+    assertTrue( new File( statsRoot + "-iteration-1" ).exists() );
+    assertTrue( new File( statsRoot + "-iteration-2" ).exists() );
+    assertFalse( new File( statsRoot + "-iteration-3" ).exists() );
+
+    String[] lines = readGenerated( new File( statsRoot + "-iterations" ) ).split( "\n" );
+
+    assertEquals( "platform\ttype\tname\titerations\tmin-millis\tmedian-millis\tp90-millis\tmax-millis\tmean-millis\tstddev-millis\tci95-low-millis\tci95-high-millis", lines[ 0 ] );
+    assertTrue( lines.length > 1 );
+
+    // the warmup is not summarized
+    for( int i = 1; i < lines.length; i++ )
+      {
+      String[] columns = lines[ i ].split( "\t" );
+
+      assertEquals( lines[ i ], 12, columns.length );
+      assertEquals( lines[ i ], "Flow", columns[ 1 ] );
+      assertEquals( lines[ i ], "2", columns[ 3 ] );
+      }
+    }
+
+  @Test
+  public void testJsonStats() throws Exception
+    {
+    String output = this.output + "jsonstats/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-SF", "json",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "1",
+      "-gs", "1",
+
+      "-c"
+    };
+
+    Main main = new Main( args );
+
+    assertTrue( main.execute() );
+
+    String json = readGenerated( new File( main.getFullStatsRoot() ) );
+
+    assertTrue( json.startsWith( "{\n  \"platform\": " ) );
+    assertTrue( json.endsWith( "}\n" ) );
+    assertTrue( json.contains( "\"type\": \"Cascade\"" ) );
+    assertTrue( json.contains( "\"type\": \"Flow\"" ) );
+    assertTrue( json.contains( "\"type\": \"Step\"" ) );
+    assertTrue( json.contains( "\"duration\": " ) );
+    assertTrue( json.contains( "\"" + SliceCounters.class.getName() + "\": {" ) );
+
+    // objects and arrays are balanced outside of strings
+    int depth = 0;
+    boolean quoted = false;
+
+    for( int i = 0; i < json.length(); i++ )
+      {
+      char c = json.charAt( i );
+
+      if( quoted && c == '\\' )
+        i++;
+      else if( c == '"' )
+        quoted = !quoted;
+      else if( !quoted && ( c == '{' || c == '[' ) )
+        depth++;
+      else if( !quoted && ( c == '}' || c == ']' ) )
+        assertTrue( "unbalanced at: " + i, --depth >= 0 );
+      }
+
+    assertFalse( quoted );
+    assertEquals( 0, depth );
+    }
+
+  @Test
+  public void testCsvStats() throws Exception
+    {
+    String output = this.output + "csvstats/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-SF", "csv",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "1",
+      "-gs", "1",
+
+      "-c"
+    };
+
+    Main main = new Main( args );
+
+    assertTrue( main.execute() );
+
+    String[] lines = readGenerated( new File( main.getFullStatsRoot() ) ).split( "\n" );
+
+    assertEquals( "platform,type,cascade,flow,step,node,metric,value", lines[ 0 ] );
+
+    Set<String> types = new HashSet<String>();
+    boolean tuplesRead = false;
+
+    for( int i = 1; i < lines.length; i++ )
+      {
+      // the platform and type never need quoting
+      types.add( lines[ i ].split( "," )[ 1 ] );
+
+      if( lines[ i ].contains( "," + SliceCounters.class.getName() + ":" + SliceCounters.Tuples_Read.name() + "," ) )
+        tuplesRead = true;
+      }
+
+    assertTrue( types.toString(), types.containsAll( Arrays.asList( "Cascade", "Flow", "Step" ) ) );
+    assertTrue( tuplesRead );
+    }
+
+  @Test
+  public void testProgress() throws Exception
+    {
+    String output = this.output + "progress/";
+
+    String[] args = new String[]{
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + "status",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", "1",
+      "-gs", "1",
+
+      "-c",
+
+      "-pi", "1"
+    };
+
+    Main main = new Main( args );
+
+    assertTrue( main.execute() );
+
+    String[] lines = readGenerated( new File( main.getFullStatsRoot() + "-progress" ) ).split( "\n" );
+
+    assertEquals( "time\tflow\tsteps\tsteps-done\tnodes\tnodes-done\ttuples-read-per-sec\ttuples-written-per-sec\tbytes-read-per-sec\tbytes-written-per-sec", lines[ 0 ] );
+
+    // a short run may finish before the first poll, leaving only the header
+    for( int i = 1; i < lines.length; i++ )
+      {
+      String[] columns = lines[ i ].split( "\t" );
+
+      assertEquals( lines[ i ], 10, columns.length );
+      assertTrue( lines[ i ], Long.parseLong( columns[ 0 ] ) > 0 );
+      assertTrue( lines[ i ], Integer.parseInt( columns[ 3 ] ) <= Integer.parseInt( columns[ 2 ] ) );
+      assertTrue( lines[ i ], Integer.parseInt( columns[ 5 ] ) <= Integer.parseInt( columns[ 4 ] ) );
+      }
+    }
+
+  @Test
+  public void testCompareToBaseline() throws Exception
+    {
+    String output = this.output + "compare/";
+
+    Main baseline = new Main( getCompareArgs( output, "baseline", "1" ) );
+
+    assertTrue( baseline.execute() );
+
+    // same data, and a threshold no timing noise can cross
+    Main main = new Main( getCompareArgs( output, "status", "1", "-CMP", baseline.getFullStatsRoot(), "-RT", "100000" ) );
+
+    assertTrue( main.execute() );
+
+    String comparison = readGenerated( new File( main.getFullStatsRoot() + "-comparison" ) );
+
+    assertTrue( comparison.contains( "regressions: 0" ) );
+    }
+
+  @Test
+  public void testCompareToBaselineIterations() throws Exception
+    {
+    String output = this.output + "compareiterations/";
+
+    Main baseline = new Main( getCompareArgs( output, "baseline", "1" ) );
+
+    assertTrue( baseline.execute() );
+
+    Main main = new Main( getCompareArgs( output, "status", "1", "-IT", "3", "-CMP", baseline.getFullStatsRoot(), "-RT", "100000" ) );
+
+    assertTrue( main.execute() );
+
+    String comparison = readGenerated( new File( main.getFullStatsRoot() + "-comparison" ) );
+
+    // the flow durations are compared by their median, not by the last iteration alone
+    assertTrue( comparison.contains( "flow durations: median of 3 iterations" ) );
+    assertTrue( comparison.contains( "regressions: 0" ) );
+    }
+
+  @Test
+  public void testCompareToBaselineRegression() throws Exception
+    {
+    String output = this.output + "compareregression/";
+
+    Main baseline = new Main( getCompareArgs( output, "baseline", "1" ) );
+
+    assertTrue( baseline.execute() );
+
+    // twice the data changes every tuple count far beyond the threshold
+    Main main = new Main( getCompareArgs( output, "status", "2", "-CMP", baseline.getFullStatsRoot(), "-RT", "0.1" ) );
+
+    assertFalse( main.execute() );
+
+    String comparison = readGenerated( new File( main.getFullStatsRoot() + "-comparison" ) );
+
+    assertTrue( comparison.contains( "REGRESSION" ) );
+    assertFalse( comparison.contains( "regressions: 0" ) );
+    }
+
+  private String[] getCompareArgs( String output, String stats, String fileCount, String... compare )
+    {
+    List<String> args = new ArrayList<String>( Arrays.asList(
+      "--platform", getPlatformName(),
+      "-CVMO", "-Xmx512m",
+      "-S", output + stats,
+      "-SF", "csv",
+      "-I", output + "input",
+      "-W", output + "working",
+      "-O", output + "output",
+
+      "-DH", "yarn.timeline-service.enabled=false",
+
+      "-g",
+      "-gf", fileCount,
+      "-gs", "1",
+
+      "-c"
+    ) );
+
+    args.addAll( Arrays.asList( compare ) );
+
+    return args.toArray( new String[ args.size() ] );
+    }
+
   @Test
   public void testCleanWorkFiles() throws Exception
     {